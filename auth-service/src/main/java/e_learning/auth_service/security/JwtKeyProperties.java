@@ -0,0 +1,27 @@
+package e_learning.auth_service.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "jwt")
+public class JwtKeyProperties {
+
+    // Legacy shared secret, registered under the "default" key id (also used for tokens without a kid)
+    private String secret;
+
+    // Key id used to sign new tokens; the gateway must already know it before it becomes active
+    private String activeKid = JwtKeyRing.DEFAULT_KID;
+
+    // Additional keys by key id, used during and after a rotation
+    private List<Key> keys = new ArrayList<>();
+
+    @Data
+    public static class Key {
+        private String kid;
+        private String secret;
+    }
+}
@@ -0,0 +1,76 @@
+package e_learning.auth_service.security;
+
+import io.jsonwebtoken.security.Keys;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable set of pre-built keys indexed by key id ({@code kid}), plus the key used
+ * to sign new tokens. Rotation swaps the whole ring atomically.
+ */
+@Component
+public class JwtKeyRing {
+
+    public static final String DEFAULT_KID = "default";
+
+    private static final class Snapshot {
+        private final Map<String, SecretKey> keys;
+        private final String activeKid;
+
+        private Snapshot(Map<String, SecretKey> keys, String activeKid) {
+            this.keys = keys;
+            this.activeKid = activeKid;
+        }
+    }
+
+    private volatile Snapshot snapshot;
+
+    public JwtKeyRing(JwtKeyProperties properties) {
+        this.snapshot = buildSnapshot(properties);
+    }
+
+    /**
+     * Key for the given id, or null if it is unknown. Tokens without a kid use the default key.
+     */
+    public SecretKey find(String kid) {
+        return snapshot.keys.get(kid != null ? kid : DEFAULT_KID);
+    }
+
+    public String activeKid() {
+        return snapshot.activeKid;
+    }
+
+    public SecretKey activeKey() {
+        Snapshot current = snapshot;
+        return current.keys.get(current.activeKid);
+    }
+
+    public Set<String> keyIds() {
+        return snapshot.keys.keySet();
+    }
+
+    public void rotate(JwtKeyProperties properties) {
+        this.snapshot = buildSnapshot(properties);
+    }
+
+    private static Snapshot buildSnapshot(JwtKeyProperties properties) {
+        Map<String, SecretKey> built = new HashMap<>();
+        if (properties.getSecret() != null && !properties.getSecret().isBlank()) {
+            built.put(DEFAULT_KID, Keys.hmacShaKeyFor(properties.getSecret().getBytes()));
+        }
+        for (JwtKeyProperties.Key key : properties.getKeys()) {
+            if (key.getKid() == null || key.getSecret() == null) {
+                throw new IllegalArgumentException("Every jwt.keys entry needs a kid and a secret");
+            }
+            built.put(key.getKid(), Keys.hmacShaKeyFor(key.getSecret().getBytes()));
+        }
+        if (!built.containsKey(properties.getActiveKid())) {
+            throw new IllegalArgumentException("jwt.active-kid '" + properties.getActiveKid() + "' has no key");
+        }
+        return new Snapshot(Map.copyOf(built), properties.getActiveKid());
+    }
+}
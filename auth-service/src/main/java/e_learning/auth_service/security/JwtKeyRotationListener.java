@@ -0,0 +1,40 @@
+package e_learning.auth_service.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the key ring when jwt.* properties change at runtime (config refresh),
+ * so the signing key can be rotated without a restart.
+ */
+@Component
+public class JwtKeyRotationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRotationListener.class);
+
+    private final Environment environment;
+    private final JwtKeyRing keyRing;
+
+    public JwtKeyRotationListener(Environment environment, JwtKeyRing keyRing) {
+        this.environment = environment;
+        this.keyRing = keyRing;
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith("jwt.secret")
+                || key.startsWith("jwt.keys") || key.startsWith("jwt.active-kid"))) {
+            return;
+        }
+        JwtKeyProperties updated = Binder.get(environment)
+                .bind("jwt", JwtKeyProperties.class)
+                .orElseGet(JwtKeyProperties::new);
+        keyRing.rotate(updated);
+        log.info("JWT key ring rotated, signing with '{}', known key ids: {}", keyRing.activeKid(), keyRing.keyIds());
+    }
+}
@@ -2,18 +2,18 @@ package e_learning.auth_service.security;
 
 import e_learning.auth_service.entities.AuthUser;
 import io.jsonwebtoken.*;
-import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import javax.crypto.SecretKey;
+import java.security.Key;
 import java.util.Date;
 
 @Service
 public class JwtService {
 
-    @Value("${jwt.secret}")
-    private String secretKey;
+    private final JwtKeyRing keyRing;
+
+    private final JwtParser parser;
 
     @Value("${jwt.expiration}")
     private long jwtExpiration;
@@ -21,6 +21,19 @@ public class JwtService {
     @Value("${jwt.refresh-expiration}")
     private long refreshExpiration;
 
+    public JwtService(JwtKeyRing keyRing) {
+        this.keyRing = keyRing;
+        // Built once; the key is looked up by the token's kid on each parse
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return keyRing.find(header.getKeyId());
+                    }
+                })
+                .build();
+    }
+
     public String generateAccessToken(AuthUser user) {
         return buildToken(user, jwtExpiration);
     }
@@ -31,23 +44,21 @@ public class JwtService {
 
     private String buildToken(AuthUser user, long expiration) {
         return Jwts.builder()
+                .header().keyId(keyRing.activeKid()).and()
                 .subject(user.getEmail())
                 .claim("userId", user.getId())
                 .claim("role", user.getRole().name())
                 .issuedAt(new Date())
                 .expiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey())
+                .signWith(keyRing.activeKey())
                 .compact();
     }
 
     public boolean isTokenValid(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(getSigningKey())
-                    .build()
-                    .parseSignedClaims(token);
+            parser.parseSignedClaims(token);
             return true;
-        } catch (JwtException e) {
+        } catch (JwtException | IllegalArgumentException e) {
             return false;
         }
     }
@@ -69,14 +80,6 @@ public class JwtService {
     }
 
     private Claims getClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(getSigningKey())
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
-    }
-
-    private SecretKey getSigningKey() {
-        return Keys.hmacShaKeyFor(secretKey.getBytes());
+        return parser.parseSignedClaims(token).getPayload();
     }
 }
@@ -0,0 +1,86 @@
+package e_learning.auth_service.security;
+
+import e_learning.auth_service.entities.AuthUser;
+import e_learning.auth_service.entities.Role;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRotationListenerTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hmac-sha-256";
+
+    private static final String ROTATED_SECRET = "rotated-secret-key-that-is-long-enough-for-hmac-sha-256";
+
+    // Stands in for the external config file a refresh re-reads
+    private final Map<String, Object> config = new HashMap<>(Map.of("jwt.secret", SECRET));
+
+    private final AuthUser user = AuthUser.builder().id(42L).email("student@test.com").role(Role.STUDENT).build();
+
+    private AnnotationConfigApplicationContext context;
+    private JwtKeyRing keyRing;
+    private JwtService jwtService;
+
+    @BeforeEach
+    void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("config", config));
+
+        JwtKeyProperties initial = new JwtKeyProperties();
+        initial.setSecret(SECRET);
+        keyRing = new JwtKeyRing(initial);
+        jwtService = new JwtService(keyRing);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 60_000L);
+
+        context = new AnnotationConfigApplicationContext();
+        context.setEnvironment(environment);
+        context.registerBean(JwtKeyRing.class, () -> keyRing);
+        context.register(JwtKeyRotationListener.class);
+        context.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    @DisplayName("onEnvironmentChange - should sign with a new active kid and reject a removed one after a refresh")
+    void onEnvironmentChange_ShouldRotateKeyRing() {
+        String legacy = jwtService.generateAccessToken(user);
+
+        config.remove("jwt.secret");
+        config.put("jwt.keys[0].kid", "2026-10");
+        config.put("jwt.keys[0].secret", ROTATED_SECRET);
+        config.put("jwt.active-kid", "2026-10");
+        context.publishEvent(new EnvironmentChangeEvent(context,
+                Set.of("jwt.secret", "jwt.keys[0].kid", "jwt.keys[0].secret", "jwt.active-kid")));
+
+        String rotated = jwtService.generateAccessToken(user);
+        assertEquals("2026-10", keyRing.activeKid());
+        assertTrue(jwtService.isTokenValid(rotated));
+        assertFalse(jwtService.isTokenValid(legacy));
+    }
+
+    @Test
+    @DisplayName("onEnvironmentChange - should leave the key ring alone when no jwt key changed")
+    void onEnvironmentChange_UnrelatedKeys_ShouldBeIgnored() {
+        config.put("jwt.keys[0].kid", "2026-10");
+        config.put("jwt.keys[0].secret", ROTATED_SECRET);
+        context.publishEvent(new EnvironmentChangeEvent(context, Set.of("logging.level.root")));
+
+        assertEquals(Set.of(JwtKeyRing.DEFAULT_KID), keyRing.keyIds());
+    }
+}
@@ -0,0 +1,70 @@
+package e_learning.catalog_service.config;
+
+import e_learning.catalog_service.entities.IdGenerators;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Moves the table-based id generators past the ids already in use, so rows created while
+ * these entities still used IDENTITY columns are never handed out again.
+ * <p>
+ * Runs once all beans exist (the schema is up to date by then) and before the web server
+ * accepts requests, which an ApplicationRunner would not guarantee. Generators are only
+ * ever raised.
+ */
+@Component
+public class IdGeneratorSeed implements SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGeneratorSeed.class);
+
+    // Each generator is named after the table whose ids it allocates
+    private static final List<String> GENERATED_TABLES = List.of("quizzes", "questions", "answers");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // The EntityManagerFactory is only injected so the schema update runs first
+    public IdGeneratorSeed(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        GENERATED_TABLES.forEach(this::seed);
+    }
+
+    private void seed(String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+        // A pooled block can start up to one allocation below the stored value
+        long floor = maxId + IdGenerators.ALLOCATION_SIZE + 1;
+        String raise = "UPDATE " + IdGenerators.TABLE + " SET next_val = ? WHERE name = ? AND next_val < ?";
+        int updated = jdbcTemplate.update(raise, floor, table, floor);
+        if (updated == 0 && !exists(table)) {
+            try {
+                updated = jdbcTemplate.update("INSERT INTO " + IdGenerators.TABLE + " (name, next_val) VALUES (?, ?)",
+                        table, floor);
+            } catch (DuplicateKeyException e) {
+                // Another instance or the generator itself created the row meanwhile
+                updated = jdbcTemplate.update(raise, floor, table, floor);
+            }
+        }
+        if (updated > 0) {
+            log.info("Moved id generator '{}' past existing id {}", table, maxId);
+        }
+    }
+
+    private boolean exists(String table) {
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + IdGenerators.TABLE + " WHERE name = ?", Integer.class, table);
+        return rows != null && rows > 0;
+    }
+}
@@ -0,0 +1,27 @@
+package e_learning.catalog_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Endpoints under /internal/** (quiz answer keys) are called by learning-service only.
+ * The gateway refuses those paths too, but this check does not depend on how a request
+ * reached the service.
+ */
+@Configuration
+public class InternalEndpointConfig implements WebMvcConfigurer {
+
+    private final String token;
+
+    public InternalEndpointConfig(@Value("${internal.token:}") String token) {
+        this.token = token;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Matched like the handler mappings, so every path that reaches an internal controller is covered
+        registry.addInterceptor(new InternalTokenInterceptor(token)).addPathPatterns("/internal/**");
+    }
+}
@@ -0,0 +1,35 @@
+package e_learning.catalog_service.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+
+/**
+ * Lets a request through only if it carries the shared service-to-service token.
+ * A blank configured token rejects every request.
+ */
+public class InternalTokenInterceptor implements HandlerInterceptor {
+
+    public static final String TOKEN_HEADER = "X-Internal-Token";
+
+    private final byte[] token;
+
+    public InternalTokenInterceptor(String token) {
+        this.token = token == null ? new byte[0] : token.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws Exception {
+        String presented = request.getHeader(TOKEN_HEADER);
+        if (token.length > 0 && presented != null
+                && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8))) {
+            return true;
+        }
+        response.sendError(HttpServletResponse.SC_FORBIDDEN);
+        return false;
+    }
+}
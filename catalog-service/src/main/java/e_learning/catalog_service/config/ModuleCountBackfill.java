@@ -0,0 +1,32 @@
+package e_learning.catalog_service.config;
+
+import e_learning.catalog_service.repositories.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the denormalized module count of courses created before the column existed.
+ * Runs once per startup and only touches rows where the count is still missing.
+ */
+@Component
+public class ModuleCountBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ModuleCountBackfill.class);
+
+    private final CourseRepository courseRepository;
+
+    public ModuleCountBackfill(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int updated = courseRepository.backfillModuleCounts();
+        if (updated > 0) {
+            log.info("Backfilled module count for {} courses", updated);
+        }
+    }
+}
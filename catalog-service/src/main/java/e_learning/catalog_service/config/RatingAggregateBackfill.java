@@ -0,0 +1,32 @@
+package e_learning.catalog_service.config;
+
+import e_learning.catalog_service.repositories.CourseRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Computes the rating sum, count and star histogram of courses created before those columns
+ * existed. Runs once per startup and only touches rows where the count is still missing.
+ */
+@Component
+public class RatingAggregateBackfill implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(RatingAggregateBackfill.class);
+
+    private final CourseRepository courseRepository;
+
+    public RatingAggregateBackfill(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        int updated = courseRepository.backfillRatingAggregates();
+        if (updated > 0) {
+            log.info("Backfilled rating aggregates for {} courses", updated);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package e_learning.catalog_service.controllers;
 
+import e_learning.catalog_service.dto.CreateQuizRequest;
 import e_learning.catalog_service.entities.Course;
 import e_learning.catalog_service.entities.Module;
 import e_learning.catalog_service.entities.Lesson;
@@ -7,23 +8,29 @@ import e_learning.catalog_service.entities.LessonType;
 import e_learning.catalog_service.entities.Quiz;
 import e_learning.catalog_service.entities.Question;
 import e_learning.catalog_service.entities.Answer;
+import e_learning.catalog_service.entities.MediaBlob;
+import e_learning.catalog_service.events.CourseChangedEvent;
+import e_learning.catalog_service.events.LessonCountChangedEvent;
+import e_learning.catalog_service.events.MediaReleasedEvent;
+import e_learning.catalog_service.events.QuizChangedEvent;
 import e_learning.catalog_service.exceptions.ResourceNotFoundException;
 import e_learning.catalog_service.repositories.*;
+import e_learning.catalog_service.services.ChunkedUploadService;
+import e_learning.catalog_service.services.MediaStorageService;
+import e_learning.catalog_service.services.QuizService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import org.springframework.beans.factory.annotation.Value;
+import jakarta.validation.Valid;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
-import java.util.UUID;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/content")
@@ -36,22 +43,26 @@ public class ContentController {
     private final QuizRepository quizRepository;
     private final QuestionRepository questionRepository;
     private final AnswerRepository answerRepository;
-
-    @Value("${upload.path:./uploads/}")
-    private String uploadPath;
-
-    @Value("${upload.base-url:http://localhost:8085/uploads/}")
-    private String uploadBaseUrl;
+    private final ChunkedUploadService chunkedUploadService;
+    private final MediaStorageService mediaStorageService;
+    private final QuizService quizService;
+    private final ApplicationEventPublisher eventPublisher;
 
     public ContentController(CourseRepository courseRepository, ModuleRepository moduleRepository,
             LessonRepository lessonRepository, QuizRepository quizRepository,
-            QuestionRepository questionRepository, AnswerRepository answerRepository) {
+            QuestionRepository questionRepository, AnswerRepository answerRepository,
+            ChunkedUploadService chunkedUploadService, MediaStorageService mediaStorageService,
+            QuizService quizService, ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
         this.moduleRepository = moduleRepository;
         this.lessonRepository = lessonRepository;
         this.quizRepository = quizRepository;
         this.questionRepository = questionRepository;
         this.answerRepository = answerRepository;
+        this.chunkedUploadService = chunkedUploadService;
+        this.mediaStorageService = mediaStorageService;
+        this.quizService = quizService;
+        this.eventPublisher = eventPublisher;
     }
 
     // ==================== MODULE ENDPOINTS ====================
@@ -62,7 +73,9 @@ public class ContentController {
         Course course = courseRepository.findById(courseId)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", courseId));
         module.setCourse(course);
-        return ResponseEntity.ok(moduleRepository.save(module));
+        Module saved = moduleRepository.save(module);
+        courseRepository.refreshModuleCount(courseId);
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/modules/{moduleId}")
@@ -84,10 +97,14 @@ public class ContentController {
     @DeleteMapping("/modules/{moduleId}")
     @Operation(summary = "Delete a module")
     public ResponseEntity<Void> deleteModule(@PathVariable Long moduleId) {
-        if (!moduleRepository.existsById(moduleId)) {
-            throw new ResourceNotFoundException("Module", moduleId);
-        }
-        moduleRepository.deleteById(moduleId);
+        Module module = moduleRepository.findById(moduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Module", moduleId));
+        List<Long> quizIds = quizRepository.findIdsByModuleId(moduleId);
+        moduleRepository.delete(module);
+        courseRepository.refreshModuleCount(module.getCourse().getId());
+        // The module's lessons and quizzes are removed with it
+        lessonCountChanged(module.getCourse().getId());
+        quizIds.forEach(quizId -> eventPublisher.publishEvent(new QuizChangedEvent(quizId)));
         return ResponseEntity.noContent().build();
     }
 
@@ -103,7 +120,7 @@ public class ContentController {
     // ==================== LESSON ENDPOINTS ====================
 
     @PostMapping(value = "/modules/{moduleId}/lessons", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    @Operation(summary = "Add a lesson to a module (with optional file upload)")
+    @Operation(summary = "Add a lesson to a module (with a file, a completed upload session, or a URL)")
     public ResponseEntity<Lesson> addLesson(
             @PathVariable Long moduleId,
             @RequestParam("title") String title,
@@ -111,6 +128,7 @@ public class ContentController {
             @RequestParam("type") LessonType type,
             @RequestParam(value = "file", required = false) MultipartFile file,
             @RequestParam(value = "url", required = false) String urlLink,
+            @RequestParam(value = "uploadId", required = false) String uploadId,
             @RequestParam(value = "durationMinutes", required = false) Integer durationMinutes,
             @RequestParam(value = "orderIndex", required = false) Integer orderIndex) throws IOException {
 
@@ -125,16 +143,33 @@ public class ContentController {
         lesson.setDurationMinutes(durationMinutes);
         lesson.setOrderIndex(orderIndex);
 
+        MediaBlob media = null;
         if (file != null && !file.isEmpty()) {
-            String storageUrl = saveFile(file);
-            lesson.setUrl(storageUrl);
+            media = mediaStorageService.store(file.getInputStream(), file.getOriginalFilename(),
+                    file.getContentType());
+        } else if (uploadId != null && !uploadId.isEmpty()) {
+            media = chunkedUploadService.retainCompleted(uploadId);
         } else if (urlLink != null && !urlLink.isEmpty()) {
             lesson.setUrl(urlLink);
         } else {
-            throw new IllegalArgumentException("You must provide either a file or a URL");
+            throw new IllegalArgumentException("You must provide a file, an upload ID or a URL");
+        }
+        if (media != null) {
+            lesson.setUrl(mediaStorageService.urlOf(media));
+            lesson.setMediaSha256(media.getSha256());
         }
 
-        return ResponseEntity.ok(lessonRepository.save(lesson));
+        Lesson saved;
+        try {
+            saved = lessonRepository.save(lesson);
+        } catch (RuntimeException e) {
+            if (media != null) {
+                mediaStorageService.release(media.getSha256());
+            }
+            throw e;
+        }
+        lessonCountChanged(module.getCourse().getId());
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/lessons/{lessonId}")
@@ -143,29 +178,46 @@ public class ContentController {
         Lesson lesson = lessonRepository.findById(lessonId)
                 .orElseThrow(() -> new ResourceNotFoundException("Lesson", lessonId));
 
+        boolean retitled = lessonUpdate.getTitle() != null && !lessonUpdate.getTitle().equals(lesson.getTitle());
         if (lessonUpdate.getTitle() != null)
             lesson.setTitle(lessonUpdate.getTitle());
         if (lessonUpdate.getDescription() != null)
             lesson.setDescription(lessonUpdate.getDescription());
         if (lessonUpdate.getType() != null)
             lesson.setType(lessonUpdate.getType());
-        if (lessonUpdate.getUrl() != null)
+        String releasedMedia = null;
+        if (lessonUpdate.getUrl() != null && !lessonUpdate.getUrl().equals(lesson.getUrl())) {
+            // Keep reference counts right when the lesson switches to another stored file or a link
+            Optional<String> media = mediaStorageService.sha256FromUrl(lessonUpdate.getUrl());
+            media.ifPresent(mediaStorageService::retain);
+            releasedMedia = lesson.getMediaSha256();
             lesson.setUrl(lessonUpdate.getUrl());
+            lesson.setMediaSha256(media.orElse(null));
+        }
         if (lessonUpdate.getDurationMinutes() != null)
             lesson.setDurationMinutes(lessonUpdate.getDurationMinutes());
         if (lessonUpdate.getOrderIndex() != null)
             lesson.setOrderIndex(lessonUpdate.getOrderIndex());
 
-        return ResponseEntity.ok(lessonRepository.save(lesson));
+        Lesson saved = lessonRepository.save(lesson);
+        if (releasedMedia != null) {
+            eventPublisher.publishEvent(new MediaReleasedEvent(releasedMedia));
+        }
+        if (retitled) {
+            // Lesson titles are part of the course's search text
+            eventPublisher.publishEvent(new CourseChangedEvent(lesson.getModule().getCourse().getId()));
+        }
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/lessons/{lessonId}")
     @Operation(summary = "Delete a lesson")
     public ResponseEntity<Void> deleteLesson(@PathVariable Long lessonId) {
-        if (!lessonRepository.existsById(lessonId)) {
-            throw new ResourceNotFoundException("Lesson", lessonId);
-        }
-        lessonRepository.deleteById(lessonId);
+        Lesson lesson = lessonRepository.findById(lessonId)
+                .orElseThrow(() -> new ResourceNotFoundException("Lesson", lessonId));
+        Long courseId = lesson.getModule().getCourse().getId();
+        lessonRepository.delete(lesson);
+        lessonCountChanged(courseId);
         return ResponseEntity.noContent().build();
     }
 
@@ -180,6 +232,13 @@ public class ContentController {
         return ResponseEntity.ok(quizRepository.save(quiz));
     }
 
+    @PostMapping("/modules/{moduleId}/quizzes/bulk")
+    @Operation(summary = "Create a quiz with all of its questions and answers in one call")
+    public ResponseEntity<Quiz> createQuiz(@PathVariable Long moduleId,
+            @Valid @RequestBody CreateQuizRequest request) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(quizService.createQuiz(moduleId, request));
+    }
+
     @PutMapping("/quizzes/{quizId}")
     @Operation(summary = "Update a quiz")
     public ResponseEntity<Quiz> updateQuiz(@PathVariable Long quizId, @RequestBody Quiz quizUpdate) {
@@ -195,7 +254,9 @@ public class ContentController {
         if (quizUpdate.getTimeLimitMinutes() != null)
             quiz.setTimeLimitMinutes(quizUpdate.getTimeLimitMinutes());
 
-        return ResponseEntity.ok(quizRepository.save(quiz));
+        Quiz saved = quizRepository.save(quiz);
+        answerKeyChanged(quizId);
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/quizzes/{quizId}")
@@ -205,6 +266,7 @@ public class ContentController {
             throw new ResourceNotFoundException("Quiz", quizId);
         }
         quizRepository.deleteById(quizId);
+        eventPublisher.publishEvent(new QuizChangedEvent(quizId));
         return ResponseEntity.noContent().build();
     }
 
@@ -224,7 +286,9 @@ public class ContentController {
         Quiz quiz = quizRepository.findById(quizId)
                 .orElseThrow(() -> new ResourceNotFoundException("Quiz", quizId));
         question.setQuiz(quiz);
-        return ResponseEntity.ok(questionRepository.save(question));
+        Question saved = questionRepository.save(question);
+        answerKeyChanged(quizId);
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/questions/{questionId}")
@@ -241,16 +305,18 @@ public class ContentController {
         if (questionUpdate.getPoints() != null)
             question.setPoints(questionUpdate.getPoints());
 
-        return ResponseEntity.ok(questionRepository.save(question));
+        Question saved = questionRepository.save(question);
+        answerKeyChanged(question.getQuiz().getId());
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/questions/{questionId}")
     @Operation(summary = "Delete a question")
     public ResponseEntity<Void> deleteQuestion(@PathVariable Long questionId) {
-        if (!questionRepository.existsById(questionId)) {
-            throw new ResourceNotFoundException("Question", questionId);
-        }
-        questionRepository.deleteById(questionId);
+        Question question = questionRepository.findById(questionId)
+                .orElseThrow(() -> new ResourceNotFoundException("Question", questionId));
+        questionRepository.delete(question);
+        answerKeyChanged(question.getQuiz().getId());
         return ResponseEntity.noContent().build();
     }
 
@@ -262,7 +328,9 @@ public class ContentController {
         Question question = questionRepository.findById(questionId)
                 .orElseThrow(() -> new ResourceNotFoundException("Question", questionId));
         answer.setQuestion(question);
-        return ResponseEntity.ok(answerRepository.save(answer));
+        Answer saved = answerRepository.save(answer);
+        answerKeyChanged(question.getQuiz().getId());
+        return ResponseEntity.ok(saved);
     }
 
     @PutMapping("/answers/{answerId}")
@@ -275,33 +343,30 @@ public class ContentController {
             answer.setAnswerText(answerUpdate.getAnswerText());
         answer.setCorrect(answerUpdate.isCorrect());
 
-        return ResponseEntity.ok(answerRepository.save(answer));
+        Answer saved = answerRepository.save(answer);
+        answerKeyChanged(answer.getQuestion().getQuiz().getId());
+        return ResponseEntity.ok(saved);
     }
 
     @DeleteMapping("/answers/{answerId}")
     @Operation(summary = "Delete an answer")
     public ResponseEntity<Void> deleteAnswer(@PathVariable Long answerId) {
-        if (!answerRepository.existsById(answerId)) {
-            throw new ResourceNotFoundException("Answer", answerId);
-        }
-        answerRepository.deleteById(answerId);
+        Answer answer = answerRepository.findById(answerId)
+                .orElseThrow(() -> new ResourceNotFoundException("Answer", answerId));
+        answerRepository.delete(answer);
+        answerKeyChanged(answer.getQuestion().getQuiz().getId());
         return ResponseEntity.noContent().build();
     }
 
-    // ==================== UTILITY ====================
-
-    private String saveFile(MultipartFile file) throws IOException {
-        Path uploadDir = Paths.get(uploadPath);
-
-        if (!Files.exists(uploadDir)) {
-            Files.createDirectories(uploadDir);
-        }
-
-        String fileName = UUID.randomUUID().toString() + "_" + file.getOriginalFilename();
-        Path filePath = uploadDir.resolve(fileName);
-        Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
+    // Learning-service ignores lesson counts older than the version it already applied
+    private void lessonCountChanged(Long courseId) {
+        courseRepository.incrementLessonCountVersion(courseId);
+        eventPublisher.publishEvent(new LessonCountChangedEvent(courseId));
+    }
 
-        // Return full URL that's accessible from frontend
-        return uploadBaseUrl + fileName;
+    // Learning-service caches answer keys per quiz; the new version tells it which copies are stale
+    private void answerKeyChanged(Long quizId) {
+        quizRepository.incrementAnswerKeyVersion(quizId);
+        eventPublisher.publishEvent(new QuizChangedEvent(quizId));
     }
 }
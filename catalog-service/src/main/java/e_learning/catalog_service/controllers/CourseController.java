@@ -3,25 +3,33 @@ package e_learning.catalog_service.controllers;
 import e_learning.catalog_service.dto.*;
 import e_learning.catalog_service.entities.CourseLevel;
 import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.repositories.CourseFilter;
 import e_learning.catalog_service.services.CourseService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
+@Validated
 @RequestMapping("/courses")
 @Tag(name = "Courses", description = "Course management APIs")
 public class CourseController {
 
+    // Keeps a batch lookup to one bounded IN (...) list; callers send larger sets in chunks
+    public static final int MAX_BATCH_IDS = 100;
+
     private final CourseService courseService;
 
     public CourseController(CourseService courseService) {
@@ -67,6 +75,18 @@ public class CourseController {
         return ResponseEntity.ok(courseService.getAllCourses(pageable));
     }
 
+    @GetMapping("/scroll")
+    @Operation(summary = "Get all courses with cursor pagination (no offset, total count on request)")
+    public ResponseEntity<CursorPage<CourseSummaryResponse>> scrollCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "createdAt") String sortBy,
+            @RequestParam(defaultValue = "desc") String sortDir,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(courseService.scrollCourses(CourseFilter.builder().build(),
+                sortBy, sortDir, cursor, size, includeTotal));
+    }
+
     @GetMapping("/published")
     @Operation(summary = "Get all published courses (public)")
     public ResponseEntity<Page<CourseSummaryResponse>> getPublishedCourses(
@@ -76,6 +96,17 @@ public class CourseController {
         return ResponseEntity.ok(courseService.getPublishedCourses(pageable));
     }
 
+    @GetMapping("/published/scroll")
+    @Operation(summary = "Get published courses with cursor pagination (public)")
+    public ResponseEntity<CursorPage<CourseSummaryResponse>> scrollPublishedCourses(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        return ResponseEntity.ok(courseService.scrollCourses(
+                CourseFilter.builder().status(CourseStatus.PUBLISHED).build(),
+                "createdAt", "desc", cursor, size, includeTotal));
+    }
+
     @GetMapping("/search")
     @Operation(summary = "Search courses with filters")
     public ResponseEntity<Page<CourseSummaryResponse>> searchCourses(
@@ -89,6 +120,48 @@ public class CourseController {
         return ResponseEntity.ok(courseService.searchCourses(keyword, categoryId, level, status, pageable));
     }
 
+    @GetMapping("/search/scroll")
+    @Operation(summary = "Search courses with cursor pagination (keyword results are ranked by relevance)")
+    public ResponseEntity<CursorPage<CourseSummaryResponse>> scrollSearchCourses(
+            @RequestParam(required = false) String keyword,
+            @RequestParam(required = false) Long categoryId,
+            @RequestParam(required = false) CourseLevel level,
+            @RequestParam(required = false) CourseStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean includeTotal) {
+        CourseFilter filter = CourseFilter.builder()
+                .keyword(keyword)
+                .categoryId(categoryId)
+                .level(level)
+                .status(status)
+                .build();
+        return ResponseEntity.ok(courseService.scrollCourses(filter, "createdAt", "desc", cursor, size,
+                includeTotal));
+    }
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Typeahead suggestions from published course titles and category names")
+    public ResponseEntity<List<SuggestionResponse>> suggest(
+            @RequestParam String prefix,
+            @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(courseService.suggest(prefix, limit));
+    }
+
+    @GetMapping("/batch")
+    @Operation(summary = "Get course summaries for several IDs in one call (unknown IDs are skipped)")
+    public ResponseEntity<List<CourseSummaryResponse>> getCoursesByIds(
+            @RequestParam @Size(max = MAX_BATCH_IDS) List<Long> ids) {
+        return ResponseEntity.ok(courseService.getCoursesByIds(ids));
+    }
+
+    @GetMapping("/lesson-counts")
+    @Operation(summary = "Get lesson counts for several courses in one call")
+    public ResponseEntity<Map<Long, Integer>> getLessonCounts(
+            @RequestParam @Size(max = MAX_BATCH_IDS) List<Long> ids) {
+        return ResponseEntity.ok(courseService.getLessonCounts(ids));
+    }
+
     @GetMapping("/professor/{professorId}")
     @Operation(summary = "Get courses by professor")
     public ResponseEntity<List<CourseSummaryResponse>> getCoursesByProfessor(@PathVariable Long professorId) {
@@ -0,0 +1,26 @@
+package e_learning.catalog_service.controllers;
+
+import e_learning.catalog_service.dto.QuizAnswerKeyResponse;
+import e_learning.catalog_service.services.QuizService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/internal/quizzes")
+@Tag(name = "Internal quizzes", description = "Quiz data for learning-service; requires the internal token")
+public class InternalQuizController {
+
+    private final QuizService quizService;
+
+    public InternalQuizController(QuizService quizService) {
+        this.quizService = quizService;
+    }
+
+    @GetMapping("/{quizId}/answer-key")
+    @Operation(summary = "Get the compact answer key of a quiz")
+    public ResponseEntity<QuizAnswerKeyResponse> getAnswerKey(@PathVariable Long quizId) {
+        return ResponseEntity.ok(quizService.getAnswerKey(quizId));
+    }
+}
@@ -0,0 +1,313 @@
+package e_learning.catalog_service.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Serves uploaded media (lesson videos, documents, thumbnails) from the upload directory.
+ * <p>
+ * Whole files and single ranges are handed to Tomcat's sendfile when the connector
+ * supports it: the worker thread returns immediately and the kernel copies the file to
+ * the socket. Otherwise, and for multi-range responses, bytes are moved with
+ * {@link FileChannel#transferTo}. Those copies hold a permit from a fixed pool, so a burst
+ * of video streams gets a 503 instead of taking every request thread from the API.
+ * <p>
+ * Uploaded files are named with their SHA-256 (or, for older uploads, a random UUID) and
+ * never rewritten, so that name is their ETag and they are cacheable for a year as immutable.
+ */
+@RestController
+@Tag(name = "Media", description = "Uploaded media with HTTP range support")
+public class MediaController {
+
+    static final String PATH_PREFIX = "/uploads/";
+
+    private static final Pattern UUID_PREFIX = Pattern.compile(
+            "^([0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12})[_.].*");
+    // Blobs from MediaStorageService and their renditions: <sha256>[-w<width>][.ext]
+    private static final Pattern CONTENT_HASH = Pattern.compile("^([0-9a-f]{64}(?:-w[0-9]+)?)(\\.[A-Za-z0-9]+)?$");
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+    private static final String REVALIDATE = "public, max-age=0, must-revalidate";
+
+    // Tomcat request attributes for handing a response to sendfile
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final Path uploadRoot;
+    private final Semaphore streamPermits;
+    private final long permitWaitMillis;
+
+    public MediaController(@Value("${upload.path:./uploads/}") String uploadPath,
+            @Value("${media.max-concurrent-streams:64}") int maxConcurrentStreams,
+            @Value("${media.permit-wait-millis:200}") long permitWaitMillis) {
+        this.uploadRoot = Paths.get(uploadPath).toAbsolutePath().normalize();
+        this.streamPermits = new Semaphore(maxConcurrentStreams);
+        this.permitWaitMillis = permitWaitMillis;
+    }
+
+    @GetMapping(PATH_PREFIX + "**")
+    @Operation(summary = "Download an uploaded file (supports Range, multi-range and conditional requests)")
+    public void serve(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = resolve(request);
+        if (file == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+
+        long length = Files.size(file);
+        String etag = etag(file, length);
+        String contentType = MediaTypeFactory.getMediaType(file.getFileName().toString())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM).toString();
+
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, isImmutable(file) ? IMMUTABLE : REVALIDATE);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, Files.getLastModifiedTime(file).toMillis());
+
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        List<HttpRange> ranges = requestedRanges(request, etag, length);
+        if (ranges == null) {
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+            response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+            return;
+        }
+        boolean head = "HEAD".equals(request.getMethod());
+
+        if (ranges.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_OK);
+            response.setContentType(contentType);
+            response.setContentLengthLong(length);
+            if (!head) {
+                send(request, response, file, 0, length);
+            }
+            return;
+        }
+
+        if (ranges.size() == 1) {
+            long start = ranges.get(0).getRangeStart(length);
+            long end = ranges.get(0).getRangeEnd(length);
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setContentType(contentType);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+            response.setContentLengthLong(end - start + 1);
+            if (!head) {
+                send(request, response, file, start, end - start + 1);
+            }
+            return;
+        }
+
+        sendMultipart(response, file, ranges, length, contentType, head);
+    }
+
+    /**
+     * The file under the upload directory named by the request path, or null if there is
+     * none or the path tries to leave the directory.
+     */
+    private Path resolve(HttpServletRequest request) {
+        String uri = request.getRequestURI().substring(request.getContextPath().length());
+        if (!uri.startsWith(PATH_PREFIX)) {
+            return null;
+        }
+        String relative = UriUtils.decode(uri.substring(PATH_PREFIX.length()), StandardCharsets.UTF_8);
+        // Dot-segments cover both traversal and the store's scratch directory
+        if (relative.isEmpty() || relative.indexOf('\0') >= 0 || relative.startsWith(".")
+                || relative.contains("/.") || relative.contains("\\")) {
+            return null;
+        }
+        Path file = uploadRoot.resolve(relative).normalize();
+        if (!file.startsWith(uploadRoot) || !Files.isRegularFile(file)) {
+            return null;
+        }
+        return file;
+    }
+
+    private static boolean isImmutable(Path file) {
+        String name = file.getFileName().toString();
+        return CONTENT_HASH.matcher(name).matches() || UUID_PREFIX.matcher(name).matches();
+    }
+
+    private static String etag(Path file, long length) throws IOException {
+        String name = file.getFileName().toString();
+        var hash = CONTENT_HASH.matcher(name);
+        if (hash.matches()) {
+            return "\"" + hash.group(1) + "\"";
+        }
+        var matcher = UUID_PREFIX.matcher(name);
+        if (matcher.matches()) {
+            return "\"" + UUID.fromString(matcher.group(1)) + "\"";
+        }
+        // Files without a UUID name may be replaced, so tie the tag to size and modification time
+        return "\"" + Long.toHexString(length) + "-"
+                + Long.toHexString(Files.getLastModifiedTime(file).toMillis()) + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * The ranges to serve: empty for the whole file (no Range header, or an If-Range that
+     * no longer matches), null when the Range header cannot be satisfied. Like Spring's
+     * resource handler, requests whose ranges add up to more than the file are refused.
+     */
+    private static List<HttpRange> requestedRanges(HttpServletRequest request, String etag, long length) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+        if (rangeHeader == null) {
+            return List.of();
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.trim().equals(etag)) {
+            return List.of();
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            long total = 0;
+            for (HttpRange range : ranges) {
+                long start = range.getRangeStart(length);
+                long end = range.getRangeEnd(length);
+                if (start >= length || end < start) {
+                    return null;
+                }
+                total += end - start + 1;
+            }
+            return ranges.isEmpty() || total > length ? null : ranges;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private void send(HttpServletRequest request, HttpServletResponse response, Path file, long start, long count)
+            throws IOException {
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat streams the file from the poller once this method returns
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + count);
+            return;
+        }
+        withPermit(response, () -> {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                transfer(channel, start, count, Channels.newChannel(response.getOutputStream()));
+            }
+        });
+    }
+
+    private void sendMultipart(HttpServletResponse response, Path file, List<HttpRange> ranges, long length,
+            String contentType, boolean head) throws IOException {
+        String boundary = UUID.randomUUID().toString().replace("-", "");
+        byte[][] partHeaders = new byte[ranges.size()][];
+        long[] starts = new long[ranges.size()];
+        long[] counts = new long[ranges.size()];
+        long total = 0;
+        for (int i = 0; i < ranges.size(); i++) {
+            HttpRange range = ranges.get(i);
+            starts[i] = range.getRangeStart(length);
+            counts[i] = range.getRangeEnd(length) - starts[i] + 1;
+            partHeaders[i] = ("\r\n--" + boundary + "\r\n"
+                    + HttpHeaders.CONTENT_TYPE + ": " + contentType + "\r\n"
+                    + HttpHeaders.CONTENT_RANGE + ": bytes " + starts[i] + "-" + (starts[i] + counts[i] - 1)
+                    + "/" + length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII);
+            total += partHeaders[i].length + counts[i];
+        }
+        byte[] closing = ("\r\n--" + boundary + "--\r\n").getBytes(StandardCharsets.US_ASCII);
+        total += closing.length;
+
+        response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+        response.setContentType("multipart/byteranges; boundary=" + boundary);
+        response.setContentLengthLong(total);
+        if (head) {
+            return;
+        }
+
+        withPermit(response, () -> {
+            ServletOutputStream out = response.getOutputStream();
+            WritableByteChannel target = Channels.newChannel(out);
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                for (int i = 0; i < ranges.size(); i++) {
+                    out.write(partHeaders[i]);
+                    transfer(channel, starts[i], counts[i], target);
+                }
+            }
+            out.write(closing);
+        });
+    }
+
+    private static void transfer(FileChannel channel, long start, long count, WritableByteChannel target)
+            throws IOException {
+        long position = start;
+        long end = start + count;
+        while (position < end) {
+            long sent = channel.transferTo(position, end - position, target);
+            if (sent <= 0) {
+                throw new IOException("File ended before the requested range");
+            }
+            position += sent;
+        }
+    }
+
+    @FunctionalInterface
+    private interface Copy {
+        void run() throws IOException;
+    }
+
+    private void withPermit(HttpServletResponse response, Copy copy) throws IOException {
+        boolean acquired;
+        try {
+            acquired = streamPermits.tryAcquire(permitWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            response.reset();
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return;
+        }
+        try {
+            copy.run();
+        } finally {
+            streamPermits.release();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package e_learning.catalog_service.controllers;
+
+import e_learning.catalog_service.dto.CreateUploadSessionRequest;
+import e_learning.catalog_service.dto.UploadSessionResponse;
+import e_learning.catalog_service.services.ChunkedUploadService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/content/uploads/sessions")
+@Tag(name = "Resumable Uploads", description = "Chunked, resumable uploads for large lesson media")
+public class UploadSessionController {
+
+    private final ChunkedUploadService chunkedUploadService;
+
+    public UploadSessionController(ChunkedUploadService chunkedUploadService) {
+        this.chunkedUploadService = chunkedUploadService;
+    }
+
+    @PostMapping
+    @Operation(summary = "Open an upload session for a file of known size")
+    public ResponseEntity<UploadSessionResponse> createSession(
+            @Valid @RequestBody CreateUploadSessionRequest request) throws IOException {
+        return ResponseEntity.status(HttpStatus.CREATED).body(chunkedUploadService.createSession(request));
+    }
+
+    @GetMapping("/{id}")
+    @Operation(summary = "Get an upload session, including the offset to resume from")
+    public ResponseEntity<UploadSessionResponse> getSession(@PathVariable String id) {
+        return ResponseEntity.ok(chunkedUploadService.getSession(id));
+    }
+
+    @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Write the request body at the given offset (must equal the bytes received so far)")
+    public ResponseEntity<UploadSessionResponse> writeChunk(
+            @PathVariable String id,
+            @RequestParam long offset,
+            HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(chunkedUploadService.writeChunk(id, offset, request.getInputStream()));
+    }
+
+    @PostMapping("/{id}/complete")
+    @Operation(summary = "Finish an upload, optionally checking its SHA-256")
+    public ResponseEntity<UploadSessionResponse> complete(
+            @PathVariable String id,
+            @RequestParam(required = false) String sha256) throws IOException {
+        return ResponseEntity.ok(chunkedUploadService.complete(id, sha256));
+    }
+
+    @DeleteMapping("/{id}")
+    @Operation(summary = "Abort an upload and delete what was received")
+    public ResponseEntity<Void> abort(@PathVariable String id) throws IOException {
+        chunkedUploadService.abort(id);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -5,6 +5,7 @@ import e_learning.catalog_service.entities.CourseStatus;
 import lombok.*;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @NoArgsConstructor
@@ -21,6 +22,9 @@ public class CourseResponse {
     private Double price;
     private Integer durationHours;
     private Double averageRating;
+    private Integer ratingCount;
+    // Number of reviews per star, keys 1 to 5
+    private Map<Integer, Integer> ratingHistogram;
     private Integer totalEnrollments;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
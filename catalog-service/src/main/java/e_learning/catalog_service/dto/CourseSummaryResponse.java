@@ -16,6 +16,8 @@ public class CourseSummaryResponse {
     private CourseStatus status;
     private Long professorId;
     private String thumbnailUrl;
+    // Resized copies for <img srcset>, e.g. "https://.../x-w160.jpg 160w, ..."; null until generated
+    private String thumbnailSrcset;
     private Double price;
     private Integer durationHours;
     private Double averageRating;
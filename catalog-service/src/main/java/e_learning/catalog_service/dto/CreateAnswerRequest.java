@@ -0,0 +1,16 @@
+package e_learning.catalog_service.dto;
+
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateAnswerRequest {
+    @NotBlank(message = "Answer text is required")
+    @Size(max = 500, message = "Answer text cannot exceed 500 characters")
+    private String answerText;
+
+    private boolean correct;
+}
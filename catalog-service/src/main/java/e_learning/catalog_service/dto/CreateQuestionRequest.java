@@ -0,0 +1,27 @@
+package e_learning.catalog_service.dto;
+
+import e_learning.catalog_service.entities.QuestionType;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateQuestionRequest {
+    @NotBlank(message = "Question text is required")
+    @Size(max = 1000, message = "Question text cannot exceed 1000 characters")
+    private String questionText;
+
+    @NotNull(message = "Question type is required")
+    private QuestionType type;
+
+    @PositiveOrZero(message = "Points must be zero or positive")
+    private Integer points;
+
+    @Size(max = 50, message = "A question cannot have more than 50 answers")
+    private List<@Valid @NotNull CreateAnswerRequest> answers;
+}
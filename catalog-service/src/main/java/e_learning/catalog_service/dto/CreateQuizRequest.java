@@ -0,0 +1,33 @@
+package e_learning.catalog_service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.*;
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * A quiz with all of its questions and answers, created in one call.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CreateQuizRequest {
+    @NotBlank(message = "Title is required")
+    @Size(max = 255, message = "Title cannot exceed 255 characters")
+    private String title;
+
+    @Size(max = 255, message = "Description cannot exceed 255 characters")
+    private String description;
+
+    @Min(value = 0, message = "Passing score must be between 0 and 100")
+    @Max(value = 100, message = "Passing score must be between 0 and 100")
+    private Integer passingScore;
+
+    @Positive(message = "Time limit must be positive")
+    private Integer timeLimitMinutes;
+
+    @Size(max = 1000, message = "A quiz cannot have more than 1000 questions")
+    private List<@Valid @NotNull CreateQuestionRequest> questions;
+}
@@ -0,0 +1,18 @@
+package e_learning.catalog_service.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    // Opaque token for the next page; null on the last page
+    private String nextCursor;
+    private boolean hasNext;
+    // Only filled in when the caller asks for it
+    private Long totalElements;
+}
@@ -0,0 +1,27 @@
+package e_learning.catalog_service.dto;
+
+import lombok.*;
+
+/**
+ * Grading data of a quiz as parallel arrays, with no question or answer text.
+ * <p>
+ * Questions are sorted by id. The answers of question {@code i} are
+ * {@code answerIds[answerOffsets[i] .. answerOffsets[i + 1])}, sorted by id, with their
+ * flags at the same positions of {@code correct}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAnswerKeyResponse {
+    private Long quizId;
+    private long version;
+    private Integer passingScore;
+    private long[] questionIds;
+    private int[] points;
+    // MULTIPLE_CHOICE questions; the others accept exactly one answer
+    private boolean[] multiSelect;
+    private int[] answerOffsets;
+    private long[] answerIds;
+    private boolean[] correct;
+}
@@ -0,0 +1,14 @@
+package e_learning.catalog_service.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SuggestionResponse {
+    private String text;
+    // COURSE or CATEGORY; id is the course or category ID accordingly
+    private String type;
+    private Long id;
+}
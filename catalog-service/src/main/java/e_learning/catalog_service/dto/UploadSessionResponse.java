@@ -0,0 +1,21 @@
+package e_learning.catalog_service.dto;
+
+import e_learning.catalog_service.entities.UploadStatus;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSessionResponse {
+    private String id;
+    private String fileName;
+    private String contentType;
+    private Long totalSize;
+    // Offset the next chunk must start at
+    private Long receivedBytes;
+    private UploadStatus status;
+    // Set once the upload is completed
+    private String url;
+    private String sha256;
+}
@@ -12,7 +12,9 @@ import lombok.*;
 @Builder
 public class Answer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "answer_ids")
+    @TableGenerator(name = "answer_ids", table = IdGenerators.TABLE, pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "answers", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 500)
@@ -1,12 +1,17 @@
 package e_learning.catalog_service.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "courses")
+// (created_at, id) backs the default cursor order of course listings
+@Table(name = "courses", indexes = {
+        @Index(name = "idx_courses_created_at", columnList = "created_at, id"),
+        @Index(name = "idx_courses_status_created_at", columnList = "status, created_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -33,11 +38,46 @@ public class Course {
 
     private String thumbnailUrl;
 
+    // Rendition widths of the thumbnail, copied from its MediaBlob to build the srcset
+    private String thumbnailWidths;
+
     private Double price;
 
     private Integer durationHours;
 
-    private Double averageRating;
+    // Rating aggregates are maintained only by CourseRepository.applyRatingChange, in one
+    // atomic UPDATE per review write; none of them is written when a Course entity is saved.
+    @Builder.Default
+    @Column(updatable = false)
+    private Double averageRating = 0.0;
+
+    @Builder.Default
+    @Column(updatable = false)
+    private Long ratingSum = 0L;
+
+    @Builder.Default
+    @Column(updatable = false)
+    private Integer ratingCount = 0;
+
+    @Builder.Default
+    @Column(updatable = false)
+    private Integer oneStarCount = 0;
+
+    @Builder.Default
+    @Column(updatable = false)
+    private Integer twoStarCount = 0;
+
+    @Builder.Default
+    @Column(updatable = false)
+    private Integer threeStarCount = 0;
+
+    @Builder.Default
+    @Column(updatable = false)
+    private Integer fourStarCount = 0;
+
+    @Builder.Default
+    @Column(updatable = false)
+    private Integer fiveStarCount = 0;
 
     private Integer totalEnrollments;
 
@@ -45,6 +85,18 @@ public class Course {
 
     private LocalDateTime updatedAt;
 
+    // Denormalized for listing pages. Maintained only by CourseRepository.refreshModuleCount,
+    // so saving a stale Course entity can never overwrite it.
+    @Builder.Default
+    @Column(updatable = false)
+    private Integer moduleCount = 0;
+
+    // Raised whenever lessons are added or removed, so learning-service can drop lesson counts
+    // that arrive out of order; only written by CourseRepository
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Long lessonCountVersion;
+
     @ManyToOne
     @JoinColumn(name = "category_id")
     private Category category;
@@ -0,0 +1,16 @@
+package e_learning.catalog_service.entities;
+
+/**
+ * Table-based id allocation for entities that are inserted in bulk (quizzes, questions,
+ * answers). Unlike IDENTITY columns, ids are known before the INSERT, so Hibernate can
+ * batch the statements, and each generator round trip hands out a block of ids.
+ */
+public final class IdGenerators {
+
+    public static final String TABLE = "id_generators";
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGenerators() {
+    }
+}
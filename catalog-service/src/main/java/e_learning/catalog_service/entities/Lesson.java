@@ -1,11 +1,13 @@
 package e_learning.catalog_service.entities;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import e_learning.catalog_service.events.LessonMediaListener;
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "lessons")
+@EntityListeners(LessonMediaListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -25,6 +27,11 @@ public class Lesson {
 
     private String url;
 
+    // SHA-256 of the stored media the url points at; null for external links
+    @Column(length = 64)
+    @JsonIgnore
+    private String mediaSha256;
+
     private Integer durationMinutes;
 
     private Integer orderIndex;
@@ -0,0 +1,42 @@
+package e_learning.catalog_service.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * An uploaded file stored once under its SHA-256, however many lessons use it.
+ * {@code refCount} counts the lessons, thumbnails and completed upload sessions pointing
+ * at it; the file is deleted when it drops to zero.
+ */
+@Entity
+@Table(name = "media_blobs")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MediaBlob {
+    // Lower-case hex SHA-256 of the content
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    @Column(nullable = false)
+    private Long size;
+
+    private String contentType;
+
+    // Path under the upload directory, e.g. blobs/ab/cd/<sha256>.mp4
+    @Column(nullable = false)
+    private String storedName;
+
+    // Changed only through MediaBlobRepository.retain/release so concurrent updates are not lost
+    @Column(nullable = false, updatable = false)
+    private Integer refCount;
+
+    // Widths of the JPEG renditions made from this image, e.g. "160,320,640" ("" if none
+    // apply); null until ImageRenditionService has processed it
+    private String renditionWidths;
+
+    private LocalDateTime createdAt;
+}
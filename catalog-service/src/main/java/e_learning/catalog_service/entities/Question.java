@@ -13,7 +13,9 @@ import java.util.List;
 @Builder
 public class Question {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "question_ids")
+    @TableGenerator(name = "question_ids", table = IdGenerators.TABLE, pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "questions", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 1000)
@@ -13,7 +13,9 @@ import java.util.List;
 @Builder
 public class Quiz {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "quiz_ids")
+    @TableGenerator(name = "quiz_ids", table = IdGenerators.TABLE, pkColumnName = "name", valueColumnName = "next_val",
+            pkColumnValue = "quizzes", allocationSize = IdGenerators.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false)
@@ -25,6 +27,11 @@ public class Quiz {
 
     private Integer timeLimitMinutes;
 
+    // Raised whenever anything that affects grading changes; only written by QuizRepository
+    @JsonIgnore
+    @Column(insertable = false, updatable = false)
+    private Long answerKeyVersion;
+
     @ManyToOne
     @JoinColumn(name = "module_id")
     @JsonIgnore
@@ -0,0 +1,47 @@
+package e_learning.catalog_service.entities;
+
+import jakarta.persistence.*;
+import lombok.*;
+import java.time.LocalDateTime;
+
+/**
+ * A resumable upload. Chunks are appended at {@code receivedBytes}, which is only
+ * advanced once the bytes before it are on disk, so a client that lost its connection
+ * asks for the session and carries on from there.
+ */
+@Entity
+@Table(name = "upload_sessions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UploadSession {
+    @Id
+    private String id;
+
+    @Column(nullable = false)
+    private String fileName;
+
+    private String contentType;
+
+    // Path under the upload directory: the file chunks are written to, then the stored blob once completed
+    @Column(nullable = false)
+    private String storedName;
+
+    @Column(nullable = false)
+    private Long totalSize;
+
+    @Column(nullable = false)
+    private Long receivedBytes;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private UploadStatus status;
+
+    // Hex SHA-256 of the whole file, set when the upload is completed
+    private String sha256;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,6 @@
+package e_learning.catalog_service.entities;
+
+public enum UploadStatus {
+    OPEN,
+    COMPLETED
+}
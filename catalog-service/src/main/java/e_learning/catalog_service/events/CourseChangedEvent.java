@@ -0,0 +1,14 @@
+package e_learning.catalog_service.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a course is created or its cached or searchable data (title, status,
+ * lesson titles) changes, and when it is deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class CourseChangedEvent {
+    private final Long courseId;
+}
@@ -0,0 +1,93 @@
+package e_learning.catalog_service.events;
+
+import e_learning.catalog_service.repositories.CourseRepository;
+import e_learning.catalog_service.repositories.QuizRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.discovery.DiscoveryClient;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+/**
+ * Pushes course and quiz changes (cache evictions, lesson counts) to learning-service once they have been committed.
+ * <p>
+ * Every registered instance is notified, since each one keeps its own cache; a
+ * load-balanced Feign call would only reach one of them. Notifications are best effort:
+ * an instance that misses one serves the old entry until its cache TTL expires.
+ */
+@Component
+public class LearningServiceNotifier {
+
+    private static final Logger log = LoggerFactory.getLogger(LearningServiceNotifier.class);
+
+    private static final String LEARNING_SERVICE = "learning-service";
+    private static final String TOKEN_HEADER = "X-Internal-Token";
+
+    private final DiscoveryClient discoveryClient;
+    private final CourseRepository courseRepository;
+    private final QuizRepository quizRepository;
+    private final RestClient restClient;
+    private final String internalToken;
+
+    public LearningServiceNotifier(DiscoveryClient discoveryClient, CourseRepository courseRepository,
+            QuizRepository quizRepository, RestClient.Builder restClientBuilder,
+            @Value("${internal.token:}") String internalToken) {
+        this.discoveryClient = discoveryClient;
+        this.courseRepository = courseRepository;
+        this.quizRepository = quizRepository;
+        SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+        requestFactory.setConnectTimeout(2000);
+        requestFactory.setReadTimeout(2000);
+        this.restClient = restClientBuilder.requestFactory(requestFactory).build();
+        this.internalToken = internalToken;
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        broadcast(HttpMethod.DELETE, "/internal/cache/courses/{courseId}", event.getCourseId());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLessonCountChanged(LessonCountChangedEvent event) {
+        // Counted when the notification is sent, so the absolute value is pushed rather than a delta.
+        // Notifications can overtake each other, so the version lets older counts be dropped.
+        courseRepository.findVersionedLessonCount(event.getCourseId()).ifPresent(count ->
+                broadcast(HttpMethod.PUT, "/internal/courses/{courseId}/lesson-count?total={total}&version={version}",
+                        event.getCourseId(), count.getTotal(), count.getVersion()));
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onQuizChanged(QuizChangedEvent event) {
+        // Instances already holding this version (or a newer one) keep their answer key
+        quizRepository.findAnswerKeyVersion(event.getQuizId()).ifPresentOrElse(
+                version -> broadcast(HttpMethod.DELETE, "/internal/cache/quizzes/{quizId}?version={version}",
+                        event.getQuizId(), version),
+                () -> broadcast(HttpMethod.DELETE, "/internal/cache/quizzes/{quizId}", event.getQuizId()));
+    }
+
+    private void broadcast(HttpMethod method, String path, Object... uriVariables) {
+        List<ServiceInstance> instances = discoveryClient.getInstances(LEARNING_SERVICE);
+        for (ServiceInstance instance : instances) {
+            try {
+                restClient.method(method)
+                        .uri(instance.getUri() + path, uriVariables)
+                        .header(TOKEN_HEADER, internalToken)
+                        .retrieve()
+                        .toBodilessEntity();
+            } catch (Exception e) {
+                log.warn("Could not notify {} at {}: {}", LEARNING_SERVICE, instance.getUri(), e.getMessage());
+            }
+        }
+    }
+}
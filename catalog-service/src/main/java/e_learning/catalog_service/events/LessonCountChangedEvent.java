@@ -0,0 +1,13 @@
+package e_learning.catalog_service.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when lessons are added to or removed from a course.
+ */
+@Getter
+@AllArgsConstructor
+public class LessonCountChangedEvent {
+    private final Long courseId;
+}
@@ -0,0 +1,25 @@
+package e_learning.catalog_service.events;
+
+import e_learning.catalog_service.entities.Lesson;
+import jakarta.persistence.PostRemove;
+import org.springframework.context.ApplicationEventPublisher;
+
+/**
+ * Releases a lesson's stored media whenever the lesson row is removed, including when it
+ * goes with its module or course through a cascade.
+ */
+public class LessonMediaListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LessonMediaListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostRemove
+    public void onLessonRemoved(Lesson lesson) {
+        if (lesson.getMediaSha256() != null) {
+            eventPublisher.publishEvent(new MediaReleasedEvent(lesson.getMediaSha256()));
+        }
+    }
+}
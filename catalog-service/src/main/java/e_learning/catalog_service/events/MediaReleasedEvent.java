@@ -0,0 +1,14 @@
+package e_learning.catalog_service.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a lesson stops using a stored media file, because it was deleted (on its
+ * own or with its module or course) or pointed at a different URL.
+ */
+@Getter
+@AllArgsConstructor
+public class MediaReleasedEvent {
+    private final String sha256;
+}
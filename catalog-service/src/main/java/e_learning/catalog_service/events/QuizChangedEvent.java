@@ -0,0 +1,13 @@
+package e_learning.catalog_service.events;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Published when a quiz, or one of its questions or answers, is changed or deleted.
+ */
+@Getter
+@AllArgsConstructor
+public class QuizChangedEvent {
+    private final Long quizId;
+}
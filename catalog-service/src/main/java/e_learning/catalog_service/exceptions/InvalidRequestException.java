@@ -0,0 +1,7 @@
+package e_learning.catalog_service.exceptions;
+
+public class InvalidRequestException extends RuntimeException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package e_learning.catalog_service.exceptions;
+
+public class UploadConflictException extends RuntimeException {
+    public UploadConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package e_learning.catalog_service.repositories;
+
+import e_learning.catalog_service.entities.QuestionType;
+
+/**
+ * One question of a quiz joined with one of its answers (or none).
+ */
+public interface AnswerKeyRow {
+    Long getQuestionId();
+
+    QuestionType getType();
+
+    Integer getPoints();
+
+    Long getAnswerId();
+
+    Boolean getCorrect();
+}
@@ -0,0 +1,18 @@
+package e_learning.catalog_service.repositories;
+
+import e_learning.catalog_service.entities.CourseLevel;
+import e_learning.catalog_service.entities.CourseStatus;
+import lombok.Builder;
+import lombok.Getter;
+
+/**
+ * Optional course listing filters; null fields match every course.
+ */
+@Getter
+@Builder
+public class CourseFilter {
+    private final String keyword;
+    private final Long categoryId;
+    private final CourseLevel level;
+    private final CourseStatus status;
+}
@@ -0,0 +1,27 @@
+package e_learning.catalog_service.repositories;
+
+import e_learning.catalog_service.entities.CourseLevel;
+import e_learning.catalog_service.entities.CourseStatus;
+
+/**
+ * Course columns fed to the search index and the typeahead suggestions.
+ */
+public interface CourseIndexView {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Long getCategoryId();
+
+    String getCategoryName();
+
+    CourseLevel getLevel();
+
+    CourseStatus getStatus();
+
+    Integer getTotalEnrollments();
+
+    Double getAverageRating();
+}
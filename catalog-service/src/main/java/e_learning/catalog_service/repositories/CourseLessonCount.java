@@ -0,0 +1,10 @@
+package e_learning.catalog_service.repositories;
+
+/**
+ * Projection of a per-course lesson count.
+ */
+public interface CourseLessonCount {
+    Long getCourseId();
+
+    Long getLessonCount();
+}
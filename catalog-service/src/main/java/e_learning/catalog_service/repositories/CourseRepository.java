@@ -6,12 +6,16 @@ import e_learning.catalog_service.entities.CourseStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
-public interface CourseRepository extends JpaRepository<Course, Long> {
+public interface CourseRepository extends JpaRepository<Course, Long>, CourseRepositoryCustom {
 
     // Find by status
     List<Course> findByStatus(CourseStatus status);
@@ -55,4 +59,136 @@ public interface CourseRepository extends JpaRepository<Course, Long> {
 
     // Count by professor
     Long countByProfessorId(Long professorId);
-}
\ No newline at end of file
+
+    // ---- Listing projections: one statement per page, no entity hydration ----
+
+    String SUMMARY_SELECT = "SELECT c.id AS id, c.title AS title, c.description AS description, " +
+            "c.level AS level, c.status AS status, c.professorId AS professorId, " +
+            "c.thumbnailUrl AS thumbnailUrl, c.thumbnailWidths AS thumbnailWidths, c.price AS price, c.durationHours AS durationHours, " +
+            "c.averageRating AS averageRating, c.totalEnrollments AS totalEnrollments, " +
+            "cat.name AS categoryName, COALESCE(c.moduleCount, 0) AS moduleCount " +
+            "FROM Course c LEFT JOIN c.category cat ";
+
+    String SEARCH_FILTER = "WHERE " +
+            "(:keyword IS NULL OR LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%'))) AND " +
+            "(:categoryId IS NULL OR c.category.id = :categoryId) AND " +
+            "(:level IS NULL OR c.level = :level) AND " +
+            "(:status IS NULL OR c.status = :status)";
+
+    @Query(value = SUMMARY_SELECT, countQuery = "SELECT COUNT(c) FROM Course c")
+    Page<CourseSummaryView> findAllSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.status = 'PUBLISHED'",
+            countQuery = "SELECT COUNT(c) FROM Course c WHERE c.status = 'PUBLISHED'")
+    Page<CourseSummaryView> findPublishedSummaries(Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + SEARCH_FILTER,
+            countQuery = "SELECT COUNT(c) FROM Course c " + SEARCH_FILTER)
+    Page<CourseSummaryView> searchSummaries(
+            @Param("keyword") String keyword,
+            @Param("categoryId") Long categoryId,
+            @Param("level") CourseLevel level,
+            @Param("status") CourseStatus status,
+            Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + "WHERE c.category.id = :categoryId",
+            countQuery = "SELECT COUNT(c) FROM Course c WHERE c.category.id = :categoryId")
+    Page<CourseSummaryView> findSummariesByCategoryId(@Param("categoryId") Long categoryId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "WHERE c.professorId = :professorId")
+    List<CourseSummaryView> findSummariesByProfessorId(@Param("professorId") Long professorId);
+
+    @Query(SUMMARY_SELECT + "WHERE c.id IN :ids")
+    List<CourseSummaryView> findSummariesByIds(@Param("ids") Collection<Long> ids);
+
+    // ---- Search index loading ----
+
+    String INDEX_SELECT = "SELECT c.id AS id, c.title AS title, c.description AS description, " +
+            "cat.id AS categoryId, cat.name AS categoryName, c.level AS level, c.status AS status, " +
+            "c.totalEnrollments AS totalEnrollments, c.averageRating AS averageRating " +
+            "FROM Course c LEFT JOIN c.category cat ";
+
+    // Keyset batches in id order, so a full rebuild never pages with OFFSET
+    @Query(INDEX_SELECT + "WHERE c.id > :afterId ORDER BY c.id")
+    List<CourseIndexView> findIndexBatch(@Param("afterId") Long afterId, Pageable pageable);
+
+    @Query(INDEX_SELECT + "WHERE c.id = :id")
+    Optional<CourseIndexView> findIndexViewById(@Param("id") Long id);
+
+    // ---- Rating aggregates ----
+
+    // Relative increments under the row lock, so concurrent reviews never overwrite each other.
+    // The average is assigned first because MySQL evaluates SET clauses left to right.
+    // Rows not yet backfilled (null count) are left for backfillRatingAggregates.
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Course c SET " +
+            "c.averageRating = CASE WHEN c.ratingCount IS NULL THEN c.averageRating " +
+            "WHEN c.ratingCount + :countDelta <= 0 THEN 0.0 " +
+            "ELSE (c.ratingSum + :sumDelta) * 1.0 / (c.ratingCount + :countDelta) END, " +
+            "c.ratingSum = c.ratingSum + :sumDelta, " +
+            "c.ratingCount = c.ratingCount + :countDelta, " +
+            "c.oneStarCount = c.oneStarCount + :oneStarDelta, " +
+            "c.twoStarCount = c.twoStarCount + :twoStarDelta, " +
+            "c.threeStarCount = c.threeStarCount + :threeStarDelta, " +
+            "c.fourStarCount = c.fourStarCount + :fourStarDelta, " +
+            "c.fiveStarCount = c.fiveStarCount + :fiveStarDelta " +
+            "WHERE c.id = :courseId")
+    int applyRatingChange(
+            @Param("courseId") Long courseId,
+            @Param("sumDelta") long sumDelta,
+            @Param("countDelta") int countDelta,
+            @Param("oneStarDelta") int oneStarDelta,
+            @Param("twoStarDelta") int twoStarDelta,
+            @Param("threeStarDelta") int threeStarDelta,
+            @Param("fourStarDelta") int fourStarDelta,
+            @Param("fiveStarDelta") int fiveStarDelta);
+
+    // Fills the aggregates for rows created before the columns existed
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET " +
+            "c.averageRating = COALESCE((SELECT AVG(r.rating) FROM Review r WHERE r.course.id = c.id), 0.0), " +
+            "c.ratingSum = COALESCE((SELECT SUM(r.rating) FROM Review r WHERE r.course.id = c.id), 0), " +
+            "c.ratingCount = (SELECT COUNT(r) FROM Review r WHERE r.course.id = c.id), " +
+            "c.oneStarCount = (SELECT COUNT(r) FROM Review r WHERE r.course.id = c.id AND r.rating = 1), " +
+            "c.twoStarCount = (SELECT COUNT(r) FROM Review r WHERE r.course.id = c.id AND r.rating = 2), " +
+            "c.threeStarCount = (SELECT COUNT(r) FROM Review r WHERE r.course.id = c.id AND r.rating = 3), " +
+            "c.fourStarCount = (SELECT COUNT(r) FROM Review r WHERE r.course.id = c.id AND r.rating = 4), " +
+            "c.fiveStarCount = (SELECT COUNT(r) FROM Review r WHERE r.course.id = c.id AND r.rating = 5) " +
+            "WHERE c.ratingCount IS NULL")
+    int backfillRatingAggregates();
+
+    // ---- Denormalized module count ----
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET c.moduleCount = " +
+            "(SELECT COUNT(m) FROM Module m WHERE m.course.id = c.id) WHERE c.id = :courseId")
+    int refreshModuleCount(@Param("courseId") Long courseId);
+
+    // Bumped in SQL so concurrent lesson edits never lose an increment; a missing version counts as 0
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET c.lessonCountVersion = COALESCE(c.lessonCountVersion, 0) + 1 WHERE c.id = :courseId")
+    int incrementLessonCountVersion(@Param("courseId") Long courseId);
+
+    // Version and count read in one statement, so a newer version never comes with an older count
+    @Query("SELECT COALESCE(c.lessonCountVersion, 0) AS version, " +
+            "(SELECT COUNT(l) FROM Lesson l WHERE l.module.course.id = c.id) AS total " +
+            "FROM Course c WHERE c.id = :courseId")
+    Optional<VersionedLessonCount> findVersionedLessonCount(@Param("courseId") Long courseId);
+
+    // Fills the column for rows created before it existed
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET c.moduleCount = " +
+            "(SELECT COUNT(m) FROM Module m WHERE m.course.id = c.id) WHERE c.moduleCount IS NULL")
+    int backfillModuleCounts();
+
+    // Called once a thumbnail's renditions exist, for every course already using it
+    @Transactional
+    @Modifying
+    @Query("UPDATE Course c SET c.thumbnailWidths = :widths WHERE c.thumbnailUrl = :url")
+    int updateThumbnailWidths(@Param("url") String url, @Param("widths") String widths);
+}
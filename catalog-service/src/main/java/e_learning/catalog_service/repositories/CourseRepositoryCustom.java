@@ -0,0 +1,18 @@
+package e_learning.catalog_service.repositories;
+
+import java.util.List;
+
+/**
+ * Keyset ("seek") queries, built at runtime because the sort column varies.
+ */
+public interface CourseRepositoryCustom {
+
+    /**
+     * Up to {@code limit} rows of {@code [id, sort value]} that come after the given position
+     * in (sort key, id) order. A null {@code afterId} starts from the beginning.
+     */
+    List<Object[]> findKeysetPage(CourseFilter filter, CourseSortKey sortKey, boolean ascending,
+            Object afterValue, Long afterId, int limit);
+
+    long countMatching(CourseFilter filter);
+}
@@ -0,0 +1,87 @@
+package e_learning.catalog_service.repositories;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seek pagination: each page continues from the last (sort value, id) seen, so deep pages
+ * cost the same as the first one and no OFFSET rows are read and thrown away.
+ * <p>
+ * The predicates assume nulls sort lowest, as they do in MySQL and H2: first when
+ * ascending, last when descending.
+ */
+public class CourseRepositoryImpl implements CourseRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Object[]> findKeysetPage(CourseFilter filter, CourseSortKey sortKey, boolean ascending,
+            Object afterValue, Long afterId, int limit) {
+        String key = "c." + sortKey.getProperty();
+        String direction = ascending ? "ASC" : "DESC";
+        Map<String, Object> parameters = new HashMap<>();
+        List<String> predicates = filterPredicates(filter, parameters);
+
+        if (afterId != null) {
+            parameters.put("afterId", afterId);
+            if (afterValue == null) {
+                predicates.add(ascending
+                        ? "(" + key + " IS NOT NULL OR c.id > :afterId)"
+                        : "(" + key + " IS NULL AND c.id < :afterId)");
+            } else {
+                parameters.put("afterValue", afterValue);
+                predicates.add(ascending
+                        ? "(" + key + " > :afterValue OR (" + key + " = :afterValue AND c.id > :afterId))"
+                        : "(" + key + " < :afterValue OR (" + key + " = :afterValue AND c.id < :afterId) OR "
+                                + key + " IS NULL)");
+            }
+        }
+
+        String jpql = "SELECT c.id, " + key + " FROM Course c" + where(predicates)
+                + " ORDER BY " + key + " " + direction + ", c.id " + direction;
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql, Object[].class);
+        parameters.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countMatching(CourseFilter filter) {
+        Map<String, Object> parameters = new HashMap<>();
+        String jpql = "SELECT COUNT(c) FROM Course c" + where(filterPredicates(filter, parameters));
+        TypedQuery<Long> query = entityManager.createQuery(jpql, Long.class);
+        parameters.forEach(query::setParameter);
+        return query.getSingleResult();
+    }
+
+    private static List<String> filterPredicates(CourseFilter filter, Map<String, Object> parameters) {
+        List<String> predicates = new ArrayList<>();
+        if (filter.getKeyword() != null && !filter.getKeyword().isBlank()) {
+            predicates.add("LOWER(c.title) LIKE LOWER(CONCAT('%', :keyword, '%'))");
+            parameters.put("keyword", filter.getKeyword());
+        }
+        if (filter.getCategoryId() != null) {
+            predicates.add("c.category.id = :categoryId");
+            parameters.put("categoryId", filter.getCategoryId());
+        }
+        if (filter.getLevel() != null) {
+            predicates.add("c.level = :level");
+            parameters.put("level", filter.getLevel());
+        }
+        if (filter.getStatus() != null) {
+            predicates.add("c.status = :status");
+            parameters.put("status", filter.getStatus());
+        }
+        return predicates;
+    }
+
+    private static String where(List<String> predicates) {
+        return predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+    }
+}
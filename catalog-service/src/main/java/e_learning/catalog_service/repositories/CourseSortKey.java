@@ -0,0 +1,44 @@
+package e_learning.catalog_service.repositories;
+
+import e_learning.catalog_service.exceptions.InvalidRequestException;
+
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+/**
+ * Columns a course listing can be scrolled by. Each is paired with the course id as a
+ * tie-breaker, and knows how to write its value into a cursor and read it back.
+ */
+public enum CourseSortKey {
+    CREATED_AT("createdAt", LocalDateTime::parse),
+    UPDATED_AT("updatedAt", LocalDateTime::parse),
+    TITLE("title", value -> value),
+    PRICE("price", Double::valueOf),
+    AVERAGE_RATING("averageRating", Double::valueOf),
+    TOTAL_ENROLLMENTS("totalEnrollments", Integer::valueOf);
+
+    private final String property;
+    private final Function<String, Object> parser;
+
+    CourseSortKey(String property, Function<String, Object> parser) {
+        this.property = property;
+        this.parser = parser;
+    }
+
+    public String getProperty() {
+        return property;
+    }
+
+    public Object parse(String value) {
+        return parser.apply(value);
+    }
+
+    public static CourseSortKey fromProperty(String property) {
+        for (CourseSortKey key : values()) {
+            if (key.property.equals(property)) {
+                return key;
+            }
+        }
+        throw new InvalidRequestException("Unsupported sort key: " + property);
+    }
+}
@@ -0,0 +1,38 @@
+package e_learning.catalog_service.repositories;
+
+import e_learning.catalog_service.entities.CourseLevel;
+import e_learning.catalog_service.entities.CourseStatus;
+
+/**
+ * Projection of the columns shown on course listing pages, read in one statement
+ * without loading Course entities, their category or their modules.
+ */
+public interface CourseSummaryView {
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    CourseLevel getLevel();
+
+    CourseStatus getStatus();
+
+    Long getProfessorId();
+
+    String getThumbnailUrl();
+
+    String getThumbnailWidths();
+
+    Double getPrice();
+
+    Integer getDurationHours();
+
+    Double getAverageRating();
+
+    Integer getTotalEnrollments();
+
+    String getCategoryName();
+
+    Integer getModuleCount();
+}
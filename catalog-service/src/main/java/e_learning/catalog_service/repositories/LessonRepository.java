@@ -2,10 +2,26 @@ package e_learning.catalog_service.repositories;
 
 import e_learning.catalog_service.entities.Lesson;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
 
 public interface LessonRepository extends JpaRepository<Lesson, Long> {
     List<Lesson> findByModuleIdOrderByOrderIndexAsc(Long moduleId);
 
     List<Lesson> findByModuleId(Long moduleId);
+
+    @Query("SELECT COUNT(l) FROM Lesson l WHERE l.module.course.id = :courseId")
+    long countByCourseId(@Param("courseId") Long courseId);
+
+    // One grouped COUNT for many courses; courses without lessons are absent from the result
+    @Query("SELECT m.course.id AS courseId, COUNT(l) AS lessonCount FROM Lesson l JOIN l.module m " +
+            "WHERE m.course.id IN :courseIds GROUP BY m.course.id")
+    List<CourseLessonCount> countByCourseIds(@Param("courseIds") Collection<Long> courseIds);
+
+    @Query("SELECT m.course.id AS courseId, l.title AS title FROM Lesson l JOIN l.module m " +
+            "WHERE m.course.id IN :courseIds")
+    List<LessonTitleView> findTitlesByCourseIds(@Param("courseIds") Collection<Long> courseIds);
 }
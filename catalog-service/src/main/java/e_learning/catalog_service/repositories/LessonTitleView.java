@@ -0,0 +1,10 @@
+package e_learning.catalog_service.repositories;
+
+/**
+ * A lesson title with the course it belongs to.
+ */
+public interface LessonTitleView {
+    Long getCourseId();
+
+    String getTitle();
+}
@@ -0,0 +1,37 @@
+package e_learning.catalog_service.repositories;
+
+import e_learning.catalog_service.entities.MediaBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, String> {
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MediaBlob b SET b.refCount = b.refCount + 1 WHERE b.sha256 = :sha256")
+    int retain(@Param("sha256") String sha256);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MediaBlob b SET b.refCount = b.refCount - 1 WHERE b.sha256 = :sha256 AND b.refCount > 0")
+    int release(@Param("sha256") String sha256);
+
+    // Removes the row only if nothing took a new reference in the meantime
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("DELETE FROM MediaBlob b WHERE b.sha256 = :sha256 AND b.refCount = 0")
+    int deleteIfUnreferenced(@Param("sha256") String sha256);
+
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE MediaBlob b SET b.renditionWidths = :widths WHERE b.sha256 = :sha256")
+    int setRenditionWidths(@Param("sha256") String sha256, @Param("widths") String widths);
+
+    // Images still waiting for renditions, e.g. after a restart dropped the queue
+    List<MediaBlob> findTop100ByContentTypeStartingWithAndRenditionWidthsIsNull(String contentTypePrefix);
+}
@@ -2,10 +2,18 @@ package e_learning.catalog_service.repositories;
 
 import e_learning.catalog_service.entities.Module;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface ModuleRepository extends JpaRepository<Module, Long> {
     List<Module> findByCourseIdOrderByOrderIndexAsc(Long courseId);
 
     List<Module> findByCourseId(Long courseId);
+
+    // Course detail read path: all modules of a course and their lessons in one statement
+    @Query("SELECT m FROM Module m LEFT JOIN FETCH m.lessons WHERE m.course.id = :courseId " +
+            "ORDER BY m.orderIndex ASC, m.id ASC")
+    List<Module> findWithLessonsByCourseId(@Param("courseId") Long courseId);
 }
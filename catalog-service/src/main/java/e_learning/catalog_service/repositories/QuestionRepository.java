@@ -2,8 +2,17 @@ package e_learning.catalog_service.repositories;
 
 import e_learning.catalog_service.entities.Question;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 
 public interface QuestionRepository extends JpaRepository<Question, Long> {
     List<Question> findByQuizId(Long quizId);
+
+    // Answer key read path: ids, types, points and correct flags only, no question or answer text
+    @Query("SELECT q.id AS questionId, q.type AS type, q.points AS points, a.id AS answerId, a.correct AS correct " +
+            "FROM Question q LEFT JOIN q.answers a " +
+            "WHERE q.quiz.id = :quizId ORDER BY q.id ASC, a.id ASC")
+    List<AnswerKeyRow> findAnswerKeyRows(@Param("quizId") Long quizId);
 }
@@ -2,8 +2,39 @@ package e_learning.catalog_service.repositories;
 
 import e_learning.catalog_service.entities.Quiz;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
 import java.util.List;
+import java.util.Optional;
 
 public interface QuizRepository extends JpaRepository<Quiz, Long> {
     List<Quiz> findByModuleId(Long moduleId);
+
+    // Quizzes removed along with a module or course; their cached answer keys must be evicted
+    @Query("SELECT q.id FROM Quiz q WHERE q.module.id = :moduleId")
+    List<Long> findIdsByModuleId(@Param("moduleId") Long moduleId);
+
+    @Query("SELECT q.id FROM Quiz q WHERE q.module.course.id = :courseId")
+    List<Long> findIdsByCourseId(@Param("courseId") Long courseId);
+
+    // Course detail read path: quiz summaries of every module, with question counts computed in SQL
+    @Query("SELECT q.module.id AS moduleId, q.id AS id, q.title AS title, q.description AS description, " +
+            "q.passingScore AS passingScore, q.timeLimitMinutes AS timeLimitMinutes, " +
+            "COUNT(qu) AS questionCount " +
+            "FROM Quiz q LEFT JOIN q.questions qu WHERE q.module.course.id = :courseId " +
+            "GROUP BY q.module.id, q.id, q.title, q.description, q.passingScore, q.timeLimitMinutes " +
+            "ORDER BY q.id ASC")
+    List<QuizSummaryView> findSummariesByCourseId(@Param("courseId") Long courseId);
+
+    // Bumped in SQL so concurrent edits never lose an increment; a missing version counts as 0
+    @Transactional
+    @Modifying
+    @Query("UPDATE Quiz q SET q.answerKeyVersion = COALESCE(q.answerKeyVersion, 0) + 1 WHERE q.id = :quizId")
+    int incrementAnswerKeyVersion(@Param("quizId") Long quizId);
+
+    @Query("SELECT COALESCE(q.answerKeyVersion, 0) FROM Quiz q WHERE q.id = :quizId")
+    Optional<Long> findAnswerKeyVersion(@Param("quizId") Long quizId);
 }
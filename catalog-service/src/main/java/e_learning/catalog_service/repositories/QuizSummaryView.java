@@ -0,0 +1,20 @@
+package e_learning.catalog_service.repositories;
+
+/**
+ * Projection of a quiz with its question count, so questions never need to be loaded.
+ */
+public interface QuizSummaryView {
+    Long getModuleId();
+
+    Long getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    Integer getPassingScore();
+
+    Integer getTimeLimitMinutes();
+
+    Long getQuestionCount();
+}
@@ -3,7 +3,9 @@ package e_learning.catalog_service.repositories;
 import e_learning.catalog_service.entities.Review;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
@@ -20,6 +22,11 @@ public interface ReviewRepository extends JpaRepository<Review, Long> {
 
     boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
 
+    // Row lock so two writers cannot both apply a change based on the same old rating
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM Review r WHERE r.id = :id")
+    Optional<Review> findByIdForUpdate(@Param("id") Long id);
+
     @Query("SELECT AVG(r.rating) FROM Review r WHERE r.course.id = :courseId")
     Double calculateAverageRating(@Param("courseId") Long courseId);
 
@@ -0,0 +1,25 @@
+package e_learning.catalog_service.repositories;
+
+import e_learning.catalog_service.entities.UploadSession;
+import e_learning.catalog_service.entities.UploadStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+
+    // Advances the offset only from the value the chunk was written against
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE UploadSession s SET s.receivedBytes = :receivedBytes, s.updatedAt = :now " +
+            "WHERE s.id = :id AND s.receivedBytes = :expectedBytes AND s.status = 'OPEN'")
+    int advance(@Param("id") String id, @Param("expectedBytes") long expectedBytes,
+            @Param("receivedBytes") long receivedBytes, @Param("now") LocalDateTime now);
+
+    List<UploadSession> findByStatusAndUpdatedAtBefore(UploadStatus status, LocalDateTime cutoff);
+}
@@ -0,0 +1,10 @@
+package e_learning.catalog_service.repositories;
+
+/**
+ * Lesson count of a course together with the version it was read at.
+ */
+public interface VersionedLessonCount {
+    Long getVersion();
+
+    Long getTotal();
+}
@@ -0,0 +1,26 @@
+package e_learning.catalog_service.search;
+
+import e_learning.catalog_service.entities.CourseLevel;
+import e_learning.catalog_service.entities.CourseStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * The searchable text and filter values of one course, as handed to {@link CourseSearchIndex}.
+ */
+@Getter
+@Builder
+@AllArgsConstructor
+public class CourseDocument {
+    private final Long id;
+    private final String title;
+    private final String description;
+    private final String categoryName;
+    private final List<String> lessonTitles;
+    private final Long categoryId;
+    private final CourseLevel level;
+    private final CourseStatus status;
+}
@@ -0,0 +1,334 @@
+package e_learning.catalog_service.search;
+
+import e_learning.catalog_service.entities.CourseLevel;
+import e_learning.catalog_service.entities.CourseStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over course text, ranked with BM25.
+ * <p>
+ * Fields are folded into one weighted bag of terms (a title hit counts three times a
+ * description hit), so a course is scored once per query term. Every query term must
+ * match, either exactly, as a prefix of an indexed term, or within one edit (typo,
+ * missing or extra letter, swapped neighbours). Looser matches score lower than exact ones.
+ * <p>
+ * Reads share a lock and run concurrently; updates replace one course at a time.
+ */
+public class CourseSearchIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private static final double TITLE_WEIGHT = 3.0;
+    private static final double CATEGORY_WEIGHT = 2.0;
+    private static final double LESSON_WEIGHT = 1.0;
+    private static final double DESCRIPTION_WEIGHT = 1.0;
+
+    private static final double PREFIX_FACTOR = 0.8;
+    private static final double TYPO_FACTOR = 0.6;
+
+    private static final int MIN_PREFIX_LENGTH = 2;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_TYPO_LENGTH = 4;
+
+    /** Filter values and indexed terms of one course, kept so the course can be removed again. */
+    private static final class Entry {
+        private final Long categoryId;
+        private final CourseLevel level;
+        private final CourseStatus status;
+        private final double length;
+        private final Set<String> terms;
+
+        private Entry(Long categoryId, CourseLevel level, CourseStatus status, double length, Set<String> terms) {
+            this.categoryId = categoryId;
+            this.level = level;
+            this.status = status;
+            this.length = length;
+            this.terms = terms;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // term -> course id -> weighted term frequency; sorted so prefixes are a sub-map
+    private final NavigableMap<String, Map<Long, Double>> postings = new TreeMap<>();
+
+    // single-deletion variant -> terms it was derived from, to find typo candidates without a scan
+    private final Map<String, Set<String>> deletions = new HashMap<>();
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private double totalLength;
+
+    public void index(CourseDocument document) {
+        Map<String, Double> frequencies = new HashMap<>();
+        double length = addField(frequencies, document.getTitle(), TITLE_WEIGHT)
+                + addField(frequencies, document.getCategoryName(), CATEGORY_WEIGHT)
+                + addField(frequencies, document.getDescription(), DESCRIPTION_WEIGHT);
+        if (document.getLessonTitles() != null) {
+            for (String lessonTitle : document.getLessonTitles()) {
+                length += addField(frequencies, lessonTitle, LESSON_WEIGHT);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(document.getId());
+            frequencies.forEach((term, frequency) -> {
+                Map<Long, Double> termPostings = postings.get(term);
+                if (termPostings == null) {
+                    termPostings = new HashMap<>();
+                    postings.put(term, termPostings);
+                    addDeletions(term);
+                }
+                termPostings.put(document.getId(), frequency);
+            });
+            entries.put(document.getId(), new Entry(document.getCategoryId(), document.getLevel(),
+                    document.getStatus(), length, new HashSet<>(frequencies.keySet())));
+            totalLength += length;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long courseId) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(courseId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Ids of the courses matching every term of the query and all the given filters
+     * (a null filter matches anything), best match first.
+     */
+    public List<Long> search(String query, Long categoryId, CourseLevel level, CourseStatus status) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(TextAnalyzer.tokenize(query)));
+        if (queryTerms.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            if (entries.isEmpty()) {
+                return List.of();
+            }
+            double averageLength = totalLength / entries.size();
+            Map<Long, Double> scores = null;
+
+            for (int i = 0; i < queryTerms.size(); i++) {
+                boolean last = i == queryTerms.size() - 1;
+                Map<Long, Double> termScores = scoreTerm(queryTerms.get(i), last, averageLength,
+                        categoryId, level, status);
+                if (scores == null) {
+                    scores = termScores;
+                } else {
+                    // Every term has to match: keep only courses already matched, adding this term's score
+                    Map<Long, Double> previous = scores;
+                    scores = new HashMap<>();
+                    for (Map.Entry<Long, Double> score : termScores.entrySet()) {
+                        Double sum = previous.get(score.getKey());
+                        if (sum != null) {
+                            scores.put(score.getKey(), sum + score.getValue());
+                        }
+                    }
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            Map<Long, Double> ranked = scores;
+            List<Long> ids = new ArrayList<>(ranked.keySet());
+            // Ties go to the newest course
+            ids.sort((a, b) -> {
+                int byScore = Double.compare(ranked.get(b), ranked.get(a));
+                return byScore != 0 ? byScore : Long.compare(b, a);
+            });
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best score per course for one query term, over its exact, prefix and one-edit matches.
+     */
+    private Map<Long, Double> scoreTerm(String queryTerm, boolean last, double averageLength,
+            Long categoryId, CourseLevel level, CourseStatus status) {
+        Map<String, Double> expansions = new HashMap<>();
+        boolean exact = postings.containsKey(queryTerm);
+        if (exact) {
+            expansions.put(queryTerm, 1.0);
+        }
+        // The last term may still be being typed; earlier ones only expand when they match nothing as-is
+        if (queryTerm.length() >= MIN_PREFIX_LENGTH && (last || !exact)) {
+            int expanded = 0;
+            for (String term : postings.subMap(queryTerm, false, queryTerm + Character.MAX_VALUE, false).keySet()) {
+                if (++expanded > MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                expansions.put(term, PREFIX_FACTOR);
+            }
+        }
+        if (!exact && queryTerm.length() >= MIN_TYPO_LENGTH) {
+            for (String term : typoCandidates(queryTerm)) {
+                expansions.putIfAbsent(term, TYPO_FACTOR);
+            }
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        int documentCount = entries.size();
+        for (Map.Entry<String, Double> expansion : expansions.entrySet()) {
+            Map<Long, Double> termPostings = postings.get(expansion.getKey());
+            double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+            for (Map.Entry<Long, Double> posting : termPostings.entrySet()) {
+                Entry entry = entries.get(posting.getKey());
+                if (!matchesFilters(entry, categoryId, level, status)) {
+                    continue;
+                }
+                double frequency = posting.getValue();
+                double norm = K1 * (1 - B + B * entry.length / averageLength);
+                double score = expansion.getValue() * idf * frequency * (K1 + 1) / (frequency + norm);
+                scores.merge(posting.getKey(), score, Math::max);
+            }
+        }
+        return scores;
+    }
+
+    private static boolean matchesFilters(Entry entry, Long categoryId, CourseLevel level, CourseStatus status) {
+        return (categoryId == null || categoryId.equals(entry.categoryId))
+                && (level == null || level == entry.level)
+                && (status == null || status == entry.status);
+    }
+
+    private Set<String> typoCandidates(String queryTerm) {
+        Set<String> candidates = new HashSet<>();
+        collectCandidates(queryTerm, queryTerm, candidates);
+        for (int i = 0; i < queryTerm.length(); i++) {
+            String variant = queryTerm.substring(0, i) + queryTerm.substring(i + 1);
+            collectCandidates(queryTerm, variant, candidates);
+        }
+        return candidates;
+    }
+
+    private void collectCandidates(String queryTerm, String variant, Set<String> candidates) {
+        Set<String> terms = deletions.get(variant);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            if (withinOneEdit(queryTerm, term)) {
+                candidates.add(term);
+            }
+        }
+    }
+
+    private void removeLocked(Long courseId) {
+        Entry entry = entries.remove(courseId);
+        if (entry == null) {
+            return;
+        }
+        totalLength -= entry.length;
+        for (String term : entry.terms) {
+            Map<Long, Double> termPostings = postings.get(term);
+            termPostings.remove(courseId);
+            if (termPostings.isEmpty()) {
+                postings.remove(term);
+                removeDeletions(term);
+            }
+        }
+    }
+
+    private void addDeletions(String term) {
+        if (term.length() < MIN_TYPO_LENGTH - 1) {
+            return;
+        }
+        deletions.computeIfAbsent(term, k -> new HashSet<>()).add(term);
+        for (int i = 0; i < term.length(); i++) {
+            String variant = term.substring(0, i) + term.substring(i + 1);
+            deletions.computeIfAbsent(variant, k -> new HashSet<>()).add(term);
+        }
+    }
+
+    private void removeDeletions(String term) {
+        if (term.length() < MIN_TYPO_LENGTH - 1) {
+            return;
+        }
+        removeDeletion(term, term);
+        for (int i = 0; i < term.length(); i++) {
+            removeDeletion(term.substring(0, i) + term.substring(i + 1), term);
+        }
+    }
+
+    private void removeDeletion(String variant, String term) {
+        Set<String> terms = deletions.get(variant);
+        if (terms != null) {
+            terms.remove(term);
+            if (terms.isEmpty()) {
+                deletions.remove(variant);
+            }
+        }
+    }
+
+    private static double addField(Map<String, Double> frequencies, String text, double weight) {
+        List<String> terms = TextAnalyzer.tokenize(text);
+        for (String term : terms) {
+            frequencies.merge(term, weight, Double::sum);
+        }
+        return terms.size() * weight;
+    }
+
+    /**
+     * True when the two terms differ by at most one substitution, insertion, deletion or
+     * transposition of adjacent characters.
+     */
+    static boolean withinOneEdit(String a, String b) {
+        if (a.equals(b)) {
+            return true;
+        }
+        int lengthDiff = a.length() - b.length();
+        if (Math.abs(lengthDiff) > 1) {
+            return false;
+        }
+        int prefix = 0;
+        int shorter = Math.min(a.length(), b.length());
+        while (prefix < shorter && a.charAt(prefix) == b.charAt(prefix)) {
+            prefix++;
+        }
+        if (lengthDiff > 0) {
+            return a.regionMatches(prefix + 1, b, prefix, b.length() - prefix);
+        }
+        if (lengthDiff < 0) {
+            return b.regionMatches(prefix + 1, a, prefix, a.length() - prefix);
+        }
+        if (a.regionMatches(prefix + 1, b, prefix + 1, a.length() - prefix - 1)) {
+            return true;
+        }
+        return prefix + 1 < a.length()
+                && a.charAt(prefix) == b.charAt(prefix + 1)
+                && a.charAt(prefix + 1) == b.charAt(prefix)
+                && a.regionMatches(prefix + 2, b, prefix + 2, a.length() - prefix - 2);
+    }
+}
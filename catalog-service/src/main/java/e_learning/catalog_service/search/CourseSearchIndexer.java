@@ -0,0 +1,209 @@
+package e_learning.catalog_service.search;
+
+import e_learning.catalog_service.entities.CourseLevel;
+import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.events.CourseChangedEvent;
+import e_learning.catalog_service.events.LessonCountChangedEvent;
+import e_learning.catalog_service.repositories.CourseIndexView;
+import e_learning.catalog_service.repositories.CourseRepository;
+import e_learning.catalog_service.repositories.LessonRepository;
+import e_learning.catalog_service.repositories.LessonTitleView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Keeps the in-memory {@link CourseSearchIndex} and the typeahead {@link SuggestionTrie}
+ * in step with the database.
+ * <p>
+ * Suggestions cover published courses, and categories that have at least one published
+ * course; a category ranks by the enrollments and mean rating of those courses.
+ * <p>
+ * The index is built in the background once the application is ready; until then
+ * {@link #isReady()} is false and callers fall back to the database query. Afterwards
+ * each committed course or lesson change re-reads that one course. Builds and updates
+ * are serialized, so an update that waits behind the build is applied on top of it.
+ */
+@Component
+public class CourseSearchIndexer {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseSearchIndexer.class);
+
+    private static final int BATCH_SIZE = 500;
+
+    private final CourseRepository courseRepository;
+    private final LessonRepository lessonRepository;
+    private final CourseSearchIndex index = new CourseSearchIndex();
+    private final SuggestionTrie suggestions = new SuggestionTrie();
+
+    // What each published course contributes to its category's ranking, so it can be taken back out
+    private final Map<Long, PublishedCourse> publishedCourses = new HashMap<>();
+    private final Map<Long, CategoryTotals> categoryTotals = new HashMap<>();
+
+    private volatile boolean ready;
+
+    public CourseSearchIndexer(CourseRepository courseRepository, LessonRepository lessonRepository) {
+        this.courseRepository = courseRepository;
+        this.lessonRepository = lessonRepository;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public List<Long> search(String query, Long categoryId, CourseLevel level, CourseStatus status) {
+        return index.search(query, categoryId, level, status);
+    }
+
+    public List<SuggestionTrie.Suggestion> suggest(String prefix, int limit) {
+        return suggestions.suggest(prefix, limit);
+    }
+
+    /**
+     * Builds the index in the background once the application is up, unless {@link #rebuild}
+     * already ran. Tests that count statements call {@link #rebuild} first, so this build
+     * cannot run its batch queries in the middle of a measured call.
+     */
+    @Async
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void onApplicationReady() {
+        if (!ready) {
+            rebuild();
+        }
+    }
+
+    public synchronized void rebuild() {
+        long start = System.currentTimeMillis();
+        Long afterId = 0L;
+        List<CourseIndexView> batch;
+        do {
+            batch = courseRepository.findIndexBatch(afterId, PageRequest.of(0, BATCH_SIZE));
+            if (batch.isEmpty()) {
+                break;
+            }
+            indexBatch(batch);
+            afterId = batch.get(batch.size() - 1).getId();
+        } while (batch.size() == BATCH_SIZE);
+        ready = true;
+        log.info("Indexed {} courses for search in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        reindex(event.getCourseId());
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onLessonCountChanged(LessonCountChangedEvent event) {
+        reindex(event.getCourseId());
+    }
+
+    synchronized void reindex(Long courseId) {
+        Optional<CourseIndexView> course = courseRepository.findIndexViewById(courseId);
+        if (course.isEmpty()) {
+            index.remove(courseId);
+            updateSuggestions(courseId, null);
+            return;
+        }
+        indexBatch(List.of(course.get()));
+    }
+
+    private void indexBatch(List<CourseIndexView> courses) {
+        Map<Long, List<String>> lessonTitles = new HashMap<>();
+        for (LessonTitleView lesson : lessonRepository.findTitlesByCourseIds(
+                courses.stream().map(CourseIndexView::getId).toList())) {
+            lessonTitles.computeIfAbsent(lesson.getCourseId(), id -> new ArrayList<>()).add(lesson.getTitle());
+        }
+        for (CourseIndexView course : courses) {
+            index.index(CourseDocument.builder()
+                    .id(course.getId())
+                    .title(course.getTitle())
+                    .description(course.getDescription())
+                    .categoryName(course.getCategoryName())
+                    .lessonTitles(lessonTitles.getOrDefault(course.getId(), List.of()))
+                    .categoryId(course.getCategoryId())
+                    .level(course.getLevel())
+                    .status(course.getStatus())
+                    .build());
+            updateSuggestions(course.getId(), course);
+        }
+    }
+
+    /**
+     * Replaces what the course contributes to suggestions; a null or unpublished course contributes nothing.
+     */
+    private void updateSuggestions(Long courseId, CourseIndexView course) {
+        PublishedCourse previous = publishedCourses.remove(courseId);
+        if (previous != null) {
+            adjustCategory(previous, -1);
+        }
+
+        if (course == null || course.getStatus() != CourseStatus.PUBLISHED) {
+            suggestions.remove(SuggestionTrie.Type.COURSE, courseId);
+            return;
+        }
+
+        PublishedCourse published = new PublishedCourse(course.getCategoryId(), course.getCategoryName(),
+                course.getTotalEnrollments() != null ? course.getTotalEnrollments() : 0,
+                course.getAverageRating() != null ? course.getAverageRating() : 0.0);
+        publishedCourses.put(courseId, published);
+        adjustCategory(published, 1);
+        suggestions.put(new SuggestionTrie.Suggestion(SuggestionTrie.Type.COURSE, courseId, course.getTitle(),
+                published.enrollments, published.rating));
+    }
+
+    private void adjustCategory(PublishedCourse course, int sign) {
+        if (course.categoryId == null) {
+            return;
+        }
+        CategoryTotals totals = categoryTotals.computeIfAbsent(course.categoryId, id -> new CategoryTotals());
+        if (sign > 0) {
+            totals.name = course.categoryName;
+        }
+        totals.courses += sign;
+        totals.enrollments += sign * course.enrollments;
+        totals.ratingSum += sign * course.rating;
+
+        if (totals.courses <= 0) {
+            categoryTotals.remove(course.categoryId);
+            suggestions.remove(SuggestionTrie.Type.CATEGORY, course.categoryId);
+        } else {
+            suggestions.put(new SuggestionTrie.Suggestion(SuggestionTrie.Type.CATEGORY, course.categoryId,
+                    totals.name, totals.enrollments, totals.ratingSum / totals.courses));
+        }
+    }
+
+    private static final class PublishedCourse {
+        private final Long categoryId;
+        private final String categoryName;
+        private final long enrollments;
+        private final double rating;
+
+        private PublishedCourse(Long categoryId, String categoryName, long enrollments, double rating) {
+            this.categoryId = categoryId;
+            this.categoryName = categoryName;
+            this.enrollments = enrollments;
+            this.rating = rating;
+        }
+    }
+
+    private static final class CategoryTotals {
+        private String name;
+        private int courses;
+        private long enrollments;
+        private double ratingSum;
+    }
+}
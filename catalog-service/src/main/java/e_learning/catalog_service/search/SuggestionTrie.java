@@ -0,0 +1,276 @@
+package e_learning.catalog_service.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Character trie for typeahead where every node keeps the best few suggestions of its subtree,
+ * so a lookup is a walk down the prefix followed by a copy of that node's list.
+ * <p>
+ * A suggestion is reachable from the start of each of its words ("boot" finds
+ * "Spring Boot"). Replacing or removing a suggestion only recomputes the nodes on its
+ * own paths.
+ * <p>
+ * To keep memory down, children live in parallel sorted arrays rather than maps, keys are cut
+ * after {@value #MAX_KEY_LENGTH} characters, and a node on a single-child chain shares its
+ * child's list instead of copying it.
+ */
+public class SuggestionTrie {
+
+    public static final int MAX_SUGGESTIONS = 10;
+
+    static final int MAX_KEY_LENGTH = 32;
+
+    public enum Type {
+        COURSE, CATEGORY
+    }
+
+    public static final class Suggestion {
+        private final Type type;
+        private final Long id;
+        private final String text;
+        private final long enrollments;
+        private final double rating;
+
+        public Suggestion(Type type, Long id, String text, long enrollments, double rating) {
+            this.type = type;
+            this.id = id;
+            this.text = text;
+            this.enrollments = enrollments;
+            this.rating = rating;
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    // Most enrolled first, then best rated, then shortest
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong((Suggestion s) -> s.enrollments).reversed()
+            .thenComparing(Comparator.comparingDouble((Suggestion s) -> s.rating).reversed())
+            .thenComparingInt(s -> s.text.length())
+            .thenComparing(s -> s.text);
+
+    private static final Suggestion[] NONE = new Suggestion[0];
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private static final class Node {
+        private char[] labels = NO_LABELS;
+        private Node[] children = NO_CHILDREN;
+        // Suggestions whose key ends exactly here
+        private Suggestion[] terminals = NONE;
+        // Best suggestions of this node and everything below it
+        private Suggestion[] top = NONE;
+
+        private Node child(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private Node addChild(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i >= 0) {
+                return children[i];
+            }
+            int at = -i - 1;
+            Node node = new Node();
+            labels = insert(labels, at, label);
+            Node[] grown = new Node[children.length + 1];
+            System.arraycopy(children, 0, grown, 0, at);
+            grown[at] = node;
+            System.arraycopy(children, at, grown, at + 1, children.length - at);
+            children = grown;
+            return node;
+        }
+
+        private void removeChild(char label) {
+            int i = Arrays.binarySearch(labels, label);
+            if (i < 0) {
+                return;
+            }
+            char[] shrunkLabels = new char[labels.length - 1];
+            System.arraycopy(labels, 0, shrunkLabels, 0, i);
+            System.arraycopy(labels, i + 1, shrunkLabels, i, labels.length - i - 1);
+            Node[] shrunk = new Node[children.length - 1];
+            System.arraycopy(children, 0, shrunk, 0, i);
+            System.arraycopy(children, i + 1, shrunk, i, children.length - i - 1);
+            labels = shrunkLabels;
+            children = shrunk;
+        }
+
+        private boolean isEmpty() {
+            return terminals.length == 0 && children.length == 0;
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Node root = new Node();
+    private final Map<String, Suggestion> current = new HashMap<>();
+
+    public void put(Suggestion suggestion) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(suggestion.type, suggestion.id);
+            current.put(identity(suggestion.type, suggestion.id), suggestion);
+            for (String key : storedKeys(suggestion.text)) {
+                List<Node> path = walk(key, true);
+                Node last = path.get(path.size() - 1);
+                last.terminals = append(last.terminals, suggestion);
+                recompute(path, key);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Type type, Long id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(type, id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String query = String.join(" ", TextAnalyzer.tokenize(prefix));
+        if (query.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        String key = truncate(query);
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            if (key.length() == query.length()) {
+                return List.of(Arrays.copyOf(node.top, Math.min(limit, node.top.length)));
+            }
+            // Past the stored key length the trie cannot tell suggestions apart, so check the text itself
+            List<Suggestion> matches = new ArrayList<>();
+            for (Suggestion suggestion : node.top) {
+                if (matches.size() < limit && keys(suggestion.text).stream().anyMatch(k -> k.startsWith(query))) {
+                    matches.add(suggestion);
+                }
+            }
+            return matches;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeLocked(Type type, Long id) {
+        Suggestion existing = current.remove(identity(type, id));
+        if (existing == null) {
+            return;
+        }
+        for (String key : storedKeys(existing.text)) {
+            List<Node> path = walk(key, false);
+            if (path.size() != key.length() + 1) {
+                continue;
+            }
+            Node last = path.get(path.size() - 1);
+            last.terminals = Arrays.stream(last.terminals).filter(s -> s != existing).toArray(Suggestion[]::new);
+            recompute(path, key);
+        }
+    }
+
+    /**
+     * Nodes from the root along the key; stops early when a node is missing and {@code create} is false.
+     */
+    private List<Node> walk(String key, boolean create) {
+        List<Node> path = new ArrayList<>(key.length() + 1);
+        Node node = root;
+        path.add(node);
+        for (int i = 0; i < key.length(); i++) {
+            node = create ? node.addChild(key.charAt(i)) : node.child(key.charAt(i));
+            if (node == null) {
+                break;
+            }
+            path.add(node);
+        }
+        return path;
+    }
+
+    /**
+     * Rebuilds the top lists bottom-up along a path, dropping nodes left without content.
+     */
+    private void recompute(List<Node> path, String key) {
+        for (int depth = path.size() - 1; depth >= 0; depth--) {
+            Node node = path.get(depth);
+            if (depth > 0 && node.isEmpty()) {
+                path.get(depth - 1).removeChild(key.charAt(depth - 1));
+                continue;
+            }
+            if (node.terminals.length == 0 && node.children.length == 1) {
+                node.top = node.children[0].top;
+                continue;
+            }
+            List<Suggestion> candidates = new ArrayList<>(Arrays.asList(node.terminals));
+            for (Node child : node.children) {
+                candidates.addAll(Arrays.asList(child.top));
+            }
+            node.top = candidates.stream()
+                    .distinct()
+                    .sorted(RANKING)
+                    .limit(MAX_SUGGESTIONS)
+                    .toArray(Suggestion[]::new);
+        }
+    }
+
+    // "Intro to Spring Boot" -> "intro to spring boot", "to spring boot", "spring boot", "boot"
+    private static List<String> keys(String text) {
+        List<String> words = TextAnalyzer.tokenize(text);
+        List<String> keys = new ArrayList<>(words.size());
+        for (int i = 0; i < words.size(); i++) {
+            keys.add(String.join(" ", words.subList(i, words.size())));
+        }
+        return keys;
+    }
+
+    private static List<String> storedKeys(String text) {
+        return keys(text).stream().map(SuggestionTrie::truncate).distinct().toList();
+    }
+
+    private static String truncate(String key) {
+        return key.length() > MAX_KEY_LENGTH ? key.substring(0, MAX_KEY_LENGTH) : key;
+    }
+
+    private static String identity(Type type, Long id) {
+        return type.name() + ':' + id;
+    }
+
+    private static Suggestion[] append(Suggestion[] suggestions, Suggestion suggestion) {
+        Suggestion[] grown = Arrays.copyOf(suggestions, suggestions.length + 1);
+        grown[suggestions.length] = suggestion;
+        return grown;
+    }
+
+    private static char[] insert(char[] labels, int at, char label) {
+        char[] grown = new char[labels.length + 1];
+        System.arraycopy(labels, 0, grown, 0, at);
+        grown[at] = label;
+        System.arraycopy(labels, at, grown, at + 1, labels.length - at);
+        return grown;
+    }
+}
@@ -0,0 +1,364 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.dto.CreateUploadSessionRequest;
+import e_learning.catalog_service.dto.UploadSessionResponse;
+import e_learning.catalog_service.entities.MediaBlob;
+import e_learning.catalog_service.entities.UploadSession;
+import e_learning.catalog_service.entities.UploadStatus;
+import e_learning.catalog_service.exceptions.InvalidRequestException;
+import e_learning.catalog_service.exceptions.ResourceNotFoundException;
+import e_learning.catalog_service.exceptions.UploadConflictException;
+import e_learning.catalog_service.repositories.UploadSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Resumable uploads for large lesson media.
+ * <p>
+ * The client opens a session with the file size, then PUTs the bytes in chunks, each at
+ * the offset the session reports. Request bodies are streamed straight into the final file
+ * with positional writes (no multipart temp file, no second copy) and fed to a running
+ * SHA-256 as they arrive. If a connection drops mid-chunk, whatever reached the disk is
+ * kept, so the client resumes from the session's offset rather than from zero.
+ * <p>
+ * The running digest lives in memory; after a restart it is rebuilt once from the bytes
+ * already on disk. Chunks for the same session are written one at a time.
+ * <p>
+ * A completed file is handed to {@link MediaStorageService}, where the session holds a
+ * reference until it expires. A client that sends the file's hash when opening the
+ * session gets it completed straight away if those bytes are already stored.
+ */
+@Service
+public class ChunkedUploadService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChunkedUploadService.class);
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final UploadSessionRepository uploadSessionRepository;
+    private final MediaStorageService mediaStorageService;
+    private final Path uploadDir;
+    private final String baseUrl;
+    private final long maxFileSize;
+    private final Duration sessionTtl;
+
+    private final Map<String, UploadState> states = new ConcurrentHashMap<>();
+
+    /** Digest of the bytes [0, hashedBytes) of an open session. */
+    private static final class UploadState {
+        private final ReentrantLock lock = new ReentrantLock();
+        private MessageDigest digest;
+        private long hashedBytes = -1;
+    }
+
+    public ChunkedUploadService(UploadSessionRepository uploadSessionRepository,
+            MediaStorageService mediaStorageService,
+            @Value("${upload.path:./uploads/}") String uploadPath,
+            @Value("${upload.base-url:http://localhost:8085/uploads/}") String baseUrl,
+            @Value("${upload.chunked.max-file-size:5GB}") DataSize maxFileSize,
+            @Value("${upload.chunked.session-ttl:PT24H}") Duration sessionTtl) {
+        this.uploadSessionRepository = uploadSessionRepository;
+        this.mediaStorageService = mediaStorageService;
+        this.uploadDir = Paths.get(uploadPath);
+        this.baseUrl = baseUrl;
+        this.maxFileSize = maxFileSize.toBytes();
+        this.sessionTtl = sessionTtl;
+    }
+
+    public UploadSessionResponse createSession(CreateUploadSessionRequest request) throws IOException {
+        if (request.getTotalSize() > maxFileSize) {
+            throw new InvalidRequestException("File exceeds the maximum upload size of " + maxFileSize + " bytes");
+        }
+
+        String id = UUID.randomUUID().toString();
+        if (request.getSha256() != null && !request.getSha256().isBlank()) {
+            Optional<MediaBlob> stored = mediaStorageService.retainIfStored(request.getSha256(),
+                    request.getTotalSize());
+            if (stored.isPresent()) {
+                return mapToResponse(uploadSessionRepository.save(UploadSession.builder()
+                        .id(id)
+                        .fileName(request.getFileName())
+                        .contentType(request.getContentType())
+                        .storedName(stored.get().getStoredName())
+                        .totalSize(request.getTotalSize())
+                        .receivedBytes(request.getTotalSize())
+                        .status(UploadStatus.COMPLETED)
+                        .sha256(stored.get().getSha256())
+                        .createdAt(LocalDateTime.now())
+                        .updatedAt(LocalDateTime.now())
+                        .build()));
+            }
+        }
+
+        Files.createDirectories(uploadDir);
+        String storedName = id + "_" + sanitize(request.getFileName());
+        Files.createFile(uploadDir.resolve(storedName));
+
+        UploadSession session = UploadSession.builder()
+                .id(id)
+                .fileName(request.getFileName())
+                .contentType(request.getContentType())
+                .storedName(storedName)
+                .totalSize(request.getTotalSize())
+                .receivedBytes(0L)
+                .status(UploadStatus.OPEN)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+        return mapToResponse(uploadSessionRepository.save(session));
+    }
+
+    public UploadSessionResponse getSession(String id) {
+        return mapToResponse(findSession(id));
+    }
+
+    /**
+     * Appends the body at {@code offset}, which must equal the bytes received so far.
+     */
+    public UploadSessionResponse writeChunk(String id, long offset, InputStream body) throws IOException {
+        UploadState state = states.computeIfAbsent(id, key -> new UploadState());
+        if (!state.lock.tryLock()) {
+            throw new UploadConflictException("Another chunk is being written to upload " + id);
+        }
+        try {
+            UploadSession session = findSession(id, state);
+            if (session.getStatus() != UploadStatus.OPEN) {
+                states.remove(id, state);
+                throw new UploadConflictException("Upload " + id + " is already completed");
+            }
+            if (offset != session.getReceivedBytes()) {
+                throw new UploadConflictException("Expected offset " + session.getReceivedBytes() + " but got " + offset);
+            }
+
+            Path file = uploadDir.resolve(session.getStoredName());
+            ensureDigest(state, file, session.getReceivedBytes());
+
+            long position = offset;
+            IOException readFailure = null;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+                byte[] bytes = buffer.array();
+                while (true) {
+                    int read;
+                    try {
+                        read = body.read(bytes);
+                    } catch (IOException e) {
+                        // Client went away: keep what was written so it can resume from there
+                        readFailure = e;
+                        break;
+                    }
+                    if (read == -1) {
+                        break;
+                    }
+                    if (position + read > session.getTotalSize()) {
+                        throw new InvalidRequestException("Chunk goes past the declared size of "
+                                + session.getTotalSize() + " bytes");
+                    }
+                    buffer.clear().limit(read);
+                    while (buffer.hasRemaining()) {
+                        position += channel.write(buffer, position);
+                    }
+                    state.digest.update(bytes, 0, read);
+                    state.hashedBytes = position;
+                }
+                channel.force(false);
+            } catch (IOException | RuntimeException e) {
+                // Disk write failed or chunk rejected: the digest may be ahead of the saved offset
+                state.hashedBytes = -1;
+                throw e;
+            }
+
+            if (position != offset) {
+                if (uploadSessionRepository.advance(id, offset, position, LocalDateTime.now()) == 0) {
+                    state.hashedBytes = -1;
+                    throw new UploadConflictException("Upload " + id + " was changed concurrently");
+                }
+                session.setReceivedBytes(position);
+            }
+            if (readFailure != null) {
+                throw readFailure;
+            }
+            return mapToResponse(session);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    /**
+     * Checks that every byte has arrived (and, if given, that the client's hash matches),
+     * then moves the file into the media store and marks the upload completed so it can be
+     * attached to a lesson.
+     */
+    public UploadSessionResponse complete(String id, String expectedSha256) throws IOException {
+        UploadState state = states.computeIfAbsent(id, key -> new UploadState());
+        state.lock.lock();
+        try {
+            UploadSession session = findSession(id, state);
+            if (session.getStatus() == UploadStatus.COMPLETED) {
+                states.remove(id, state);
+                return mapToResponse(session);
+            }
+            if (!session.getReceivedBytes().equals(session.getTotalSize())) {
+                throw new UploadConflictException("Upload " + id + " has " + session.getReceivedBytes()
+                        + " of " + session.getTotalSize() + " bytes");
+            }
+
+            ensureDigest(state, uploadDir.resolve(session.getStoredName()), session.getReceivedBytes());
+            String sha256 = HexFormat.of().formatHex(state.digest.digest());
+            state.hashedBytes = -1;
+            if (expectedSha256 != null && !expectedSha256.isBlank() && !expectedSha256.equalsIgnoreCase(sha256)) {
+                throw new InvalidRequestException("SHA-256 mismatch: the uploaded file hashes to " + sha256);
+            }
+
+            MediaBlob blob = mediaStorageService.adopt(uploadDir.resolve(session.getStoredName()), sha256,
+                    session.getFileName(), session.getContentType());
+            session.setStoredName(blob.getStoredName());
+            session.setSha256(sha256);
+            session.setStatus(UploadStatus.COMPLETED);
+            session.setUpdatedAt(LocalDateTime.now());
+            UploadSession saved = uploadSessionRepository.save(session);
+            states.remove(id);
+            return mapToResponse(saved);
+        } finally {
+            state.lock.unlock();
+        }
+    }
+
+    public void abort(String id) throws IOException {
+        UploadSession session = findSession(id);
+        if (session.getStatus() == UploadStatus.COMPLETED) {
+            throw new UploadConflictException("Upload " + id + " is already completed");
+        }
+        uploadSessionRepository.delete(session);
+        Files.deleteIfExists(uploadDir.resolve(session.getStoredName()));
+        states.remove(id);
+    }
+
+    /**
+     * Takes a new reference to a completed upload's stored file, for attaching it to a lesson.
+     */
+    public MediaBlob retainCompleted(String id) {
+        UploadSession session = findSession(id);
+        if (session.getStatus() != UploadStatus.COMPLETED) {
+            throw new UploadConflictException("Upload " + id + " is not completed");
+        }
+        return mediaStorageService.retain(session.getSha256());
+    }
+
+    /**
+     * Removes open sessions that stopped receiving chunks, and completed ones past the same
+     * TTL, releasing their reference to the stored file.
+     */
+    @Scheduled(fixedDelayString = "${upload.chunked.cleanup-interval:PT1H}")
+    public void removeAbandonedSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(sessionTtl);
+        for (UploadSession session : uploadSessionRepository.findByStatusAndUpdatedAtBefore(UploadStatus.OPEN,
+                cutoff)) {
+            try {
+                abort(session.getId());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not remove abandoned upload {}: {}", session.getId(), e.getMessage());
+            }
+        }
+        for (UploadSession session : uploadSessionRepository.findByStatusAndUpdatedAtBefore(UploadStatus.COMPLETED,
+                cutoff)) {
+            try {
+                uploadSessionRepository.delete(session);
+                mediaStorageService.release(session.getSha256());
+            } catch (IOException | RuntimeException e) {
+                log.warn("Could not remove expired upload {}: {}", session.getId(), e.getMessage());
+            }
+        }
+    }
+
+    private void ensureDigest(UploadState state, Path file, long receivedBytes) throws IOException {
+        if (state.hashedBytes == receivedBytes) {
+            return;
+        }
+        // First chunk, or state lost after a restart or a failed write: hash what is on disk
+        state.digest = newDigest();
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] bytes = new byte[BUFFER_SIZE];
+            long remaining = receivedBytes;
+            while (remaining > 0) {
+                int read = in.read(bytes, 0, (int) Math.min(bytes.length, remaining));
+                if (read == -1) {
+                    throw new IOException("Upload file is shorter than its recorded offset");
+                }
+                state.digest.update(bytes, 0, read);
+                remaining -= read;
+            }
+        }
+        state.hashedBytes = receivedBytes;
+    }
+
+    private UploadSession findSession(String id) {
+        return uploadSessionRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Upload session not found with id: " + id));
+    }
+
+    /**
+     * Like {@link #findSession(String)}, but drops the in-memory state created for an id that
+     * has no session, so unknown or deleted ids do not leave entries behind.
+     */
+    private UploadSession findSession(String id, UploadState state) {
+        try {
+            return findSession(id);
+        } catch (ResourceNotFoundException e) {
+            states.remove(id, state);
+            throw e;
+        }
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    // Keeps the name readable while making sure it cannot point outside the upload directory
+    private static String sanitize(String fileName) {
+        String name = fileName.substring(Math.max(fileName.lastIndexOf('/'), fileName.lastIndexOf('\\')) + 1);
+        name = name.replaceAll("[^A-Za-z0-9._-]", "_");
+        return name.isEmpty() || name.chars().allMatch(c -> c == '.') ? "file" : name;
+    }
+
+    private UploadSessionResponse mapToResponse(UploadSession session) {
+        boolean completed = session.getStatus() == UploadStatus.COMPLETED;
+        return UploadSessionResponse.builder()
+                .id(session.getId())
+                .fileName(session.getFileName())
+                .contentType(session.getContentType())
+                .totalSize(session.getTotalSize())
+                .receivedBytes(session.getReceivedBytes())
+                .status(session.getStatus())
+                .url(completed ? baseUrl + session.getStoredName() : null)
+                .sha256(session.getSha256())
+                .build();
+    }
+}
@@ -0,0 +1,96 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.exceptions.InvalidRequestException;
+import e_learning.catalog_service.repositories.CourseSortKey;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Continuation token for scrolled course listings.
+ * <p>
+ * A keyset cursor holds the sort key, direction and the (value, id) of the last row
+ * returned; a relevance cursor holds a position in the ranked keyword results. Tokens are
+ * base64url so callers treat them as opaque, and a token is rejected when it was issued
+ * for a different ordering.
+ */
+final class CourseCursor {
+
+    private static final String VERSION = "v1";
+    private static final String RELEVANCE = "RELEVANCE";
+    private static final String NULL_VALUE = "~";
+    private static final String VALUE_PREFIX = "=";
+
+    private final CourseSortKey sortKey;
+    private final boolean ascending;
+    private final Object value;
+    private final Long id;
+    private final int offset;
+
+    private CourseCursor(CourseSortKey sortKey, boolean ascending, Object value, Long id, int offset) {
+        this.sortKey = sortKey;
+        this.ascending = ascending;
+        this.value = value;
+        this.id = id;
+        this.offset = offset;
+    }
+
+    static CourseCursor keyset(CourseSortKey sortKey, boolean ascending, Object value, Long id) {
+        return new CourseCursor(sortKey, ascending, value, id, 0);
+    }
+
+    static CourseCursor relevance(int offset) {
+        return new CourseCursor(null, false, null, null, offset);
+    }
+
+    Object getValue() {
+        return value;
+    }
+
+    Long getId() {
+        return id;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    boolean isRelevance() {
+        return sortKey == null;
+    }
+
+    boolean matches(CourseSortKey sortKey, boolean ascending) {
+        return this.sortKey == sortKey && this.ascending == ascending;
+    }
+
+    String encode() {
+        String raw = isRelevance()
+                ? String.join("|", VERSION, RELEVANCE, String.valueOf(offset))
+                : String.join("|", VERSION, sortKey.name(), ascending ? "A" : "D", String.valueOf(id),
+                        value == null ? NULL_VALUE : VALUE_PREFIX + value);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static CourseCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            // The value goes last and may itself contain '|'
+            String[] parts = raw.split("\\|", 5);
+            if (!VERSION.equals(parts[0])) {
+                throw new InvalidRequestException("Invalid cursor");
+            }
+            if (RELEVANCE.equals(parts[1]) && parts.length == 3) {
+                return relevance(Integer.parseInt(parts[2]));
+            }
+            CourseSortKey sortKey = CourseSortKey.valueOf(parts[1]);
+            boolean ascending = "A".equals(parts[2]);
+            Long id = Long.valueOf(parts[3]);
+            Object value = parts[4].equals(NULL_VALUE) ? null : sortKey.parse(parts[4].substring(VALUE_PREFIX.length()));
+            return keyset(sortKey, ascending, value, id);
+        } catch (InvalidRequestException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("Invalid cursor");
+        }
+    }
+}
@@ -5,29 +5,57 @@ import e_learning.catalog_service.entities.Course;
 import e_learning.catalog_service.entities.Category;
 import e_learning.catalog_service.entities.Module;
 import e_learning.catalog_service.entities.Lesson;
-import e_learning.catalog_service.entities.Quiz;
 import e_learning.catalog_service.entities.CourseLevel;
 import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.events.CourseChangedEvent;
+import e_learning.catalog_service.events.QuizChangedEvent;
 import e_learning.catalog_service.exceptions.*;
 import e_learning.catalog_service.repositories.*;
+import e_learning.catalog_service.search.CourseSearchIndexer;
+import e_learning.catalog_service.search.SuggestionTrie;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 public class CourseService {
 
+    private static final int MAX_SCROLL_SIZE = 100;
+
     private final CourseRepository courseRepository;
     private final CategoryRepository categoryRepository;
-
-    public CourseService(CourseRepository courseRepository, CategoryRepository categoryRepository) {
+    private final ModuleRepository moduleRepository;
+    private final LessonRepository lessonRepository;
+    private final QuizRepository quizRepository;
+    private final CourseSearchIndexer searchIndexer;
+    private final ImageRenditionService imageRenditionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CourseService(CourseRepository courseRepository, CategoryRepository categoryRepository,
+            ModuleRepository moduleRepository, LessonRepository lessonRepository, QuizRepository quizRepository,
+            CourseSearchIndexer searchIndexer, ImageRenditionService imageRenditionService,
+            ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
         this.categoryRepository = categoryRepository;
+        this.moduleRepository = moduleRepository;
+        this.lessonRepository = lessonRepository;
+        this.quizRepository = quizRepository;
+        this.searchIndexer = searchIndexer;
+        this.imageRenditionService = imageRenditionService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
@@ -39,6 +67,7 @@ public class CourseService {
                 .status(CourseStatus.DRAFT)
                 .professorId(request.getProfessorId())
                 .thumbnailUrl(request.getThumbnailUrl())
+                .thumbnailWidths(imageRenditionService.widthsFor(request.getThumbnailUrl()))
                 .price(request.getPrice())
                 .durationHours(request.getDurationHours())
                 .averageRating(0.0)
@@ -54,6 +83,7 @@ public class CourseService {
         }
 
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
         return mapToResponse(course);
     }
 
@@ -70,8 +100,10 @@ public class CourseService {
             course.setLevel(request.getLevel());
         if (request.getStatus() != null)
             course.setStatus(request.getStatus());
-        if (request.getThumbnailUrl() != null)
+        if (request.getThumbnailUrl() != null) {
             course.setThumbnailUrl(request.getThumbnailUrl());
+            course.setThumbnailWidths(imageRenditionService.widthsFor(request.getThumbnailUrl()));
+        }
         if (request.getPrice() != null)
             course.setPrice(request.getPrice());
         if (request.getDurationHours() != null)
@@ -85,6 +117,7 @@ public class CourseService {
 
         course.setUpdatedAt(LocalDateTime.now());
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
         return mapToResponse(course);
     }
 
@@ -93,9 +126,13 @@ public class CourseService {
         if (!courseRepository.existsById(id)) {
             throw new ResourceNotFoundException("Course", id);
         }
+        List<Long> quizIds = quizRepository.findIdsByCourseId(id);
         courseRepository.deleteById(id);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
+        quizIds.forEach(quizId -> eventPublisher.publishEvent(new QuizChangedEvent(quizId)));
     }
 
+    @Transactional(readOnly = true)
     public CourseResponse getCourseById(Long id) {
         Course course = courseRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Course", id));
@@ -103,27 +140,128 @@ public class CourseService {
     }
 
     public Page<CourseSummaryResponse> getAllCourses(Pageable pageable) {
-        return courseRepository.findAll(pageable).map(this::mapToSummary);
+        return courseRepository.findAllSummaries(pageable).map(this::mapToSummary);
     }
 
     public Page<CourseSummaryResponse> getPublishedCourses(Pageable pageable) {
-        return courseRepository.findAllPublished(pageable).map(this::mapToSummary);
+        return courseRepository.findPublishedSummaries(pageable).map(this::mapToSummary);
     }
 
+    /**
+     * Keyword searches are answered from the in-memory index and ranked by relevance;
+     * filter-only searches, and any search made before the index is built, go to the database.
+     */
     public Page<CourseSummaryResponse> searchCourses(String keyword, Long categoryId,
             CourseLevel level, CourseStatus status, Pageable pageable) {
-        return courseRepository.searchCourses(keyword, categoryId, level, status, pageable)
-                .map(this::mapToSummary);
+        if (keyword == null || keyword.isBlank() || !searchIndexer.isReady()) {
+            return courseRepository.searchSummaries(keyword, categoryId, level, status, pageable)
+                    .map(this::mapToSummary);
+        }
+
+        List<Long> ranked = searchIndexer.search(keyword, categoryId, level, status);
+        int from = (int) Math.min(pageable.getOffset(), ranked.size());
+        int to = Math.min(from + pageable.getPageSize(), ranked.size());
+        List<Long> pageIds = ranked.subList(from, to);
+        return new PageImpl<>(loadSummariesInOrder(pageIds), pageable, ranked.size());
+    }
+
+    /**
+     * Cursor-based listing: no OFFSET and, unless {@code includeTotal} is set, no COUNT.
+     * Keyword searches served by the search index page through the ranked results;
+     * everything else seeks on (sort key, id).
+     */
+    public CursorPage<CourseSummaryResponse> scrollCourses(CourseFilter filter, String sortBy, String sortDir,
+            String cursor, int size, boolean includeTotal) {
+        int limit = Math.max(1, Math.min(size, MAX_SCROLL_SIZE));
+        CourseCursor after = cursor != null && !cursor.isBlank() ? CourseCursor.decode(cursor) : null;
+
+        if (filter.getKeyword() != null && !filter.getKeyword().isBlank() && searchIndexer.isReady()) {
+            if (after != null && !after.isRelevance()) {
+                throw new InvalidRequestException("Cursor does not belong to this search");
+            }
+            List<Long> ranked = searchIndexer.search(filter.getKeyword(), filter.getCategoryId(),
+                    filter.getLevel(), filter.getStatus());
+            int from = Math.min(after != null ? after.getOffset() : 0, ranked.size());
+            int to = Math.min(from + limit, ranked.size());
+            boolean hasNext = to < ranked.size();
+            return CursorPage.<CourseSummaryResponse>builder()
+                    .content(loadSummariesInOrder(ranked.subList(from, to)))
+                    .hasNext(hasNext)
+                    .nextCursor(hasNext ? CourseCursor.relevance(to).encode() : null)
+                    .totalElements(includeTotal ? (long) ranked.size() : null)
+                    .build();
+        }
+
+        CourseSortKey sortKey = CourseSortKey.fromProperty(sortBy);
+        boolean ascending = sortDir.equalsIgnoreCase("asc");
+        if (after != null && (after.isRelevance() || !after.matches(sortKey, ascending))) {
+            throw new InvalidRequestException("Cursor was issued for a different sort order");
+        }
+
+        // One extra row tells whether there is a next page without counting
+        List<Object[]> rows = courseRepository.findKeysetPage(filter, sortKey, ascending,
+                after != null ? after.getValue() : null, after != null ? after.getId() : null, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        if (hasNext) {
+            rows = rows.subList(0, limit);
+        }
+        String nextCursor = null;
+        if (hasNext) {
+            Object[] last = rows.get(rows.size() - 1);
+            nextCursor = CourseCursor.keyset(sortKey, ascending, last[1], (Long) last[0]).encode();
+        }
+
+        return CursorPage.<CourseSummaryResponse>builder()
+                .content(loadSummariesInOrder(rows.stream().map(row -> (Long) row[0]).toList()))
+                .hasNext(hasNext)
+                .nextCursor(nextCursor)
+                .totalElements(includeTotal ? courseRepository.countMatching(filter) : null)
+                .build();
+    }
+
+    private List<CourseSummaryResponse> loadSummariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CourseSummaryView> summaries = courseRepository.findSummariesByIds(ids).stream()
+                .collect(Collectors.toMap(CourseSummaryView::getId, Function.identity()));
+        return ids.stream()
+                .map(summaries::get)
+                .filter(Objects::nonNull)
+                .map(this::mapToSummary)
+                .collect(Collectors.toList());
+    }
+
+    public List<SuggestionResponse> suggest(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank()) {
+            return List.of();
+        }
+        return searchIndexer.suggest(prefix, Math.min(limit, SuggestionTrie.MAX_SUGGESTIONS)).stream()
+                .map(suggestion -> SuggestionResponse.builder()
+                        .text(suggestion.getText())
+                        .type(suggestion.getType().name())
+                        .id(suggestion.getId())
+                        .build())
+                .collect(Collectors.toList());
     }
 
     public List<CourseSummaryResponse> getCoursesByProfessor(Long professorId) {
-        return courseRepository.findByProfessorId(professorId).stream()
+        return courseRepository.findSummariesByProfessorId(professorId).stream()
+                .map(this::mapToSummary)
+                .collect(Collectors.toList());
+    }
+
+    public List<CourseSummaryResponse> getCoursesByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return courseRepository.findSummariesByIds(ids).stream()
                 .map(this::mapToSummary)
                 .collect(Collectors.toList());
     }
 
     public Page<CourseSummaryResponse> getCoursesByCategory(Long categoryId, Pageable pageable) {
-        return courseRepository.findByCategoryId(categoryId, pageable).map(this::mapToSummary);
+        return courseRepository.findSummariesByCategoryId(categoryId, pageable).map(this::mapToSummary);
     }
 
     @Transactional
@@ -133,6 +271,7 @@ public class CourseService {
         course.setStatus(CourseStatus.PUBLISHED);
         course.setUpdatedAt(LocalDateTime.now());
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
         return mapToResponse(course);
     }
 
@@ -143,6 +282,7 @@ public class CourseService {
         course.setStatus(CourseStatus.ARCHIVED);
         course.setUpdatedAt(LocalDateTime.now());
         course = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(course.getId()));
         return mapToResponse(course);
     }
 
@@ -158,6 +298,8 @@ public class CourseService {
                 .price(course.getPrice())
                 .durationHours(course.getDurationHours())
                 .averageRating(course.getAverageRating())
+                .ratingCount(course.getRatingCount() != null ? course.getRatingCount() : 0)
+                .ratingHistogram(ratingHistogram(course))
                 .totalEnrollments(course.getTotalEnrollments())
                 .createdAt(course.getCreatedAt())
                 .updatedAt(course.getUpdatedAt())
@@ -172,16 +314,35 @@ public class CourseService {
                     .build());
         }
 
-        if (course.getModules() != null) {
-            response.setModules(course.getModules().stream()
-                    .map(this::mapModuleToResponse)
-                    .collect(Collectors.toList()));
-        }
+        // Fixed number of statements however large the course is: modules with lessons,
+        // then quiz summaries with their question counts
+        Map<Long, List<QuizSummaryResponse>> quizzesByModule = quizRepository.findSummariesByCourseId(course.getId())
+                .stream()
+                .collect(Collectors.groupingBy(QuizSummaryView::getModuleId,
+                        Collectors.mapping(this::mapQuizToSummary, Collectors.toList())));
+        response.setModules(moduleRepository.findWithLessonsByCourseId(course.getId()).stream()
+                .map(module -> mapModuleToResponse(module,
+                        quizzesByModule.getOrDefault(module.getId(), new ArrayList<>())))
+                .collect(Collectors.toList()));
 
         return response;
     }
 
-    private CourseSummaryResponse mapToSummary(Course course) {
+    private static Map<Integer, Integer> ratingHistogram(Course course) {
+        Map<Integer, Integer> histogram = new LinkedHashMap<>();
+        histogram.put(1, orZero(course.getOneStarCount()));
+        histogram.put(2, orZero(course.getTwoStarCount()));
+        histogram.put(3, orZero(course.getThreeStarCount()));
+        histogram.put(4, orZero(course.getFourStarCount()));
+        histogram.put(5, orZero(course.getFiveStarCount()));
+        return histogram;
+    }
+
+    private static int orZero(Integer count) {
+        return count != null ? count : 0;
+    }
+
+    private CourseSummaryResponse mapToSummary(CourseSummaryView course) {
         return CourseSummaryResponse.builder()
                 .id(course.getId())
                 .title(course.getTitle())
@@ -190,16 +351,17 @@ public class CourseService {
                 .status(course.getStatus())
                 .professorId(course.getProfessorId())
                 .thumbnailUrl(course.getThumbnailUrl())
+                .thumbnailSrcset(ImageRenditionService.srcset(course.getThumbnailUrl(), course.getThumbnailWidths()))
                 .price(course.getPrice())
                 .durationHours(course.getDurationHours())
                 .averageRating(course.getAverageRating())
                 .totalEnrollments(course.getTotalEnrollments())
-                .categoryName(course.getCategory() != null ? course.getCategory().getName() : null)
-                .moduleCount(course.getModules() != null ? course.getModules().size() : 0)
+                .categoryName(course.getCategoryName())
+                .moduleCount(course.getModuleCount())
                 .build();
     }
 
-    private ModuleResponse mapModuleToResponse(Module module) {
+    private ModuleResponse mapModuleToResponse(Module module, List<QuizSummaryResponse> quizzes) {
         return ModuleResponse.builder()
                 .id(module.getId())
                 .title(module.getTitle())
@@ -208,9 +370,7 @@ public class CourseService {
                 .lessons(module.getLessons() != null
                         ? module.getLessons().stream().map(this::mapLessonToResponse).collect(Collectors.toList())
                         : null)
-                .quizzes(module.getQuizzes() != null
-                        ? module.getQuizzes().stream().map(this::mapQuizToSummary).collect(Collectors.toList())
-                        : null)
+                .quizzes(quizzes)
                 .build();
     }
 
@@ -226,27 +386,35 @@ public class CourseService {
                 .build();
     }
 
-    private QuizSummaryResponse mapQuizToSummary(Quiz quiz) {
+    private QuizSummaryResponse mapQuizToSummary(QuizSummaryView quiz) {
         return QuizSummaryResponse.builder()
                 .id(quiz.getId())
                 .title(quiz.getTitle())
                 .description(quiz.getDescription())
                 .passingScore(quiz.getPassingScore())
                 .timeLimitMinutes(quiz.getTimeLimitMinutes())
-                .questionCount(quiz.getQuestions() != null ? quiz.getQuestions().size() : 0)
+                .questionCount(quiz.getQuestionCount().intValue())
                 .build();
     }
 
     public int getTotalLessonCount(Long courseId) {
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course", courseId));
-
-        if (course.getModules() == null) {
-            return 0;
+        if (!courseRepository.existsById(courseId)) {
+            throw new ResourceNotFoundException("Course", courseId);
         }
+        return (int) lessonRepository.countByCourseId(courseId);
+    }
 
-        return course.getModules().stream()
-                .mapToInt(module -> module.getLessons() != null ? module.getLessons().size() : 0)
-                .sum();
+    public Map<Long, Integer> getLessonCounts(Collection<Long> courseIds) {
+        Map<Long, Integer> counts = new LinkedHashMap<>();
+        if (courseIds == null || courseIds.isEmpty()) {
+            return counts;
+        }
+        for (Long courseId : courseIds) {
+            counts.put(courseId, 0);
+        }
+        for (CourseLessonCount count : lessonRepository.countByCourseIds(courseIds)) {
+            counts.put(count.getCourseId(), count.getLessonCount().intValue());
+        }
+        return counts;
     }
 }
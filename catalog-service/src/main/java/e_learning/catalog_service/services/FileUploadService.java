@@ -1,5 +1,6 @@
 package e_learning.catalog_service.services;
 
+import e_learning.catalog_service.entities.MediaBlob;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -8,18 +9,26 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.UUID;
+import java.util.Optional;
 
 @Service
 public class FileUploadService {
 
+    private final MediaStorageService mediaStorageService;
+    private final ImageRenditionService imageRenditionService;
+
     @Value("${upload.path:./uploads/}")
     private String uploadPath;
 
     @Value("${upload.base-url:http://localhost:8085/uploads/}")
     private String baseUrl;
 
+    public FileUploadService(MediaStorageService mediaStorageService,
+            ImageRenditionService imageRenditionService) {
+        this.mediaStorageService = mediaStorageService;
+        this.imageRenditionService = imageRenditionService;
+    }
+
     public String uploadThumbnail(MultipartFile file) throws IOException {
         if (file.isEmpty()) {
             throw new IllegalArgumentException("File is empty");
@@ -31,33 +40,30 @@ public class FileUploadService {
             throw new IllegalArgumentException("Only image files are allowed");
         }
 
-        // Create thumbnails directory if it doesn't exist
-        Path thumbnailDir = Paths.get(uploadPath, "thumbnails");
-        if (!Files.exists(thumbnailDir)) {
-            Files.createDirectories(thumbnailDir);
-        }
-
-        // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String extension = "";
-        if (originalFilename != null && originalFilename.contains(".")) {
-            extension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        }
-        String newFilename = UUID.randomUUID().toString() + extension;
-
-        // Save file
-        Path targetPath = thumbnailDir.resolve(newFilename);
-        Files.copy(file.getInputStream(), targetPath, StandardCopyOption.REPLACE_EXISTING);
+        // Stored by content, so the same image uploaded twice is kept once
+        MediaBlob blob = mediaStorageService.store(file.getInputStream(), file.getOriginalFilename(), contentType);
+        // Resized copies are made in the background; the original URL works right away
+        imageRenditionService.submit(blob);
 
         // Return accessible URL
-        return baseUrl + "thumbnails/" + newFilename;
+        return mediaStorageService.urlOf(blob);
     }
 
+    /**
+     * Drops this URL's reference to a stored file, which is only deleted once nothing else
+     * uses it. Files from before the media store are deleted directly.
+     */
     public void deleteFile(String fileUrl) throws IOException {
         if (fileUrl == null || !fileUrl.startsWith(baseUrl)) {
             return;
         }
 
+        Optional<String> sha256 = mediaStorageService.sha256FromUrl(fileUrl);
+        if (sha256.isPresent()) {
+            mediaStorageService.release(sha256.get());
+            return;
+        }
+
         String relativePath = fileUrl.substring(baseUrl.length());
         Path filePath = Paths.get(uploadPath, relativePath);
 
@@ -0,0 +1,274 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.entities.MediaBlob;
+import e_learning.catalog_service.repositories.CourseRepository;
+import e_learning.catalog_service.repositories.MediaBlobRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Makes fixed-width JPEG copies of uploaded images (course thumbnails) in the background,
+ * so course grids can pick a small one through {@code srcset} instead of downloading the
+ * original.
+ * <p>
+ * Work runs on a small dedicated pool with a bounded queue: uploads only enqueue and return,
+ * and a burst of uploads cannot take threads from request handling. Anything that did not
+ * make it through the queue (full, or lost on restart) is picked up by a periodic sweep of
+ * images that have no renditions yet.
+ * <p>
+ * Renditions sit next to the original as {@code <sha256>-w<width>.jpg}, so they are served
+ * by the same immutable media path and deleted with the blob.
+ */
+@Service
+public class ImageRenditionService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImageRenditionService.class);
+
+    private final MediaBlobRepository mediaBlobRepository;
+    private final CourseRepository courseRepository;
+    private final MediaStorageService mediaStorageService;
+    private final Path uploadDir;
+    private final int[] widths;
+    private final long maxPixels;
+    private final float quality;
+    private final ThreadPoolExecutor executor;
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    public ImageRenditionService(MediaBlobRepository mediaBlobRepository, CourseRepository courseRepository,
+            MediaStorageService mediaStorageService,
+            @Value("${upload.path:./uploads/}") String uploadPath,
+            @Value("${media.renditions.widths:160,320,640}") int[] widths,
+            @Value("${media.renditions.threads:2}") int threads,
+            @Value("${media.renditions.queue-capacity:200}") int queueCapacity,
+            @Value("${media.renditions.max-pixels:40000000}") long maxPixels,
+            @Value("${media.renditions.jpeg-quality:0.82}") float quality) {
+        this.mediaBlobRepository = mediaBlobRepository;
+        this.courseRepository = courseRepository;
+        this.mediaStorageService = mediaStorageService;
+        this.uploadDir = Paths.get(uploadPath);
+        this.widths = Arrays.stream(widths).sorted().distinct().toArray();
+        this.maxPixels = maxPixels;
+        this.quality = quality;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+                    Thread thread = new Thread(runnable, "image-renditions-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues renditions for an image blob that has none yet. Never blocks the caller.
+     */
+    public void submit(MediaBlob blob) {
+        if (blob.getRenditionWidths() != null || !isImage(blob) || !pending.add(blob.getSha256())) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    render(blob);
+                } finally {
+                    pending.remove(blob.getSha256());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pending.remove(blob.getSha256());
+            log.warn("Rendition queue is full; image {} will be processed by the next sweep", blob.getSha256());
+        }
+    }
+
+    @Scheduled(initialDelayString = "${media.renditions.sweep-interval:PT10M}",
+            fixedDelayString = "${media.renditions.sweep-interval:PT10M}")
+    public void submitUnprocessed() {
+        mediaBlobRepository.findTop100ByContentTypeStartingWithAndRenditionWidthsIsNull("image/")
+                .forEach(this::submit);
+    }
+
+    /**
+     * Rendition widths recorded for a stored image URL, or null if it has none (yet).
+     */
+    public String widthsFor(String url) {
+        return mediaStorageService.sha256FromUrl(url)
+                .flatMap(mediaBlobRepository::findById)
+                .map(MediaBlob::getRenditionWidths)
+                .filter(found -> !found.isEmpty())
+                .orElse(null);
+    }
+
+    /**
+     * {@code srcset} value for an image URL and its rendition widths, or null if there are none.
+     */
+    public static String srcset(String url, String widths) {
+        if (url == null || widths == null || widths.isEmpty()) {
+            return null;
+        }
+        return Arrays.stream(widths.split(","))
+                .map(width -> renditionName(url, Integer.parseInt(width)) + " " + width + "w")
+                .collect(Collectors.joining(", "));
+    }
+
+    // x/y/<sha256>.png -> x/y/<sha256>-w160.jpg; works on stored names and URLs alike
+    static String renditionName(String name, int width) {
+        int slash = name.lastIndexOf('/');
+        int dot = name.lastIndexOf('.');
+        String base = dot > slash ? name.substring(0, dot) : name;
+        return base + "-w" + width + ".jpg";
+    }
+
+    void render(MediaBlob blob) {
+        List<Path> written = new ArrayList<>();
+        List<String> made = new ArrayList<>();
+        try {
+            BufferedImage image = read(uploadDir.resolve(blob.getStoredName()));
+            if (image != null) {
+                for (int width : widths) {
+                    if (width >= image.getWidth()) {
+                        break;
+                    }
+                    Path target = uploadDir.resolve(renditionName(blob.getStoredName(), width));
+                    writeJpeg(scale(image, width), target);
+                    written.add(target);
+                    made.add(Integer.toString(width));
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not make renditions of image {}: {}", blob.getSha256(), e.getMessage());
+        }
+
+        String madeWidths = String.join(",", made);
+        try {
+            if (mediaBlobRepository.setRenditionWidths(blob.getSha256(), madeWidths) == 0) {
+                // The blob was released meanwhile
+                for (Path file : written) {
+                    Files.deleteIfExists(file);
+                }
+                return;
+            }
+            if (!made.isEmpty()) {
+                courseRepository.updateThumbnailWidths(mediaStorageService.urlOf(blob), madeWidths);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not record renditions of image {}: {}", blob.getSha256(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static boolean isImage(MediaBlob blob) {
+        return blob.getContentType() != null && blob.getContentType().startsWith("image/");
+    }
+
+    // Checks the dimensions from the header first, so a tiny file cannot decode into gigabytes
+    private BufferedImage read(Path file) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(file.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    log.warn("Skipping renditions of {}: {}x{} is over the pixel limit", file.getFileName(),
+                            reader.getWidth(0), reader.getHeight(0));
+                    return null;
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Halves in steps before the last resize, since one bilinear pass from a much larger
+    // image skips most source pixels and looks aliased
+    static BufferedImage scale(BufferedImage source, int width) {
+        int height = Math.max(1, (int) Math.round((double) source.getHeight() * width / source.getWidth()));
+        BufferedImage current = source;
+        int currentWidth = source.getWidth();
+        int currentHeight = source.getHeight();
+        do {
+            currentWidth = Math.max(width, currentWidth / 2);
+            currentHeight = Math.max(height, currentHeight / 2);
+            BufferedImage next = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION,
+                        RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                // JPEG has no alpha channel: flatten transparency onto white
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, currentWidth, currentHeight);
+                graphics.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (currentWidth != width || currentHeight != height);
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Path incomingDir = uploadDir.resolve(MediaStorageService.INCOMING_DIR);
+        Files.createDirectories(incomingDir);
+        Path scratch = Files.createTempFile(incomingDir, "rendition-", ".part");
+        try {
+            ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+            try (ImageOutputStream out = ImageIO.createImageOutputStream(scratch.toFile())) {
+                ImageWriteParam param = writer.getDefaultWriteParam();
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                param.setCompressionQuality(quality);
+                writer.setOutput(out);
+                writer.write(null, new IIOImage(image, null, null), param);
+            } finally {
+                writer.dispose();
+            }
+            Files.move(scratch, target, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(scratch);
+        }
+    }
+}
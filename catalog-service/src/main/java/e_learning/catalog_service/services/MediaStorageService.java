@@ -0,0 +1,240 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.entities.MediaBlob;
+import e_learning.catalog_service.events.MediaReleasedEvent;
+import e_learning.catalog_service.exceptions.ResourceNotFoundException;
+import e_learning.catalog_service.repositories.MediaBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store for uploaded media.
+ * <p>
+ * Each file is kept once, at {@code blobs/ab/cd/<sha256>.<ext>} under the upload
+ * directory, so no directory grows past a few hundred entries however many files there
+ * are. Uploading bytes that are already stored only adds a reference: the incoming copy
+ * is dropped instead of being written to the store again. References are taken by
+ * lessons, thumbnails and completed upload sessions, and the file is deleted when the
+ * last one is released.
+ * <p>
+ * Reference changes for the same hash are serialized within this instance (the upload
+ * directory is local to it), and the counts themselves are updated in SQL so they are
+ * never lost.
+ */
+@Service
+public class MediaStorageService {
+
+    private static final Logger log = LoggerFactory.getLogger(MediaStorageService.class);
+
+    static final String BLOB_DIR = "blobs";
+
+    // Hidden from MediaController, which refuses paths with a dot-segment
+    static final String INCOMING_DIR = ".incoming";
+
+    private static final int LOCK_STRIPES = 64;
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+    private static final Pattern EXTENSION = Pattern.compile("[A-Za-z0-9]{1,10}");
+
+    private final MediaBlobRepository mediaBlobRepository;
+    private final Path uploadDir;
+    private final String baseUrl;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public MediaStorageService(MediaBlobRepository mediaBlobRepository,
+            @Value("${upload.path:./uploads/}") String uploadPath,
+            @Value("${upload.base-url:http://localhost:8085/uploads/}") String baseUrl) {
+        this.mediaBlobRepository = mediaBlobRepository;
+        this.uploadDir = Paths.get(uploadPath);
+        this.baseUrl = baseUrl;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    /**
+     * Hashes the stream while spooling it to a scratch file, then stores it (or takes a
+     * reference to the copy already stored). The caller owns one reference.
+     */
+    public MediaBlob store(InputStream content, String fileName, String contentType) throws IOException {
+        Path incomingDir = uploadDir.resolve(INCOMING_DIR);
+        Files.createDirectories(incomingDir);
+        Path scratch = Files.createTempFile(incomingDir, "upload-", ".part");
+        try {
+            MessageDigest digest = newDigest();
+            try (InputStream hashing = new DigestInputStream(content, digest)) {
+                Files.copy(hashing, scratch, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return adopt(scratch, HexFormat.of().formatHex(digest.digest()), fileName, contentType);
+        } finally {
+            Files.deleteIfExists(scratch);
+        }
+    }
+
+    /**
+     * Takes over a file whose SHA-256 is already known. It is moved into the store, or
+     * deleted if the same content is stored already. The caller owns one reference.
+     */
+    public MediaBlob adopt(Path file, String sha256, String fileName, String contentType) throws IOException {
+        synchronized (lockFor(sha256)) {
+            if (mediaBlobRepository.retain(sha256) > 0) {
+                Files.deleteIfExists(file);
+                return findBlob(sha256);
+            }
+
+            String storedName = storedName(sha256, fileName);
+            Path target = uploadDir.resolve(storedName);
+            Files.createDirectories(target.getParent());
+            long size = Files.size(file);
+            Files.move(file, target, StandardCopyOption.ATOMIC_MOVE);
+
+            MediaBlob blob = MediaBlob.builder()
+                    .sha256(sha256)
+                    .size(size)
+                    .contentType(contentType)
+                    .storedName(storedName)
+                    .refCount(1)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            return mediaBlobRepository.save(blob);
+        }
+    }
+
+    /**
+     * Adds a reference to a stored blob.
+     */
+    public MediaBlob retain(String sha256) {
+        synchronized (lockFor(sha256)) {
+            if (mediaBlobRepository.retain(sha256) == 0) {
+                throw new ResourceNotFoundException("Media not found with hash: " + sha256);
+            }
+            return findBlob(sha256);
+        }
+    }
+
+    /**
+     * Adds a reference if these bytes are stored already, so a client that knows the hash
+     * of its file can skip sending it.
+     */
+    public Optional<MediaBlob> retainIfStored(String sha256, long size) {
+        String hash = sha256.toLowerCase(Locale.ROOT);
+        synchronized (lockFor(hash)) {
+            Optional<MediaBlob> blob = mediaBlobRepository.findById(hash)
+                    .filter(found -> found.getSize() == size);
+            if (blob.isEmpty() || mediaBlobRepository.retain(hash) == 0) {
+                return Optional.empty();
+            }
+            return blob;
+        }
+    }
+
+    /**
+     * Drops a reference, deleting the blob and its file when it was the last one.
+     */
+    public void release(String sha256) throws IOException {
+        synchronized (lockFor(sha256)) {
+            Optional<MediaBlob> blob = mediaBlobRepository.findById(sha256);
+            if (blob.isEmpty() || mediaBlobRepository.release(sha256) == 0) {
+                log.warn("Released media {} which has no references", sha256);
+                return;
+            }
+            if (mediaBlobRepository.deleteIfUnreferenced(sha256) == 1) {
+                Path file = uploadDir.resolve(blob.get().getStoredName());
+                Files.deleteIfExists(file);
+                deleteRenditions(file.getParent(), sha256);
+            }
+        }
+    }
+
+    @Async
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMediaReleased(MediaReleasedEvent event) {
+        try {
+            release(event.getSha256());
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not release media {}: {}", event.getSha256(), e.getMessage());
+        }
+    }
+
+    public String urlOf(MediaBlob blob) {
+        return baseUrl + blob.getStoredName();
+    }
+
+    /**
+     * The hash of a URL returned by {@link #urlOf}, or empty for any other URL.
+     */
+    public Optional<String> sha256FromUrl(String url) {
+        if (url == null || !url.startsWith(baseUrl + BLOB_DIR + "/")) {
+            return Optional.empty();
+        }
+        String name = url.substring(url.lastIndexOf('/') + 1);
+        int dot = name.indexOf('.');
+        String hash = dot >= 0 ? name.substring(0, dot) : name;
+        return SHA256.matcher(hash).matches() ? Optional.of(hash) : Optional.empty();
+    }
+
+    private MediaBlob findBlob(String sha256) {
+        return mediaBlobRepository.findById(sha256)
+                .orElseThrow(() -> new ResourceNotFoundException("Media not found with hash: " + sha256));
+    }
+
+    private Object lockFor(String sha256) {
+        return locks[Math.floorMod(sha256.hashCode(), LOCK_STRIPES)];
+    }
+
+    // Resized copies (<sha256>-w<width>.jpg) live in the same shard directory
+    private static void deleteRenditions(Path shardDir, String sha256) throws IOException {
+        if (!Files.isDirectory(shardDir)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(shardDir)) {
+            for (Path rendition : (Iterable<Path>) files
+                    .filter(path -> path.getFileName().toString().startsWith(sha256 + "-w"))::iterator) {
+                Files.deleteIfExists(rendition);
+            }
+        }
+    }
+
+    // blobs/ab/cd/<sha256>.<ext>: two levels of 256 directories
+    private static String storedName(String sha256, String fileName) {
+        String name = BLOB_DIR + "/" + sha256.substring(0, 2) + "/" + sha256.substring(2, 4) + "/" + sha256;
+        String extension = extension(fileName);
+        return extension.isEmpty() ? name : name + "." + extension;
+    }
+
+    // Kept so the media endpoint can still tell the content type from the name
+    private static String extension(String fileName) {
+        if (fileName == null || fileName.lastIndexOf('.') < 0) {
+            return "";
+        }
+        String extension = fileName.substring(fileName.lastIndexOf('.') + 1);
+        return EXTENSION.matcher(extension).matches() ? extension.toLowerCase(Locale.ROOT) : "";
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.dto.CreateAnswerRequest;
+import e_learning.catalog_service.dto.CreateQuestionRequest;
+import e_learning.catalog_service.dto.CreateQuizRequest;
+import e_learning.catalog_service.dto.QuizAnswerKeyResponse;
+import e_learning.catalog_service.entities.Answer;
+import e_learning.catalog_service.entities.Module;
+import e_learning.catalog_service.entities.Question;
+import e_learning.catalog_service.entities.QuestionType;
+import e_learning.catalog_service.entities.Quiz;
+import e_learning.catalog_service.exceptions.ResourceNotFoundException;
+import e_learning.catalog_service.repositories.AnswerKeyRow;
+import e_learning.catalog_service.repositories.ModuleRepository;
+import e_learning.catalog_service.repositories.QuestionRepository;
+import e_learning.catalog_service.repositories.QuizRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+@Service
+public class QuizService {
+
+    private final QuizRepository quizRepository;
+    private final QuestionRepository questionRepository;
+    private final ModuleRepository moduleRepository;
+
+    public QuizService(QuizRepository quizRepository, QuestionRepository questionRepository,
+            ModuleRepository moduleRepository) {
+        this.quizRepository = quizRepository;
+        this.questionRepository = questionRepository;
+        this.moduleRepository = moduleRepository;
+    }
+
+    /**
+     * Creates a quiz with all of its questions and answers in one transaction. Ids come
+     * from table generators in blocks, so the inserts go out in JDBC batches: one per
+     * table and batch size rather than one statement per row.
+     */
+    @Transactional
+    public Quiz createQuiz(Long moduleId, CreateQuizRequest request) {
+        Module module = moduleRepository.findById(moduleId)
+                .orElseThrow(() -> new ResourceNotFoundException("Module", moduleId));
+
+        Quiz quiz = Quiz.builder()
+                .title(request.getTitle())
+                .description(request.getDescription())
+                .passingScore(request.getPassingScore())
+                .timeLimitMinutes(request.getTimeLimitMinutes())
+                .module(module)
+                .questions(new ArrayList<>())
+                .build();
+        if (request.getQuestions() != null) {
+            for (CreateQuestionRequest questionRequest : request.getQuestions()) {
+                Question question = Question.builder()
+                        .questionText(questionRequest.getQuestionText())
+                        .type(questionRequest.getType())
+                        .points(questionRequest.getPoints())
+                        .quiz(quiz)
+                        .answers(new ArrayList<>())
+                        .build();
+                if (questionRequest.getAnswers() != null) {
+                    for (CreateAnswerRequest answerRequest : questionRequest.getAnswers()) {
+                        question.getAnswers().add(Answer.builder()
+                                .answerText(answerRequest.getAnswerText())
+                                .correct(answerRequest.isCorrect())
+                                .question(question)
+                                .build());
+                    }
+                }
+                quiz.getQuestions().add(question);
+            }
+        }
+
+        // Questions and answers are persisted through the cascade
+        return quizRepository.save(quiz);
+    }
+
+    /**
+     * Builds the answer key learning-service grades submissions with. The version is read
+     * before the questions, so a key never claims to be newer than its content.
+     */
+    @Transactional(readOnly = true)
+    public QuizAnswerKeyResponse getAnswerKey(Long quizId) {
+        Quiz quiz = quizRepository.findById(quizId)
+                .orElseThrow(() -> new ResourceNotFoundException("Quiz", quizId));
+        long version = quiz.getAnswerKeyVersion() != null ? quiz.getAnswerKeyVersion() : 0;
+
+        // One row per answer (or one for a question without answers), grouped by question
+        List<AnswerKeyRow> rows = questionRepository.findAnswerKeyRows(quizId);
+        long[] questionIds = new long[rows.size()];
+        int[] points = new int[rows.size()];
+        boolean[] multiSelect = new boolean[rows.size()];
+        int[] answerOffsets = new int[rows.size() + 1];
+        long[] answerIds = new long[rows.size()];
+        boolean[] correct = new boolean[rows.size()];
+        int questions = 0;
+        int answers = 0;
+        for (AnswerKeyRow row : rows) {
+            if (questions == 0 || questionIds[questions - 1] != row.getQuestionId()) {
+                questionIds[questions] = row.getQuestionId();
+                points[questions] = row.getPoints() != null ? row.getPoints() : 1;
+                multiSelect[questions] = row.getType() == QuestionType.MULTIPLE_CHOICE;
+                answerOffsets[questions] = answers;
+                questions++;
+            }
+            if (row.getAnswerId() != null) {
+                answerIds[answers] = row.getAnswerId();
+                correct[answers] = Boolean.TRUE.equals(row.getCorrect());
+                answers++;
+            }
+        }
+        answerOffsets[questions] = answers;
+
+        return QuizAnswerKeyResponse.builder()
+                .quizId(quizId)
+                .version(version)
+                .passingScore(quiz.getPassingScore())
+                .questionIds(Arrays.copyOf(questionIds, questions))
+                .points(Arrays.copyOf(points, questions))
+                .multiSelect(Arrays.copyOf(multiSelect, questions))
+                .answerOffsets(Arrays.copyOf(answerOffsets, questions + 1))
+                .answerIds(Arrays.copyOf(answerIds, answers))
+                .correct(Arrays.copyOf(correct, answers))
+                .build();
+    }
+}
@@ -45,16 +45,14 @@ public class ReviewService {
                 .build();
 
         review = reviewRepository.save(review);
-
-        // Update course average rating
-        updateCourseAverageRating(course.getId());
+        applyRatingChange(course.getId(), null, review.getRating());
 
         return mapToResponse(review);
     }
 
     @Transactional
     public ReviewResponse updateReview(Long reviewId, ReviewRequest request) {
-        Review review = reviewRepository.findById(reviewId)
+        Review review = reviewRepository.findByIdForUpdate(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Review", reviewId));
 
         // Verify ownership
@@ -62,19 +60,18 @@ public class ReviewService {
             throw new IllegalStateException("You can only update your own reviews");
         }
 
+        Integer previousRating = review.getRating();
         review.setRating(request.getRating());
         review.setComment(request.getComment());
         review = reviewRepository.save(review);
-
-        // Update course average rating
-        updateCourseAverageRating(review.getCourse().getId());
+        applyRatingChange(review.getCourse().getId(), previousRating, review.getRating());
 
         return mapToResponse(review);
     }
 
     @Transactional
     public void deleteReview(Long reviewId, Long studentId) {
-        Review review = reviewRepository.findById(reviewId)
+        Review review = reviewRepository.findByIdForUpdate(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Review", reviewId));
 
         // Verify ownership (or admin - could be enhanced)
@@ -84,9 +81,7 @@ public class ReviewService {
 
         Long courseId = review.getCourse().getId();
         reviewRepository.delete(review);
-
-        // Update course average rating
-        updateCourseAverageRating(courseId);
+        applyRatingChange(courseId, review.getRating(), null);
     }
 
     public Page<ReviewResponse> getCourseReviews(Long courseId, Pageable pageable) {
@@ -109,12 +104,29 @@ public class ReviewService {
         return mapToResponse(review);
     }
 
-    private void updateCourseAverageRating(Long courseId) {
-        Double averageRating = reviewRepository.calculateAverageRating(courseId);
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new ResourceNotFoundException("Course", courseId));
-        course.setAverageRating(averageRating != null ? averageRating : 0.0);
-        courseRepository.save(course);
+    /**
+     * Moves one review from {@code removed} stars to {@code added} stars in the course's
+     * aggregates (either may be null) without reading the other reviews.
+     */
+    private void applyRatingChange(Long courseId, Integer removed, Integer added) {
+        int[] starDeltas = new int[6];
+        long sumDelta = 0;
+        int countDelta = 0;
+        if (removed != null) {
+            starDeltas[removed]--;
+            sumDelta -= removed;
+            countDelta--;
+        }
+        if (added != null) {
+            starDeltas[added]++;
+            sumDelta += added;
+            countDelta++;
+        }
+        if (sumDelta == 0 && countDelta == 0) {
+            return;
+        }
+        courseRepository.applyRatingChange(courseId, sumDelta, countDelta,
+                starDeltas[1], starDeltas[2], starDeltas[3], starDeltas[4], starDeltas[5]);
     }
 
     private ReviewResponse mapToResponse(Review review) {
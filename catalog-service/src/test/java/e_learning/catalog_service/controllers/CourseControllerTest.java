@@ -4,6 +4,8 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import e_learning.catalog_service.dto.*;
 import e_learning.catalog_service.entities.CourseLevel;
 import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.exceptions.InvalidRequestException;
+import e_learning.catalog_service.repositories.CourseFilter;
 import e_learning.catalog_service.services.CourseService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -17,10 +19,12 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -52,7 +56,7 @@ class CourseControllerTest {
                 .level(CourseLevel.BEGINNER)
                 .status(CourseStatus.DRAFT)
                 .professorId(1L)
-                .price(new BigDecimal("49.99"))
+                .price(49.99)
                 .durationHours(20)
                 .averageRating(4.5)
                 .totalEnrollments(100)
@@ -66,7 +70,7 @@ class CourseControllerTest {
                 .level(CourseLevel.BEGINNER)
                 .status(CourseStatus.PUBLISHED)
                 .professorId(1L)
-                .price(new BigDecimal("49.99"))
+                .price(49.99)
                 .averageRating(4.5)
                 .build();
     }
@@ -79,7 +83,7 @@ class CourseControllerTest {
         request.setDescription("Learn Java from scratch");
         request.setLevel(CourseLevel.BEGINNER);
         request.setProfessorId(1L);
-        request.setPrice(new BigDecimal("49.99"));
+        request.setPrice(49.99);
 
         when(courseService.createCourse(any(CreateCourseRequest.class))).thenReturn(courseResponse);
 
@@ -153,6 +157,35 @@ class CourseControllerTest {
         verify(courseService, times(1)).searchCourses(eq("Java"), any(), any(), any(), any(Pageable.class));
     }
 
+    @Test
+    @DisplayName("GET /courses/batch - should get course summaries for several IDs")
+    void getCoursesByIds_ShouldReturnSummaries() throws Exception {
+        when(courseService.getCoursesByIds(List.of(1L, 2L))).thenReturn(List.of(courseSummary));
+
+        mockMvc.perform(get("/courses/batch")
+                .param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].id").value(1));
+
+        verify(courseService, times(1)).getCoursesByIds(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("GET /courses/batch - should reject more IDs than one batch allows")
+    void getCoursesByIds_TooManyIds_ShouldReturnBadRequest() throws Exception {
+        String ids = LongStream.rangeClosed(1, CourseController.MAX_BATCH_IDS + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/courses/batch")
+                .param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(courseService, never()).getCoursesByIds(any());
+    }
+
     @Test
     @DisplayName("PUT /courses/{id} - should update course")
     void updateCourse_ShouldReturnUpdatedCourse() throws Exception {
@@ -231,4 +264,81 @@ class CourseControllerTest {
 
         verify(courseService, times(1)).getTotalLessonCount(1L);
     }
+
+    @Test
+    @DisplayName("GET /courses/lesson-counts - should get lesson counts for several courses")
+    void getLessonCounts_ShouldReturnCountsById() throws Exception {
+        when(courseService.getLessonCounts(List.of(1L, 2L))).thenReturn(Map.of(1L, 15, 2L, 0));
+
+        mockMvc.perform(get("/courses/lesson-counts")
+                .param("ids", "1,2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.1").value(15))
+                .andExpect(jsonPath("$.2").value(0));
+
+        verify(courseService, times(1)).getLessonCounts(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("GET /courses/lesson-counts - should reject more IDs than one batch allows")
+    void getLessonCounts_TooManyIds_ShouldReturnBadRequest() throws Exception {
+        String ids = LongStream.rangeClosed(1, CourseController.MAX_BATCH_IDS + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/courses/lesson-counts")
+                .param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(courseService, never()).getLessonCounts(any());
+    }
+
+    @Test
+    @DisplayName("GET /courses/suggest - should return typeahead suggestions")
+    void suggest_ShouldReturnSuggestions() throws Exception {
+        when(courseService.suggest("spr", 5)).thenReturn(List.of(
+                SuggestionResponse.builder().text("Spring Boot").type("COURSE").id(2L).build()));
+
+        mockMvc.perform(get("/courses/suggest")
+                .param("prefix", "spr")
+                .param("limit", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].text").value("Spring Boot"))
+                .andExpect(jsonPath("$[0].type").value("COURSE"))
+                .andExpect(jsonPath("$[0].id").value(2));
+
+        verify(courseService, times(1)).suggest("spr", 5);
+    }
+
+    @Test
+    @DisplayName("GET /courses/scroll - should return a cursor page")
+    void scrollCourses_ShouldReturnCursorPage() throws Exception {
+        when(courseService.scrollCourses(any(CourseFilter.class), eq("createdAt"), eq("desc"), eq("abc"), eq(10),
+                eq(false)))
+                .thenReturn(CursorPage.<CourseSummaryResponse>builder()
+                        .content(List.of(CourseSummaryResponse.builder().id(1L).title("Java Programming").build()))
+                        .nextCursor("def")
+                        .hasNext(true)
+                        .build());
+
+        mockMvc.perform(get("/courses/scroll")
+                .param("cursor", "abc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].title").value("Java Programming"))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /courses/scroll - should return 400 for an invalid cursor")
+    void scrollCourses_ShouldRejectInvalidCursor() throws Exception {
+        when(courseService.scrollCourses(any(CourseFilter.class), any(), any(), eq("bad"), anyInt(), anyBoolean()))
+                .thenThrow(new InvalidRequestException("Invalid cursor"));
+
+        mockMvc.perform(get("/courses/scroll")
+                .param("cursor", "bad"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid cursor"));
+    }
 }
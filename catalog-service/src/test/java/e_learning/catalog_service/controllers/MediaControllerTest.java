@@ -0,0 +1,171 @@
+package e_learning.catalog_service.controllers;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MediaController.class)
+class MediaControllerTest {
+
+    private static final String UUID = "3f2b8c1e-9d4a-4b7e-8f00-1234567890ab";
+    private static final String FILE_NAME = UUID + "_lecture.mp4";
+    private static final String CONTENT = "0123456789abcdefghij";
+    private static final String HASH = "9f86d081884c7d659a2feaa0c55ad015a3bf4f1b2b0b822cd15d6c15b0f00a08";
+    private static final String BLOB_NAME = "blobs/9f/86/" + HASH + ".pdf";
+
+    private static final Path uploadDir = createUploadDir();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private static Path createUploadDir() {
+        try {
+            return Files.createTempDirectory("media-test");
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @DynamicPropertySource
+    static void uploadProperties(DynamicPropertyRegistry registry) {
+        registry.add("upload.path", uploadDir::toString);
+    }
+
+    @BeforeAll
+    static void writeFiles() throws IOException {
+        Files.writeString(uploadDir.resolve(FILE_NAME), CONTENT, StandardCharsets.US_ASCII);
+        Files.createDirectories(uploadDir.resolve(BLOB_NAME).getParent());
+        Files.writeString(uploadDir.resolve(BLOB_NAME), "test", StandardCharsets.US_ASCII);
+        Files.createDirectories(uploadDir.resolve(".incoming"));
+        Files.writeString(uploadDir.resolve(".incoming/upload-1.part"), "partial", StandardCharsets.US_ASCII);
+        Files.writeString(uploadDir.getParent().resolve("secret.txt"), "secret", StandardCharsets.US_ASCII);
+    }
+
+    @Test
+    @DisplayName("GET /uploads/{file} - should serve the whole file with an immutable cache policy")
+    void serve_ShouldReturnWholeFile() throws Exception {
+        mockMvc.perform(get("/uploads/" + FILE_NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + UUID + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(content().contentType("video/mp4"))
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    @DisplayName("GET /uploads/blobs/{path} - should use the content hash as the ETag")
+    void serve_ShouldTagStoredBlobsWithTheirHash() throws Exception {
+        mockMvc.perform(get("/uploads/" + BLOB_NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"" + HASH + "\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "public, max-age=31536000, immutable"))
+                .andExpect(content().contentType("application/pdf"))
+                .andExpect(content().string("test"));
+    }
+
+    @Test
+    @DisplayName("GET /uploads/{file} - should serve a single range with 206")
+    void serve_ShouldReturnSingleRange() throws Exception {
+        mockMvc.perform(get("/uploads/" + FILE_NAME).header(HttpHeaders.RANGE, "bytes=5-9"))
+                .andExpect(status().isPartialContent())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 5-9/20"))
+                .andExpect(content().string("56789"));
+    }
+
+    @Test
+    @DisplayName("GET /uploads/{file} - should serve several ranges as multipart/byteranges")
+    void serve_ShouldReturnMultipleRanges() throws Exception {
+        MvcResult result = mockMvc.perform(get("/uploads/" + FILE_NAME).header(HttpHeaders.RANGE, "bytes=0-1,-3"))
+                .andExpect(status().isPartialContent())
+                .andReturn();
+
+        String contentType = result.getResponse().getContentType();
+        assertThat(contentType).startsWith("multipart/byteranges; boundary=");
+        String body = result.getResponse().getContentAsString();
+        assertThat(body).contains("Content-Range: bytes 0-1/20\r\n\r\n01\r\n");
+        assertThat(body).contains("Content-Range: bytes 17-19/20\r\n\r\nhij\r\n");
+        assertThat(body).endsWith("--" + contentType.substring(contentType.indexOf('=') + 1) + "--\r\n");
+        assertThat(result.getResponse().getContentLengthLong()).isEqualTo(body.length());
+    }
+
+    @Test
+    @DisplayName("GET /uploads/{file} - should return 416 for a range past the end")
+    void serve_ShouldRejectUnsatisfiableRange() throws Exception {
+        mockMvc.perform(get("/uploads/" + FILE_NAME).header(HttpHeaders.RANGE, "bytes=50-60"))
+                .andExpect(status().isRequestedRangeNotSatisfiable())
+                .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */20"));
+    }
+
+    @Test
+    @DisplayName("GET /uploads/{file} - should ignore the range when If-Range no longer matches")
+    void serve_ShouldIgnoreRangeWhenIfRangeDiffers() throws Exception {
+        mockMvc.perform(get("/uploads/" + FILE_NAME)
+                .header(HttpHeaders.RANGE, "bytes=5-9")
+                .header(HttpHeaders.IF_RANGE, "\"other\""))
+                .andExpect(status().isOk())
+                .andExpect(content().string(CONTENT));
+    }
+
+    @Test
+    @DisplayName("GET /uploads/{file} - should return 304 when the ETag matches")
+    void serve_ShouldReturnNotModified() throws Exception {
+        mockMvc.perform(get("/uploads/" + FILE_NAME).header(HttpHeaders.IF_NONE_MATCH, "\"" + UUID + "\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("HEAD /uploads/{file} - should return headers without a body")
+    void head_ShouldReturnHeadersOnly() throws Exception {
+        mockMvc.perform(head("/uploads/" + FILE_NAME))
+                .andExpect(status().isOk())
+                .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, CONTENT.length()))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @DisplayName("GET /uploads/{file} - should hand the file to sendfile when the connector supports it")
+    void serve_ShouldUseSendfileWhenSupported() throws Exception {
+        MvcResult result = mockMvc.perform(get("/uploads/" + FILE_NAME)
+                .header(HttpHeaders.RANGE, "bytes=10-")
+                .requestAttr("org.apache.tomcat.sendfile.support", Boolean.TRUE))
+                .andExpect(status().isPartialContent())
+                .andExpect(content().string(""))
+                .andReturn();
+
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.filename"))
+                .isEqualTo(uploadDir.resolve(FILE_NAME).toAbsolutePath().normalize().toString());
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.start")).isEqualTo(10L);
+        assertThat(result.getRequest().getAttribute("org.apache.tomcat.sendfile.end")).isEqualTo(20L);
+    }
+
+    @Test
+    @DisplayName("GET /uploads/{file} - should return 404 for paths outside the upload directory")
+    void serve_ShouldRejectTraversal() throws Exception {
+        mockMvc.perform(get("/uploads/%2E%2E/secret.txt"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/missing.mp4"))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(get("/uploads/.incoming/upload-1.part"))
+                .andExpect(status().isNotFound());
+    }
+}
@@ -0,0 +1,108 @@
+package e_learning.catalog_service.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import e_learning.catalog_service.dto.CreateUploadSessionRequest;
+import e_learning.catalog_service.dto.UploadSessionResponse;
+import e_learning.catalog_service.entities.UploadStatus;
+import e_learning.catalog_service.exceptions.UploadConflictException;
+import e_learning.catalog_service.services.ChunkedUploadService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.InputStream;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(UploadSessionController.class)
+class UploadSessionControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ChunkedUploadService chunkedUploadService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("POST /content/uploads/sessions - should open an upload session")
+    void createSession_ShouldReturnCreatedSession() throws Exception {
+        CreateUploadSessionRequest request = CreateUploadSessionRequest.builder()
+                .fileName("lecture.mp4")
+                .totalSize(1024L)
+                .build();
+        when(chunkedUploadService.createSession(any(CreateUploadSessionRequest.class))).thenReturn(
+                UploadSessionResponse.builder().id("abc").totalSize(1024L).receivedBytes(0L)
+                        .status(UploadStatus.OPEN).build());
+
+        mockMvc.perform(post("/content/uploads/sessions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value("abc"))
+                .andExpect(jsonPath("$.receivedBytes").value(0));
+    }
+
+    @Test
+    @DisplayName("POST /content/uploads/sessions - should return 400 when the size is missing")
+    void createSession_ShouldValidateRequest() throws Exception {
+        mockMvc.perform(post("/content/uploads/sessions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"fileName\":\"lecture.mp4\"}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(chunkedUploadService);
+    }
+
+    @Test
+    @DisplayName("PUT /content/uploads/sessions/{id} - should stream the chunk body to the service")
+    void writeChunk_ShouldStreamBody() throws Exception {
+        when(chunkedUploadService.writeChunk(eq("abc"), eq(0L), any(InputStream.class))).thenReturn(
+                UploadSessionResponse.builder().id("abc").receivedBytes(3L).status(UploadStatus.OPEN).build());
+
+        mockMvc.perform(put("/content/uploads/sessions/abc")
+                .param("offset", "0")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[] { 1, 2, 3 }))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedBytes").value(3));
+    }
+
+    @Test
+    @DisplayName("PUT /content/uploads/sessions/{id} - should return 409 on an offset mismatch")
+    void writeChunk_ShouldReturnConflictOnWrongOffset() throws Exception {
+        when(chunkedUploadService.writeChunk(eq("abc"), eq(5L), any(InputStream.class)))
+                .thenThrow(new UploadConflictException("Expected offset 3 but got 5"));
+
+        mockMvc.perform(put("/content/uploads/sessions/abc")
+                .param("offset", "5")
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .content(new byte[] { 1 }))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.message").value("Expected offset 3 but got 5"));
+    }
+
+    @Test
+    @DisplayName("POST /content/uploads/sessions/{id}/complete - should complete the upload")
+    void complete_ShouldReturnCompletedUpload() throws Exception {
+        when(chunkedUploadService.complete("abc", "ff")).thenReturn(UploadSessionResponse.builder()
+                .id("abc").status(UploadStatus.COMPLETED).url("http://localhost:8085/uploads/abc_lecture.mp4")
+                .sha256("ff").build());
+
+        mockMvc.perform(post("/content/uploads/sessions/abc/complete")
+                .param("sha256", "ff"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("COMPLETED"))
+                .andExpect(jsonPath("$.url").value("http://localhost:8085/uploads/abc_lecture.mp4"));
+    }
+}
@@ -0,0 +1,76 @@
+package e_learning.catalog_service.repositories;
+
+import e_learning.catalog_service.entities.Course;
+import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.entities.Lesson;
+import e_learning.catalog_service.entities.Module;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class LessonRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private LessonRepository lessonRepository;
+
+    @Test
+    @DisplayName("countByCourseId - should count lessons across all modules of a course")
+    void countByCourseId_ShouldCountAcrossModules() {
+        Course course = persistCourse("Java Programming");
+        persistModule(course, 2);
+        persistModule(course, 3);
+        persistModule(persistCourse("Spring Boot"), 4);
+
+        assertEquals(5, lessonRepository.countByCourseId(course.getId()));
+    }
+
+    @Test
+    @DisplayName("countByCourseIds - should group lesson counts by course")
+    void countByCourseIds_ShouldGroupByCourse() {
+        Course java = persistCourse("Java Programming");
+        Course spring = persistCourse("Spring Boot");
+        Course empty = persistCourse("Empty Course");
+        persistModule(java, 2);
+        persistModule(spring, 1);
+        persistModule(spring, 1);
+
+        Map<Long, Long> counts = lessonRepository.countByCourseIds(List.of(java.getId(), spring.getId(), empty.getId()))
+                .stream()
+                .collect(Collectors.toMap(CourseLessonCount::getCourseId, CourseLessonCount::getLessonCount));
+
+        assertEquals(Map.of(java.getId(), 2L, spring.getId(), 2L), counts);
+    }
+
+    private Course persistCourse(String title) {
+        return entityManager.persist(Course.builder()
+                .title(title)
+                .status(CourseStatus.PUBLISHED)
+                .build());
+    }
+
+    private void persistModule(Course course, int lessons) {
+        Module module = entityManager.persist(Module.builder()
+                .title("Module")
+                .course(course)
+                .build());
+        for (int i = 0; i < lessons; i++) {
+            entityManager.persist(Lesson.builder()
+                    .title("Lesson " + i)
+                    .orderIndex(i)
+                    .module(module)
+                    .build());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package e_learning.catalog_service.repositories;
+
+import e_learning.catalog_service.entities.Course;
+import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.entities.Module;
+import e_learning.catalog_service.entities.Quiz;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class QuizRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Test
+    @DisplayName("findIdsByModuleId/findIdsByCourseId - should list the quizzes a module or course delete takes with it")
+    void findIds_ShouldListQuizzesOfModuleAndCourse() {
+        Course course = persistCourse("Java Programming");
+        Module first = persistModule(course);
+        Module second = persistModule(course);
+        List<Long> firstQuizzes = persistQuizzes(first, 2);
+        List<Long> secondQuizzes = persistQuizzes(second, 1);
+        persistQuizzes(persistModule(persistCourse("Spring Boot")), 1);
+
+        assertEquals(Set.copyOf(firstQuizzes), Set.copyOf(quizRepository.findIdsByModuleId(first.getId())));
+        assertEquals(Set.copyOf(Stream.concat(firstQuizzes.stream(), secondQuizzes.stream()).toList()),
+                Set.copyOf(quizRepository.findIdsByCourseId(course.getId())));
+    }
+
+    private Course persistCourse(String title) {
+        return entityManager.persist(Course.builder()
+                .title(title)
+                .status(CourseStatus.PUBLISHED)
+                .build());
+    }
+
+    private Module persistModule(Course course) {
+        return entityManager.persist(Module.builder()
+                .title("Module")
+                .course(course)
+                .build());
+    }
+
+    private List<Long> persistQuizzes(Module module, int count) {
+        return Stream.generate(() -> entityManager.persist(Quiz.builder()
+                        .title("Quiz")
+                        .module(module)
+                        .build()).getId())
+                .limit(count)
+                .toList();
+    }
+}
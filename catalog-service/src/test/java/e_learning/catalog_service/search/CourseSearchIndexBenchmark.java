@@ -0,0 +1,144 @@
+package e_learning.catalog_service.search;
+
+import e_learning.catalog_service.entities.CourseLevel;
+import e_learning.catalog_service.entities.CourseStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keyword search over 100k generated courses: exact terms, prefixes, one-letter typos and
+ * filtered searches. Covers the index only, not the summary query for the returned page.
+ * Not part of the test run; start it with {@code mvn test-compile} and then {@link #main}, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class CourseSearchIndexBenchmark {
+
+    private static final int VOCABULARY = 20_000;
+    private static final int QUERIES = 1024;
+
+    @Param({"100000"})
+    private int courses;
+
+    private CourseSearchIndex index;
+    private String[] exact;
+    private String[] prefixes;
+    private String[] typos;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = word(random, 4 + random.nextInt(6));
+        }
+
+        index = new CourseSearchIndex();
+        for (long id = 1; id <= courses; id++) {
+            List<String> lessons = new ArrayList<>();
+            for (int l = 0; l < 8; l++) {
+                lessons.add(phrase(random, words, 4));
+            }
+            index.index(CourseDocument.builder()
+                    .id(id)
+                    .title(phrase(random, words, 4))
+                    .description(phrase(random, words, 30))
+                    .categoryName(words[(int) (id % 40)])
+                    .lessonTitles(lessons)
+                    .categoryId(id % 40)
+                    .level(CourseLevel.values()[(int) (id % 3)])
+                    .status(CourseStatus.values()[(int) (id % 3)])
+                    .build());
+        }
+
+        exact = new String[QUERIES];
+        prefixes = new String[QUERIES];
+        typos = new String[QUERIES];
+        for (int q = 0; q < QUERIES; q++) {
+            String first = pick(random, words);
+            String second = pick(random, words);
+            exact[q] = first + " " + second;
+            prefixes[q] = first + " " + second.substring(0, 3);
+            char[] typo = second.toCharArray();
+            typo[1 + random.nextInt(typo.length - 1)] = (char) ('a' + random.nextInt(26));
+            typos[q] = first + " " + new String(typo);
+        }
+    }
+
+    /** Zipf-like pick, so that some words are common and most are rare. */
+    private static String pick(Random random, String[] words) {
+        double u = random.nextDouble();
+        return words[(int) (words.length * u * u * u)];
+    }
+
+    private static String phrase(Random random, String[] words, int length) {
+        StringBuilder phrase = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            phrase.append(i == 0 ? "" : " ").append(pick(random, words));
+        }
+        return phrase.toString();
+    }
+
+    private static String word(Random random, int length) {
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+
+    private int nextQuery() {
+        next = (next + 1) % QUERIES;
+        return next;
+    }
+
+    @Benchmark
+    public List<Long> exactTerms() {
+        return index.search(exact[nextQuery()], null, null, null);
+    }
+
+    @Benchmark
+    public List<Long> prefix() {
+        return index.search(prefixes[nextQuery()], null, null, null);
+    }
+
+    @Benchmark
+    public List<Long> typo() {
+        return index.search(typos[nextQuery()], null, null, null);
+    }
+
+    @Benchmark
+    public List<Long> exactTermsFiltered() {
+        int q = nextQuery();
+        return index.search(exact[q], (long) (q % 40), CourseLevel.INTERMEDIATE, CourseStatus.PUBLISHED);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CourseSearchIndexBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
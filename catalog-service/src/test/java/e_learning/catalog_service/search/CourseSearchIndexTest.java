@@ -0,0 +1,104 @@
+package e_learning.catalog_service.search;
+
+import e_learning.catalog_service.entities.CourseLevel;
+import e_learning.catalog_service.entities.CourseStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseSearchIndexTest {
+
+    private CourseSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new CourseSearchIndex();
+        index.index(course(1L, "Java Programming", "Learn the basics of Java", "Programming",
+                List.of("Variables", "Loops"), 10L, CourseLevel.BEGINNER, CourseStatus.PUBLISHED));
+        index.index(course(2L, "Spring Boot", "Build web services with Java and Spring", "Programming",
+                List.of("Dependency injection", "REST controllers"), 10L, CourseLevel.INTERMEDIATE,
+                CourseStatus.PUBLISHED));
+        index.index(course(3L, "Développement Web", "HTML et CSS", "Design",
+                List.of("Introduction à Python"), 20L, CourseLevel.BEGINNER, CourseStatus.DRAFT));
+    }
+
+    @Test
+    @DisplayName("search - should rank a title match above a description match")
+    void search_ShouldRankTitleAboveDescription() {
+        assertEquals(List.of(1L, 2L), index.search("java", null, null, null));
+    }
+
+    @Test
+    @DisplayName("search - should require every query term to match")
+    void search_ShouldRequireAllTerms() {
+        assertEquals(List.of(2L), index.search("java spring", null, null, null));
+        assertTrue(index.search("java kotlin", null, null, null).isEmpty());
+    }
+
+    @Test
+    @DisplayName("search - should match category names, lesson titles and text without accents")
+    void search_ShouldMatchCategoryLessonsAndAccents() {
+        assertEquals(List.of(3L), index.search("design", null, null, null));
+        assertEquals(List.of(2L), index.search("controllers", null, null, null));
+        assertEquals(List.of(3L), index.search("developpement", null, null, null));
+    }
+
+    @Test
+    @DisplayName("search - should expand the last term as a prefix and tolerate one typo")
+    void search_ShouldSupportPrefixAndTypos() {
+        assertEquals(List.of(2L), index.search("spr", null, null, null));
+        assertEquals(List.of(3L), index.search("pyhton", null, null, null));
+        assertEquals(List.of(1L), index.search("progamming java", null, null, CourseStatus.PUBLISHED)
+                .subList(0, 1));
+    }
+
+    @Test
+    @DisplayName("search - should apply category, level and status filters")
+    void search_ShouldApplyFilters() {
+        assertEquals(List.of(2L), index.search("java", 10L, CourseLevel.INTERMEDIATE, null));
+        assertEquals(List.of(1L, 2L), index.search("java", null, null, CourseStatus.PUBLISHED));
+        assertTrue(index.search("html", null, null, CourseStatus.PUBLISHED).isEmpty());
+    }
+
+    @Test
+    @DisplayName("index - should replace the previous version of a course and remove it on delete")
+    void index_ShouldReplaceAndRemove() {
+        index.index(course(1L, "Kotlin Programming", null, null, List.of(), 10L, CourseLevel.BEGINNER,
+                CourseStatus.PUBLISHED));
+        assertEquals(List.of(2L), index.search("java", null, null, null));
+        assertEquals(List.of(1L), index.search("kotlin", null, null, null));
+
+        index.remove(1L);
+        assertTrue(index.search("kotlin", null, null, null).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("withinOneEdit - should accept one substitution, insertion, deletion or transposition")
+    void withinOneEdit_ShouldAcceptSingleEdits() {
+        assertTrue(CourseSearchIndex.withinOneEdit("spring", "sprint"));
+        assertTrue(CourseSearchIndex.withinOneEdit("spring", "sprin"));
+        assertTrue(CourseSearchIndex.withinOneEdit("sprin", "spring"));
+        assertTrue(CourseSearchIndex.withinOneEdit("spirng", "spring"));
+        assertFalse(CourseSearchIndex.withinOneEdit("sping", "sprint"));
+        assertFalse(CourseSearchIndex.withinOneEdit("spring", "springboot"));
+    }
+
+    private static CourseDocument course(Long id, String title, String description, String categoryName,
+            List<String> lessonTitles, Long categoryId, CourseLevel level, CourseStatus status) {
+        return CourseDocument.builder()
+                .id(id)
+                .title(title)
+                .description(description)
+                .categoryName(categoryName)
+                .lessonTitles(lessonTitles)
+                .categoryId(categoryId)
+                .level(level)
+                .status(status)
+                .build();
+    }
+}
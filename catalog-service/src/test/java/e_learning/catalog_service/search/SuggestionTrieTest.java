@@ -0,0 +1,68 @@
+package e_learning.catalog_service.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SuggestionTrieTest {
+
+    private SuggestionTrie trie;
+
+    @BeforeEach
+    void setUp() {
+        trie = new SuggestionTrie();
+        trie.put(course(1L, "Spring Boot", 50, 4.5));
+        trie.put(course(2L, "Spring Security", 120, 4.0));
+        trie.put(course(3L, "Sprint Planning", 120, 4.8));
+        trie.put(new SuggestionTrie.Suggestion(SuggestionTrie.Type.CATEGORY, 10L, "Programmation", 300, 4.2));
+    }
+
+    @Test
+    @DisplayName("suggest - should rank by enrollments then rating")
+    void suggest_ShouldRankByEnrollmentsThenRating() {
+        assertEquals(List.of("Sprint Planning", "Spring Security", "Spring Boot"), texts(trie.suggest("spr", 10)));
+        assertEquals(List.of("Sprint Planning"), texts(trie.suggest("SPR", 1)));
+    }
+
+    @Test
+    @DisplayName("suggest - should match from the start of any word, ignoring case and accents")
+    void suggest_ShouldMatchWordStarts() {
+        assertEquals(List.of("Spring Boot"), texts(trie.suggest("boo", 10)));
+        assertEquals(List.of("Programmation"), texts(trie.suggest("programmatión", 10)));
+        assertTrue(trie.suggest("ring", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("put/remove - should update rankings and drop removed suggestions")
+    void putAndRemove_ShouldUpdateIncrementally() {
+        trie.put(course(1L, "Spring Boot", 500, 4.5));
+        assertEquals("Spring Boot", trie.suggest("spr", 10).get(0).getText());
+
+        trie.remove(SuggestionTrie.Type.COURSE, 3L);
+        trie.remove(SuggestionTrie.Type.COURSE, 1L);
+        assertEquals(List.of("Spring Security"), texts(trie.suggest("spr", 10)));
+        assertTrue(trie.suggest("boot", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("suggest - should match prefixes longer than the stored key length")
+    void suggest_ShouldHandleLongPrefixes() {
+        trie.put(course(4L, "Complete introduction to distributed systems design", 10, 4.0));
+        trie.put(course(5L, "Complete introduction to distributed systems testing", 5, 4.0));
+
+        assertEquals(List.of("Complete introduction to distributed systems testing"),
+                texts(trie.suggest("complete introduction to distributed systems t", 10)));
+    }
+
+    private static SuggestionTrie.Suggestion course(Long id, String title, long enrollments, double rating) {
+        return new SuggestionTrie.Suggestion(SuggestionTrie.Type.COURSE, id, title, enrollments, rating);
+    }
+
+    private static List<String> texts(List<SuggestionTrie.Suggestion> suggestions) {
+        return suggestions.stream().map(SuggestionTrie.Suggestion::getText).toList();
+    }
+}
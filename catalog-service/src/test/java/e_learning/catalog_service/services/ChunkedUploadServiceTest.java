@@ -0,0 +1,192 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.dto.CreateUploadSessionRequest;
+import e_learning.catalog_service.dto.UploadSessionResponse;
+import e_learning.catalog_service.entities.UploadStatus;
+import e_learning.catalog_service.exceptions.InvalidRequestException;
+import e_learning.catalog_service.exceptions.ResourceNotFoundException;
+import e_learning.catalog_service.exceptions.UploadConflictException;
+import e_learning.catalog_service.repositories.MediaBlobRepository;
+import e_learning.catalog_service.repositories.UploadSessionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ChunkedUploadServiceTest {
+
+    private static final String BASE_URL = "http://localhost:8085/uploads/";
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private MediaBlobRepository mediaBlobRepository;
+
+    @TempDir
+    Path uploadDir;
+
+    private ChunkedUploadService service;
+    private byte[] content;
+
+    @BeforeEach
+    void setUp() {
+        service = newService();
+        content = new byte[300_000];
+        new Random(42).nextBytes(content);
+    }
+
+    @Test
+    @DisplayName("writeChunk/complete - should assemble chunks in place, hash them and move them to the store")
+    void upload_ShouldAssembleChunksAndHash() throws Exception {
+        UploadSessionResponse session = service.createSession(request("lecture 1.mp4"));
+
+        service.writeChunk(session.getId(), 0, slice(0, 100_000));
+        service.writeChunk(session.getId(), 100_000, slice(100_000, 250_000));
+        UploadSessionResponse written = service.writeChunk(session.getId(), 250_000, slice(250_000, 300_000));
+        assertEquals(300_000, written.getReceivedBytes());
+
+        UploadSessionResponse completed = service.complete(session.getId(), sha256(content));
+
+        assertEquals(UploadStatus.COMPLETED, completed.getStatus());
+        assertEquals(sha256(content), completed.getSha256());
+        String storedName = completed.getUrl().substring(BASE_URL.length());
+        String hash = sha256(content);
+        assertEquals("blobs/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".mp4", storedName);
+        assertArrayEquals(content, Files.readAllBytes(uploadDir.resolve(storedName)));
+        assertEquals(1, mediaBlobRepository.findById(hash).orElseThrow().getRefCount());
+    }
+
+    @Test
+    @DisplayName("createSession - should complete at once when the announced hash is already stored")
+    void createSession_ShouldSkipUploadOfStoredContent() throws Exception {
+        UploadSessionResponse first = service.createSession(request("intro.mp4"));
+        service.writeChunk(first.getId(), 0, slice(0, 300_000));
+        service.complete(first.getId(), null);
+
+        CreateUploadSessionRequest again = request("intro-copy.mp4");
+        again.setSha256(sha256(content).toUpperCase());
+        UploadSessionResponse second = service.createSession(again);
+
+        assertEquals(UploadStatus.COMPLETED, second.getStatus());
+        assertEquals(service.getSession(first.getId()).getUrl(), second.getUrl());
+        assertEquals(2, mediaBlobRepository.findById(sha256(content)).orElseThrow().getRefCount());
+        assertEquals(3, service.retainCompleted(second.getId()).getRefCount());
+    }
+
+    @Test
+    @DisplayName("writeChunk - should keep bytes received before a dropped connection and resume from there")
+    void writeChunk_ShouldResumeAfterDroppedConnection() throws Exception {
+        UploadSessionResponse session = service.createSession(request("video.mp4"));
+
+        assertThrows(IOException.class,
+                () -> service.writeChunk(session.getId(), 0, failingAfter(slice(0, 300_000), 70_000)));
+        long resumeAt = service.getSession(session.getId()).getReceivedBytes();
+        assertTrue(resumeAt > 0 && resumeAt <= 70_000);
+
+        assertThrows(UploadConflictException.class, () -> service.writeChunk(session.getId(), 0, slice(0, 10)));
+
+        // A fresh instance has no running digest and must rebuild it from disk
+        ChunkedUploadService restarted = newService();
+        restarted.writeChunk(session.getId(), resumeAt, slice((int) resumeAt, 300_000));
+        assertEquals(sha256(content), restarted.complete(session.getId(), null).getSha256());
+    }
+
+    @Test
+    @DisplayName("writeChunk/complete - should reject oversize chunks, early completion and hash mismatches")
+    void upload_ShouldRejectInvalidRequests() throws Exception {
+        UploadSessionResponse session = service.createSession(request("video.mp4"));
+
+        assertThrows(InvalidRequestException.class, () -> service.writeChunk(session.getId(), 0,
+                new ByteArrayInputStream(new byte[300_001])));
+        assertEquals(0, service.getSession(session.getId()).getReceivedBytes());
+        assertThrows(UploadConflictException.class, () -> service.complete(session.getId(), null));
+
+        service.writeChunk(session.getId(), 0, slice(0, 300_000));
+        assertThrows(InvalidRequestException.class, () -> service.complete(session.getId(), "00"));
+        assertEquals(sha256(content), service.complete(session.getId(), null).getSha256());
+    }
+
+    @Test
+    @DisplayName("writeChunk/complete - should not keep upload state for unknown, aborted or completed sessions")
+    void upload_ShouldNotLeakStateForClosedSessions() throws Exception {
+        assertThrows(ResourceNotFoundException.class, () -> service.writeChunk("missing", 0, slice(0, 10)));
+        assertThrows(ResourceNotFoundException.class, () -> service.complete("missing", null));
+
+        UploadSessionResponse aborted = service.createSession(request("aborted.mp4"));
+        service.writeChunk(aborted.getId(), 0, slice(0, 10));
+        service.abort(aborted.getId());
+        assertThrows(ResourceNotFoundException.class, () -> service.writeChunk(aborted.getId(), 10, slice(10, 20)));
+
+        UploadSessionResponse completed = service.createSession(request("completed.mp4"));
+        service.writeChunk(completed.getId(), 0, slice(0, 300_000));
+        service.complete(completed.getId(), null);
+        assertThrows(UploadConflictException.class, () -> service.writeChunk(completed.getId(), 0, slice(0, 10)));
+        service.complete(completed.getId(), null);
+
+        assertTrue(((Map<?, ?>) ReflectionTestUtils.getField(service, "states")).isEmpty());
+    }
+
+    private ChunkedUploadService newService() {
+        MediaStorageService mediaStorageService = new MediaStorageService(mediaBlobRepository,
+                uploadDir.toString(), BASE_URL);
+        return new ChunkedUploadService(uploadSessionRepository, mediaStorageService, uploadDir.toString(),
+                BASE_URL, DataSize.ofMegabytes(1), Duration.ofHours(24));
+    }
+
+    private CreateUploadSessionRequest request(String fileName) {
+        return CreateUploadSessionRequest.builder()
+                .fileName(fileName)
+                .contentType("video/mp4")
+                .totalSize((long) content.length)
+                .build();
+    }
+
+    private InputStream slice(int from, int to) {
+        return new ByteArrayInputStream(Arrays.copyOfRange(content, from, to));
+    }
+
+    private static InputStream failingAfter(InputStream in, int limit) {
+        return new InputStream() {
+            private int read;
+
+            @Override
+            public int read() throws IOException {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public int read(byte[] bytes, int off, int len) throws IOException {
+                if (read >= limit) {
+                    throw new IOException("Connection reset");
+                }
+                int n = in.read(bytes, off, Math.min(len, limit - read));
+                read += Math.max(n, 0);
+                return n;
+            }
+        };
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,95 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.dto.CourseResponse;
+import e_learning.catalog_service.dto.ModuleResponse;
+import e_learning.catalog_service.entities.*;
+import e_learning.catalog_service.entities.Module;
+import e_learning.catalog_service.search.CourseSearchIndexer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({CourseService.class, CourseSearchIndexer.class, ImageRenditionService.class, MediaStorageService.class})
+class CourseDetailQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseSearchIndexer searchIndexer;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        searchIndexer.rebuild();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    @DisplayName("getCourseById - should load a course of any size in a fixed number of statements")
+    void getCourseById_ShouldNotIssueQueriesPerModuleOrQuiz() {
+        Category category = entityManager.persist(Category.builder().name("Programming").build());
+        Course course = entityManager.persist(Course.builder()
+                .title("Java Programming")
+                .status(CourseStatus.PUBLISHED)
+                .category(category)
+                .build());
+        for (int m = 0; m < 12; m++) {
+            Module module = entityManager.persist(Module.builder()
+                    .title("Module " + m)
+                    .orderIndex(11 - m)
+                    .course(course)
+                    .build());
+            for (int l = 0; l < 3; l++) {
+                entityManager.persist(Lesson.builder().title("Lesson " + l).orderIndex(2 - l).module(module).build());
+            }
+            if (m % 3 == 2) {
+                Quiz quiz = entityManager.persist(Quiz.builder().title("Quiz " + m).module(module).build());
+                for (int q = 0; q < 4; q++) {
+                    entityManager.persist(Question.builder()
+                            .questionText("Question " + q)
+                            .type(QuestionType.SINGLE_CHOICE)
+                            .quiz(quiz)
+                            .build());
+                }
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+
+        CourseResponse response = courseService.getCourseById(course.getId());
+
+        // Course (with its category), modules with lessons, quiz summaries
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals("Programming", response.getCategory().getName());
+        assertEquals(12, response.getModules().size());
+        ModuleResponse first = response.getModules().get(0);
+        assertEquals(0, first.getOrderIndex());
+        assertEquals(3, first.getLessons().size());
+        assertEquals(0, first.getLessons().get(0).getOrderIndex());
+        assertEquals(1, first.getQuizzes().size());
+        assertEquals(4, first.getQuizzes().get(0).getQuestionCount());
+        assertEquals(4, response.getModules().stream().mapToLong(mod -> mod.getQuizzes().size()).sum());
+    }
+}
@@ -0,0 +1,155 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.CatalogServiceApplication;
+import e_learning.catalog_service.dto.CourseSummaryResponse;
+import e_learning.catalog_service.entities.Course;
+import e_learning.catalog_service.repositories.CourseRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listing pages at 10k courses: the summary projection against the entity-based mapping it
+ * replaced (one category select and one module collection load per row), on H2.
+ * Not part of the test run; start it with {@code mvn test-compile} and then {@link #main}, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CourseListingBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"10000"})
+    private int courses;
+
+    private ConfigurableApplicationContext context;
+    private CourseService courseService;
+    private CourseRepository courseRepository;
+    private TransactionTemplate readOnly;
+    private int page;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SpringApplication.run(CatalogServiceApplication.class,
+                "--spring.main.web-application-type=none",
+                "--spring.main.banner-mode=off",
+                "--logging.level.root=WARN",
+                "--eureka.client.enabled=false",
+                "--spring.cloud.discovery.enabled=false",
+                "--spring.datasource.url=jdbc:h2:mem:listing;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+                "--upload.path=target/benchmark-uploads/");
+        courseService = context.getBean(CourseService.class);
+        courseRepository = context.getBean(CourseRepository.class);
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        List<Object[]> categories = new ArrayList<>();
+        for (int c = 0; c < 20; c++) {
+            categories.add(new Object[]{"Category " + c});
+        }
+        jdbc.batchUpdate("INSERT INTO categories (name) VALUES (?)", categories);
+        List<Long> categoryIds = jdbc.queryForList("SELECT id FROM categories ORDER BY id", Long.class);
+
+        LocalDateTime created = LocalDateTime.of(2024, 1, 1, 0, 0);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < courses; i++) {
+            rows.add(new Object[]{"Course " + i, "Description of course " + i, i % 2 == 0 ? "PUBLISHED" : "DRAFT",
+                    categoryIds.get(i % categoryIds.size()), 1 + i % 5, i % 100, created.plusMinutes(i)});
+        }
+        jdbc.batchUpdate("INSERT INTO courses (title, description, status, category_id, module_count, total_enrollments, " +
+                "created_at) VALUES (?, ?, ?, ?, ?, ?, ?)", rows);
+
+        List<Object[]> modules = new ArrayList<>();
+        List<Long> courseIds = jdbc.queryForList("SELECT id FROM courses ORDER BY id", Long.class);
+        for (int i = 0; i < courseIds.size(); i++) {
+            for (int m = 0; m < 1 + i % 5; m++) {
+                modules.add(new Object[]{"Module " + m, m, courseIds.get(i)});
+            }
+        }
+        jdbc.batchUpdate("INSERT INTO modules (title, order_index, course_id) VALUES (?, ?, ?)", modules);
+    }
+
+    /** Cycles through the first pages; deep OFFSET pages are what the cursor listing is for. */
+    private Pageable nextPage() {
+        page = (page + 1) % 10;
+        return PageRequest.of(page, PAGE_SIZE, Sort.by("createdAt").descending());
+    }
+
+    @Benchmark
+    public Page<CourseSummaryResponse> entityMapping() {
+        Pageable pageable = nextPage();
+        return readOnly.execute(status -> courseRepository.findAll(pageable).map(CourseListingBenchmark::fromEntity));
+    }
+
+    @Benchmark
+    public Page<CourseSummaryResponse> summaryProjection() {
+        return courseService.getAllCourses(nextPage());
+    }
+
+    /** The mapping listing pages used before the projection. */
+    private static CourseSummaryResponse fromEntity(Course course) {
+        return CourseSummaryResponse.builder()
+                .id(course.getId())
+                .title(course.getTitle())
+                .description(course.getDescription())
+                .level(course.getLevel())
+                .status(course.getStatus())
+                .professorId(course.getProfessorId())
+                .thumbnailUrl(course.getThumbnailUrl())
+                .price(course.getPrice())
+                .durationHours(course.getDurationHours())
+                .averageRating(course.getAverageRating())
+                .totalEnrollments(course.getTotalEnrollments())
+                .categoryName(course.getCategory() != null ? course.getCategory().getName() : null)
+                .moduleCount(course.getModules() != null ? course.getModules().size() : 0)
+                .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(CourseListingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,129 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.dto.CourseSummaryResponse;
+import e_learning.catalog_service.entities.Category;
+import e_learning.catalog_service.entities.Course;
+import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.entities.Module;
+import e_learning.catalog_service.repositories.CourseRepository;
+import e_learning.catalog_service.search.CourseSearchIndexer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({CourseService.class, CourseSearchIndexer.class, ImageRenditionService.class, MediaStorageService.class})
+class CourseListingQueryCountTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseSearchIndexer searchIndexer;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        searchIndexer.rebuild();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Category programming = entityManager.persist(Category.builder().name("Programming").build());
+        Category design = entityManager.persist(Category.builder().name("Design").build());
+        for (int i = 0; i < 30; i++) {
+            Course course = entityManager.persist(Course.builder()
+                    .title("Course " + i)
+                    .status(i % 2 == 0 ? CourseStatus.PUBLISHED : CourseStatus.DRAFT)
+                    .category(i % 3 == 0 ? null : (i % 3 == 1 ? programming : design))
+                    .build());
+            for (int m = 0; m < i % 4; m++) {
+                entityManager.persist(Module.builder().title("Module " + m).course(course).build());
+            }
+            entityManager.flush();
+            courseRepository.refreshModuleCount(course.getId());
+        }
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("getPublishedCourses - should read a page with one select plus one count")
+    void getPublishedCourses_ShouldUseOneStatementPerPage() {
+        Page<CourseSummaryResponse> page = courseService.getPublishedCourses(
+                PageRequest.of(0, 10, Sort.by("title").ascending()));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(15, page.getTotalElements());
+        assertEquals(10, page.getContent().size());
+        CourseSummaryResponse course2 = page.getContent().stream()
+                .filter(c -> c.getTitle().equals("Course 2"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("Design", course2.getCategoryName());
+        assertEquals(2, course2.getModuleCount());
+    }
+
+    @Test
+    @DisplayName("searchCourses - should filter and project in one statement per page")
+    void searchCourses_ShouldUseOneStatementPerPage() {
+        Page<CourseSummaryResponse> page = courseService.searchCourses(null, null, null,
+                CourseStatus.DRAFT, PageRequest.of(0, 5, Sort.by("createdAt").descending()));
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertEquals(15, page.getTotalElements());
+        assertTrue(page.getContent().stream().allMatch(c -> c.getStatus() == CourseStatus.DRAFT));
+    }
+
+    @Test
+    @DisplayName("searchCourses - should rank keyword matches from the index and load the page in one statement")
+    void searchCourses_ShouldServeKeywordsFromIndex() {
+        searchIndexer.rebuild();
+        statistics.clear();
+
+        Page<CourseSummaryResponse> page = courseService.searchCourses("course 1", null, null,
+                CourseStatus.DRAFT, PageRequest.of(0, 5, Sort.by("createdAt").descending()));
+
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, page.getTotalElements());
+        assertEquals("Course 1", page.getContent().get(0).getTitle());
+    }
+
+    @Test
+    @DisplayName("backfillModuleCounts - should compute counts missing from older rows")
+    void backfillModuleCounts_ShouldFillNullCounts() {
+        Course legacy = entityManager.persist(Course.builder()
+                .title("Legacy")
+                .status(CourseStatus.PUBLISHED)
+                .moduleCount(null)
+                .build());
+        entityManager.persist(Module.builder().title("Module").course(legacy).build());
+        entityManager.flush();
+
+        assertEquals(1, courseRepository.backfillModuleCounts());
+        entityManager.clear();
+        assertEquals(1, courseRepository.findById(legacy.getId()).orElseThrow().getModuleCount());
+    }
+}
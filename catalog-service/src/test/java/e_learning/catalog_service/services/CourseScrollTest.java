@@ -0,0 +1,128 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.dto.CourseSummaryResponse;
+import e_learning.catalog_service.dto.CursorPage;
+import e_learning.catalog_service.entities.Course;
+import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.exceptions.InvalidRequestException;
+import e_learning.catalog_service.repositories.CourseFilter;
+import e_learning.catalog_service.search.CourseSearchIndexer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import({CourseService.class, CourseSearchIndexer.class, ImageRenditionService.class, MediaStorageService.class})
+class CourseScrollTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private CourseSearchIndexer searchIndexer;
+
+    private Statistics statistics;
+    private final List<Course> courses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        searchIndexer.rebuild();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        LocalDateTime start = LocalDateTime.of(2024, 1, 1, 9, 0);
+        for (int i = 0; i < 25; i++) {
+            courses.add(entityManager.persist(Course.builder()
+                    .title("Course " + i)
+                    .status(i % 3 == 0 ? CourseStatus.DRAFT : CourseStatus.PUBLISHED)
+                    // Repeated and missing prices exercise the id tie-breaker and null handling
+                    .price(i % 5 == 0 ? null : (double) (i % 4) * 10)
+                    .createdAt(start.plusHours(i / 2))
+                    .build()));
+        }
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    @DisplayName("scrollCourses - should visit every course once in (price, id) order, nulls lowest")
+    void scrollCourses_ShouldSeekThroughNullableSortKey() {
+        Comparator<Course> byPrice = Comparator.comparing(Course::getPrice,
+                Comparator.nullsFirst(Comparator.naturalOrder())).thenComparing(Course::getId);
+
+        assertEquals(ids(courses.stream().sorted(byPrice).toList()),
+                scrollAll(CourseFilter.builder().build(), "price", "asc"));
+        assertEquals(ids(courses.stream().sorted(byPrice.reversed()).toList()),
+                scrollAll(CourseFilter.builder().build(), "price", "desc"));
+    }
+
+    @Test
+    @DisplayName("scrollCourses - should apply filters and read each page in two statements without a count")
+    void scrollCourses_ShouldNotCountUnlessAsked() {
+        CursorPage<CourseSummaryResponse> page = courseService.scrollCourses(
+                CourseFilter.builder().status(CourseStatus.PUBLISHED).build(), "createdAt", "desc", null, 5, false);
+
+        assertEquals(2, statistics.getPrepareStatementCount());
+        assertNull(page.getTotalElements());
+        assertTrue(page.isHasNext());
+        assertEquals(5, page.getContent().size());
+        assertTrue(page.getContent().stream().allMatch(c -> c.getStatus() == CourseStatus.PUBLISHED));
+
+        CursorPage<CourseSummaryResponse> withTotal = courseService.scrollCourses(
+                CourseFilter.builder().status(CourseStatus.PUBLISHED).build(), "createdAt", "desc",
+                page.getNextCursor(), 5, true);
+        assertEquals(16, withTotal.getTotalElements());
+    }
+
+    @Test
+    @DisplayName("scrollCourses - should reject tampered cursors and cursors from another sort order")
+    void scrollCourses_ShouldRejectForeignCursors() {
+        String cursor = courseService.scrollCourses(CourseFilter.builder().build(), "title", "asc", null, 5, false)
+                .getNextCursor();
+
+        assertThrows(InvalidRequestException.class, () -> courseService.scrollCourses(
+                CourseFilter.builder().build(), "price", "asc", cursor, 5, false));
+        assertThrows(InvalidRequestException.class, () -> courseService.scrollCourses(
+                CourseFilter.builder().build(), "title", "asc", "not-a-cursor", 5, false));
+        assertThrows(InvalidRequestException.class, () -> courseService.scrollCourses(
+                CourseFilter.builder().build(), "professorId", "asc", null, 5, false));
+    }
+
+    private List<Long> scrollAll(CourseFilter filter, String sortBy, String sortDir) {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<CourseSummaryResponse> page = courseService.scrollCourses(filter, sortBy, sortDir, cursor, 4,
+                    false);
+            page.getContent().forEach(course -> seen.add(course.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+        return seen;
+    }
+
+    private static List<Long> ids(List<Course> courses) {
+        return courses.stream().map(Course::getId).toList();
+    }
+}
@@ -0,0 +1,119 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.entities.Course;
+import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.entities.MediaBlob;
+import e_learning.catalog_service.repositories.CourseRepository;
+import e_learning.catalog_service.repositories.MediaBlobRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class ImageRenditionServiceTest {
+
+    private static final String BASE_URL = "http://localhost:8085/uploads/";
+
+    @Autowired
+    private MediaBlobRepository mediaBlobRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @TempDir
+    Path uploadDir;
+
+    private MediaStorageService storage;
+    private ImageRenditionService renditions;
+
+    @BeforeEach
+    void setUp() {
+        storage = new MediaStorageService(mediaBlobRepository, uploadDir.toString(), BASE_URL);
+        renditions = new ImageRenditionService(mediaBlobRepository, courseRepository, storage,
+                uploadDir.toString(), new int[] {640, 160, 320}, 1, 10, 40_000_000, 0.8f);
+    }
+
+    @AfterEach
+    void tearDown() {
+        renditions.shutdown();
+    }
+
+    @Test
+    @DisplayName("render - should write fixed-width JPEGs next to the original and record them")
+    void render_ShouldWriteRenditionsAndUpdateCourses() throws Exception {
+        MediaBlob blob = storage.store(new ByteArrayInputStream(png(1000, 500)), "cover.png", "image/png");
+        String url = storage.urlOf(blob);
+        Course course = entityManager.persist(Course.builder()
+                .title("Course")
+                .status(CourseStatus.DRAFT)
+                .thumbnailUrl(url)
+                .build());
+
+        renditions.render(blob);
+
+        for (int width : new int[] {160, 320, 640}) {
+            Path file = uploadDir.resolve(ImageRenditionService.renditionName(blob.getStoredName(), width));
+            BufferedImage image = ImageIO.read(file.toFile());
+            assertEquals(width, image.getWidth());
+            assertEquals(width / 2, image.getHeight());
+        }
+        assertEquals("160,320,640", mediaBlobRepository.findById(blob.getSha256()).orElseThrow().getRenditionWidths());
+        assertEquals("160,320,640", renditions.widthsFor(url));
+        entityManager.clear();
+        assertEquals("160,320,640", courseRepository.findById(course.getId()).orElseThrow().getThumbnailWidths());
+
+        String prefix = url.substring(0, url.length() - ".png".length());
+        assertEquals(prefix + "-w160.jpg 160w, " + prefix + "-w320.jpg 320w, " + prefix + "-w640.jpg 640w",
+                ImageRenditionService.srcset(url, "160,320,640"));
+
+        // Releasing the original removes its renditions too
+        storage.release(blob.getSha256());
+        try (var files = Files.list(uploadDir.resolve(blob.getStoredName()).getParent())) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    @DisplayName("render - should only make renditions narrower than the original")
+    void render_ShouldNotUpscale() throws Exception {
+        MediaBlob small = storage.store(new ByteArrayInputStream(png(200, 100)), "icon.png", "image/png");
+        MediaBlob tiny = storage.store(new ByteArrayInputStream(png(100, 100)), "dot.png", "image/png");
+
+        renditions.render(small);
+        renditions.render(tiny);
+
+        assertEquals("160", mediaBlobRepository.findById(small.getSha256()).orElseThrow().getRenditionWidths());
+        assertEquals("", mediaBlobRepository.findById(tiny.getSha256()).orElseThrow().getRenditionWidths());
+        assertNull(renditions.widthsFor(storage.urlOf(tiny)));
+        assertNull(ImageRenditionService.srcset(storage.urlOf(tiny), null));
+    }
+
+    private static byte[] png(int width, int height) throws Exception {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                image.setRGB(x, y, 0xFF000000 | (x * 255 / width) << 16 | (y * 255 / height) << 8);
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+}
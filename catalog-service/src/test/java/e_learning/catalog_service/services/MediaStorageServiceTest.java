@@ -0,0 +1,123 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.entities.Course;
+import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.entities.Lesson;
+import e_learning.catalog_service.entities.MediaBlob;
+import e_learning.catalog_service.entities.Module;
+import e_learning.catalog_service.events.MediaReleasedEvent;
+import e_learning.catalog_service.repositories.MediaBlobRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@RecordApplicationEvents
+class MediaStorageServiceTest {
+
+    private static final String BASE_URL = "http://localhost:8085/uploads/";
+
+    @Autowired
+    private MediaBlobRepository mediaBlobRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @TempDir
+    Path uploadDir;
+
+    private MediaStorageService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new MediaStorageService(mediaBlobRepository, uploadDir.toString(), BASE_URL);
+    }
+
+    @Test
+    @DisplayName("store - should keep identical uploads once under a sharded path")
+    void store_ShouldDeduplicateIdenticalContent() throws Exception {
+        byte[] pdf = "%PDF-1.7 syllabus".getBytes(StandardCharsets.US_ASCII);
+        String hash = sha256(pdf);
+
+        MediaBlob first = service.store(new ByteArrayInputStream(pdf), "Syllabus.PDF", "application/pdf");
+        MediaBlob second = service.store(new ByteArrayInputStream(pdf), "copy.pdf", "application/pdf");
+
+        String expected = "blobs/" + hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash + ".pdf";
+        assertEquals(expected, first.getStoredName());
+        assertEquals(expected, second.getStoredName());
+        assertEquals(2, mediaBlobRepository.findById(hash).orElseThrow().getRefCount());
+        assertArrayEquals(pdf, Files.readAllBytes(uploadDir.resolve(expected)));
+        assertEquals(1, countFiles());
+        assertEquals(BASE_URL + expected, service.urlOf(first));
+        assertEquals(hash, service.sha256FromUrl(service.urlOf(first)).orElseThrow());
+        assertTrue(service.sha256FromUrl(BASE_URL + "thumbnails/old.png").isEmpty());
+    }
+
+    @Test
+    @DisplayName("release - should delete the file only when the last reference goes")
+    void release_ShouldCollectUnreferencedBlobs() throws Exception {
+        byte[] video = "not really a video".getBytes(StandardCharsets.US_ASCII);
+        MediaBlob blob = service.store(new ByteArrayInputStream(video), "intro.mp4", "video/mp4");
+        service.retain(blob.getSha256());
+        Path file = uploadDir.resolve(blob.getStoredName());
+
+        service.release(blob.getSha256());
+        assertTrue(Files.exists(file));
+        assertEquals(1, mediaBlobRepository.findById(blob.getSha256()).orElseThrow().getRefCount());
+
+        service.release(blob.getSha256());
+        assertFalse(Files.exists(file));
+        assertTrue(mediaBlobRepository.findById(blob.getSha256()).isEmpty());
+
+        // Uploading the same bytes again stores them afresh
+        service.store(new ByteArrayInputStream(video), "intro.mp4", "video/mp4");
+        assertTrue(Files.exists(file));
+    }
+
+    @Test
+    @DisplayName("Lesson removal - should release its media when the course is deleted with its lessons")
+    void courseDeletion_ShouldReleaseLessonMedia() {
+        Course course = entityManager.persist(Course.builder().title("Course").status(CourseStatus.DRAFT).build());
+        Module module = entityManager.persist(Module.builder().title("Module").course(course).build());
+        entityManager.persist(Lesson.builder().title("Intro").module(module).mediaSha256("a".repeat(64)).build());
+        entityManager.persist(Lesson.builder().title("Link").module(module).url("https://example.com").build());
+        entityManager.flush();
+        entityManager.clear();
+
+        entityManager.remove(entityManager.find(Course.class, course.getId()));
+        entityManager.flush();
+
+        List<String> released = events.stream(MediaReleasedEvent.class).map(MediaReleasedEvent::getSha256).toList();
+        assertEquals(List.of("a".repeat(64)), released);
+    }
+
+    private long countFiles() throws Exception {
+        try (Stream<Path> files = Files.walk(uploadDir.resolve("blobs"))) {
+            return files.filter(Files::isRegularFile).count();
+        }
+    }
+
+    private static String sha256(byte[] bytes) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+    }
+}
@@ -0,0 +1,139 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.dto.CreateAnswerRequest;
+import e_learning.catalog_service.dto.CreateQuestionRequest;
+import e_learning.catalog_service.dto.CreateQuizRequest;
+import e_learning.catalog_service.dto.QuizAnswerKeyResponse;
+import e_learning.catalog_service.entities.Answer;
+import e_learning.catalog_service.entities.Course;
+import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.entities.Module;
+import e_learning.catalog_service.entities.Question;
+import e_learning.catalog_service.entities.QuestionType;
+import e_learning.catalog_service.entities.Quiz;
+import e_learning.catalog_service.exceptions.ResourceNotFoundException;
+import e_learning.catalog_service.repositories.QuizRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(QuizService.class)
+class QuizServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private QuizService quizService;
+
+    @Autowired
+    private QuizRepository quizRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @DisplayName("createQuiz - should insert the whole quiz tree in a handful of batched statements")
+    void createQuiz_ShouldBatchInserts() {
+        Course course = entityManager.persist(Course.builder().title("Java").status(CourseStatus.DRAFT).build());
+        Module module = entityManager.persist(Module.builder().title("Basics").course(course).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<CreateQuestionRequest> questions = new ArrayList<>();
+        for (int q = 0; q < 50; q++) {
+            List<CreateAnswerRequest> answers = new ArrayList<>();
+            for (int a = 0; a < 4; a++) {
+                answers.add(CreateAnswerRequest.builder().answerText("Answer " + a).correct(a == 0).build());
+            }
+            questions.add(CreateQuestionRequest.builder()
+                    .questionText("Question " + q).type(QuestionType.SINGLE_CHOICE).points(1).answers(answers).build());
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        Quiz quiz = quizService.createQuiz(module.getId(), CreateQuizRequest.builder()
+                .title("Final exam").passingScore(60).questions(questions).build());
+        entityManager.flush();
+
+        assertEquals(1 + 50 + 200, statistics.getEntityInsertCount());
+        // Module lookup plus one batch per table and 50 rows, instead of 251 single-row inserts
+        assertTrue(statistics.getPrepareStatementCount() <= 10,
+                "prepared " + statistics.getPrepareStatementCount() + " statements");
+        entityManager.clear();
+        QuizAnswerKeyResponse key = quizService.getAnswerKey(quiz.getId());
+        assertEquals(50, key.getQuestionIds().length);
+        assertEquals(200, key.getAnswerIds().length);
+        assertThrows(ResourceNotFoundException.class,
+                () -> quizService.createQuiz(-1L, CreateQuizRequest.builder().title("Orphan").build()));
+    }
+
+    @Test
+    @DisplayName("getAnswerKey - should list every question in id order with its type, points and answers")
+    void getAnswerKey_ShouldCompileQuestions() {
+        Quiz quiz = entityManager.persist(Quiz.builder().title("Java basics").passingScore(70).build());
+        Question first = persistQuestion(quiz, QuestionType.SINGLE_CHOICE, 2);
+        Answer wrong = persistAnswer(first, false);
+        Answer right = persistAnswer(first, true);
+        Question empty = persistQuestion(quiz, QuestionType.TRUE_FALSE, 1);
+        Question multi = persistQuestion(quiz, QuestionType.MULTIPLE_CHOICE, null);
+        Answer multiRight = persistAnswer(multi, true);
+        Answer multiAlsoRight = persistAnswer(multi, true);
+        entityManager.flush();
+        entityManager.clear();
+
+        QuizAnswerKeyResponse key = quizService.getAnswerKey(quiz.getId());
+
+        assertEquals(0, key.getVersion());
+        assertEquals(70, key.getPassingScore());
+        assertArrayEquals(new long[] {first.getId(), empty.getId(), multi.getId()}, key.getQuestionIds());
+        assertArrayEquals(new int[] {2, 1, 1}, key.getPoints());
+        assertArrayEquals(new boolean[] {false, false, true}, key.getMultiSelect());
+        assertArrayEquals(new int[] {0, 2, 2, 4}, key.getAnswerOffsets());
+        assertArrayEquals(new long[] {wrong.getId(), right.getId(), multiRight.getId(), multiAlsoRight.getId()},
+                key.getAnswerIds());
+        assertArrayEquals(new boolean[] {false, true, true, true}, key.getCorrect());
+    }
+
+    @Test
+    @DisplayName("incrementAnswerKeyVersion - should raise the version reported with the key")
+    void incrementAnswerKeyVersion_ShouldBumpVersion() {
+        Quiz quiz = entityManager.persistAndFlush(Quiz.builder().title("Java basics").build());
+
+        quizRepository.incrementAnswerKeyVersion(quiz.getId());
+        quizRepository.incrementAnswerKeyVersion(quiz.getId());
+        entityManager.clear();
+
+        assertEquals(2L, quizRepository.findAnswerKeyVersion(quiz.getId()).orElseThrow());
+        assertEquals(2, quizService.getAnswerKey(quiz.getId()).getVersion());
+        assertThrows(ResourceNotFoundException.class, () -> quizService.getAnswerKey(-1L));
+    }
+
+    private Question persistQuestion(Quiz quiz, QuestionType type, Integer points) {
+        return entityManager.persist(Question.builder()
+                .questionText("Question")
+                .type(type)
+                .points(points)
+                .quiz(quiz)
+                .build());
+    }
+
+    private Answer persistAnswer(Question question, boolean correct) {
+        return entityManager.persist(Answer.builder().answerText("Answer").correct(correct).question(question).build());
+    }
+}
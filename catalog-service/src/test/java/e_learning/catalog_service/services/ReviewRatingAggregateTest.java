@@ -0,0 +1,115 @@
+package e_learning.catalog_service.services;
+
+import e_learning.catalog_service.dto.ReviewRequest;
+import e_learning.catalog_service.dto.ReviewResponse;
+import e_learning.catalog_service.entities.Course;
+import e_learning.catalog_service.entities.CourseStatus;
+import e_learning.catalog_service.entities.Review;
+import e_learning.catalog_service.repositories.CourseRepository;
+import e_learning.catalog_service.repositories.ReviewRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(ReviewService.class)
+class ReviewRatingAggregateTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ReviewService reviewService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Test
+    @DisplayName("create/update/delete review - should keep sum, count, average and histogram in step")
+    void reviewWrites_ShouldMaintainAggregates() {
+        Course course = persistCourse();
+        ReviewResponse five = reviewService.createReview(request(1L, course, 5));
+        reviewService.createReview(request(2L, course, 4));
+        ReviewResponse four = reviewService.createReview(request(3L, course, 4));
+        reviewService.createReview(request(4L, course, 2));
+
+        reviewService.updateReview(four.getId(), request(3L, course, 1));
+        reviewService.deleteReview(five.getId(), 1L);
+        entityManager.flush();
+        entityManager.clear();
+
+        Course reloaded = courseRepository.findById(course.getId()).orElseThrow();
+        assertEquals(3, reloaded.getRatingCount());
+        assertEquals(7L, reloaded.getRatingSum());
+        assertEquals(reviewRepository.calculateAverageRating(course.getId()), reloaded.getAverageRating(), 1e-9);
+        assertEquals(1, reloaded.getOneStarCount());
+        assertEquals(1, reloaded.getTwoStarCount());
+        assertEquals(0, reloaded.getThreeStarCount());
+        assertEquals(1, reloaded.getFourStarCount());
+        assertEquals(0, reloaded.getFiveStarCount());
+    }
+
+    @Test
+    @DisplayName("deleteReview - should reset the average to zero when the last review goes")
+    void deleteReview_ShouldResetAverageWhenEmpty() {
+        Course course = persistCourse();
+        ReviewResponse review = reviewService.createReview(request(1L, course, 3));
+
+        reviewService.deleteReview(review.getId(), 1L);
+        entityManager.flush();
+        entityManager.clear();
+
+        Course reloaded = courseRepository.findById(course.getId()).orElseThrow();
+        assertEquals(0, reloaded.getRatingCount());
+        assertEquals(0.0, reloaded.getAverageRating());
+        assertEquals(0, reloaded.getThreeStarCount());
+    }
+
+    @Test
+    @DisplayName("backfillRatingAggregates - should compute aggregates missing from older rows")
+    void backfillRatingAggregates_ShouldFillNullCounts() {
+        Course legacy = entityManager.persist(Course.builder()
+                .title("Legacy")
+                .status(CourseStatus.PUBLISHED)
+                .ratingCount(null)
+                .build());
+        entityManager.persist(Review.builder().studentId(1L).course(legacy).rating(5).build());
+        entityManager.persist(Review.builder().studentId(2L).course(legacy).rating(2).build());
+        entityManager.flush();
+
+        assertEquals(1, courseRepository.backfillRatingAggregates());
+        entityManager.clear();
+
+        Course reloaded = courseRepository.findById(legacy.getId()).orElseThrow();
+        assertEquals(2, reloaded.getRatingCount());
+        assertEquals(7L, reloaded.getRatingSum());
+        assertEquals(3.5, reloaded.getAverageRating());
+        assertEquals(1, reloaded.getFiveStarCount());
+        assertEquals(1, reloaded.getTwoStarCount());
+    }
+
+    private Course persistCourse() {
+        Course course = entityManager.persist(Course.builder()
+                .title("Java Programming")
+                .status(CourseStatus.PUBLISHED)
+                .build());
+        entityManager.flush();
+        return course;
+    }
+
+    private static ReviewRequest request(Long studentId, Course course, int rating) {
+        return ReviewRequest.builder()
+                .studentId(studentId)
+                .courseId(course.getId())
+                .rating(rating)
+                .build();
+    }
+}
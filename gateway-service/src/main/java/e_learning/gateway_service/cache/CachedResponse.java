@@ -0,0 +1,20 @@
+package e_learning.gateway_service.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.HttpHeaders;
+
+import java.time.Duration;
+
+/**
+ * Immutable snapshot of an upstream response kept by the gateway.
+ */
+@Getter
+@AllArgsConstructor
+public class CachedResponse {
+    private final int status;
+    private final HttpHeaders headers;
+    private final byte[] body;
+    private final String etag;
+    private final Duration ttl;
+}
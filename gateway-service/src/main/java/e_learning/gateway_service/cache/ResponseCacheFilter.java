@@ -0,0 +1,289 @@
+package e_learning.gateway_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import e_learning.gateway_service.filter.RouteValidator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-memory cache for public, read-only catalog responses.
+ * <p>
+ * Concurrent misses for the same key share a single upstream call: the first request
+ * goes upstream and the others wait for its response. Rules with a zero TTL only do
+ * this coalescing and never keep the response once it has been delivered. Cached
+ * entries carry a strong ETag so browsers can revalidate with If-None-Match and get a 304.
+ */
+@Component
+public class ResponseCacheFilter implements GlobalFilter, Ordered {
+
+    public static final String CACHE_STATUS_HEADER = "X-Cache";
+
+    private final ResponseCacheProperties properties;
+    private final RouteValidator routeValidator;
+    private final Cache<String, CachedResponse> cache;
+    private final ConcurrentMap<String, CompletableFuture<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    // Hit ratio = (hit + coalesced) / all requests on cached routes
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public ResponseCacheFilter(ResponseCacheProperties properties, RouteValidator routeValidator,
+            MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.routeValidator = routeValidator;
+        this.hits = requestCounter(meterRegistry, "hit");
+        this.misses = requestCounter(meterRegistry, "miss");
+        this.coalesced = requestCounter(meterRegistry, "coalesced");
+        this.cache = Caffeine.newBuilder()
+                .recordStats()
+                .maximumWeight(properties.getMaxSizeBytes())
+                .weigher((String key, CachedResponse value) -> key.length() + value.getBody().length)
+                .expireAfter(new Expiry<String, CachedResponse>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedResponse value, long currentTime) {
+                        return value.getTtl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedResponse value, long currentTime,
+                            long currentDuration) {
+                        return value.getTtl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedResponse value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "gateway.response");
+    }
+
+    private static Counter requestCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("gateway.response.cache.requests")
+                .description("Requests on cached or coalesced routes, by how they were served")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || request.getMethod() != HttpMethod.GET) {
+            return chain.filter(exchange);
+        }
+
+        String path = request.getURI().getRawPath();
+        ResponseCacheProperties.Rule rule = findRule(path);
+        // Never cache anything that sits behind authentication
+        if (rule == null || !routeValidator.isOpenEndpoint(HttpMethod.GET, path)) {
+            return chain.filter(exchange);
+        }
+
+        String key = cacheKey(path, request.getURI().getRawQuery());
+        CachedResponse cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return writeCached(exchange, cached, "HIT");
+        }
+
+        CompletableFuture<CachedResponse> pending = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> leader = inFlight.putIfAbsent(key, pending);
+        if (leader != null) {
+            // Another request is already fetching this key: reuse its response, or go
+            // upstream ourselves if it turned out not to be cacheable
+            coalesced.increment();
+            return Mono.fromFuture(leader)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(response -> response.isPresent()
+                            ? writeCached(exchange, response.get(), "COALESCED")
+                            : chain.filter(exchange));
+        }
+
+        misses.increment();
+        CachingResponseDecorator decorator = new CachingResponseDecorator(exchange, key, rule, pending);
+        return chain.filter(exchange.mutate().response(decorator).build())
+                .doFinally(signal -> {
+                    pending.complete(null);
+                    inFlight.remove(key, pending);
+                });
+    }
+
+    private ResponseCacheProperties.Rule findRule(String path) {
+        for (ResponseCacheProperties.Rule rule : properties.getRoutes()) {
+            if (rule.matches(path)) {
+                return rule;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Cache key from the path and the raw query parameters sorted by name, so that
+     * "?page=0&size=10" and "?size=10&page=0" share an entry. The parameters stay URL-encoded,
+     * so an encoded "&" or "=" inside a value cannot make one query look like another.
+     * Also keys the compression cache.
+     */
+    public static String cacheKey(String path, String rawQuery) {
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return path;
+        }
+        List<String> params = new ArrayList<>();
+        for (String param : rawQuery.split("&")) {
+            if (!param.isEmpty()) {
+                params.add(param);
+            }
+        }
+        if (params.isEmpty()) {
+            return path;
+        }
+        // Stable sort on the name only, so repeated parameters keep their order
+        params.sort(Comparator.comparing(param -> {
+            int equals = param.indexOf('=');
+            return equals < 0 ? param : param.substring(0, equals);
+        }));
+        return path + '?' + String.join("&", params);
+    }
+
+    private Mono<Void> writeCached(ServerWebExchange exchange, CachedResponse cached, String cacheStatus) {
+        ServerHttpResponse response = exchange.getResponse();
+        HttpHeaders headers = response.getHeaders();
+        cached.getHeaders().forEach((name, values) -> {
+            if (!headers.containsKey(name)) {
+                headers.put(name, values);
+            }
+        });
+        headers.setETag(cached.getEtag());
+        headers.set(CACHE_STATUS_HEADER, cacheStatus);
+
+        if (isNotModified(exchange.getRequest(), cached.getEtag())) {
+            response.setStatusCode(HttpStatus.NOT_MODIFIED);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            return response.setComplete();
+        }
+
+        response.setStatusCode(HttpStatusCode.valueOf(cached.getStatus()));
+        headers.setContentLength(cached.getBody().length);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(cached.getBody())));
+    }
+
+    private static boolean isNotModified(ServerHttpRequest request, String etag) {
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        return ifNoneMatch.contains(etag) || ifNoneMatch.contains("*");
+    }
+
+    private static HttpHeaders cacheableHeaders(HttpHeaders upstream) {
+        HttpHeaders headers = new HttpHeaders();
+        upstream.forEach((name, values) -> {
+            // Hop-by-hop, per-request and CORS headers are recomputed for every response
+            if (name.equalsIgnoreCase(HttpHeaders.TRANSFER_ENCODING)
+                    || name.equalsIgnoreCase(HttpHeaders.CONNECTION)
+                    || name.equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)
+                    || name.equalsIgnoreCase(HttpHeaders.SET_COOKIE)
+                    || name.equalsIgnoreCase(HttpHeaders.ETAG)
+                    || name.equalsIgnoreCase(HttpHeaders.DATE)
+                    || name.toLowerCase().startsWith("access-control-")) {
+                return;
+            }
+            headers.put(name, List.copyOf(values));
+        });
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
+
+    /**
+     * Buffers a cacheable upstream response, stores it, and hands it to waiting requests.
+     */
+    private class CachingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final ServerWebExchange exchange;
+        private final String key;
+        private final ResponseCacheProperties.Rule rule;
+        private final CompletableFuture<CachedResponse> pending;
+
+        CachingResponseDecorator(ServerWebExchange exchange, String key, ResponseCacheProperties.Rule rule,
+                CompletableFuture<CachedResponse> pending) {
+            super(exchange.getResponse());
+            this.exchange = exchange;
+            this.key = key;
+            this.rule = rule;
+            this.pending = pending;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpStatusCode status = getStatusCode();
+            long contentLength = getHeaders().getContentLength();
+            if (status == null || status.value() != HttpStatus.OK.value()
+                    || contentLength > properties.getMaxBodyBytes()) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(Flux.from(body)).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+
+                String etag = "\"" + DigestUtils.md5DigestAsHex(bytes) + "\"";
+                CachedResponse entry = new CachedResponse(status.value(), cacheableHeaders(getHeaders()), bytes,
+                        etag, rule.getTtl());
+                if (bytes.length <= properties.getMaxBodyBytes() && !rule.getTtl().isZero()) {
+                    cache.put(key, entry);
+                }
+                pending.complete(entry);
+
+                HttpHeaders headers = getHeaders();
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                headers.setETag(etag);
+                headers.set(CACHE_STATUS_HEADER, "MISS");
+
+                if (isNotModified(exchange.getRequest(), etag)) {
+                    setStatusCode(HttpStatus.NOT_MODIFIED);
+                    headers.remove(HttpHeaders.CONTENT_LENGTH);
+                    return setComplete();
+                }
+
+                headers.setContentLength(bytes.length);
+                return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+            });
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Must wrap the response before NettyWriteResponseFilter writes it
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 1;
+    }
+}
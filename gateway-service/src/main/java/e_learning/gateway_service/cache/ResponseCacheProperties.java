@@ -0,0 +1,36 @@
+package e_learning.gateway_service.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "gateway.response-cache")
+public class ResponseCacheProperties {
+
+    private boolean enabled = true;
+
+    // Upper bound on the total size of cached bodies
+    private long maxSizeBytes = 64L * 1024 * 1024;
+
+    // Responses larger than this are passed through without caching
+    private int maxBodyBytes = 1024 * 1024;
+
+    private List<Rule> routes = new ArrayList<>();
+
+    @Data
+    public static class Rule {
+        // Path prefix, matched on segment boundaries; the first matching rule wins
+        private String path;
+        // Zero means "coalesce concurrent identical requests but do not keep the response"
+        private Duration ttl = Duration.ofSeconds(30);
+
+        public boolean matches(String requestPath) {
+            return requestPath.startsWith(path)
+                    && (requestPath.length() == path.length() || requestPath.charAt(path.length()) == '/');
+        }
+    }
+}
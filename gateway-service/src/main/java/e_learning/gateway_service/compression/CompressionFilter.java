@@ -0,0 +1,183 @@
+package e_learning.gateway_service.compression;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import e_learning.gateway_service.cache.ResponseCacheFilter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.reactivestreams.Publisher;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.filter.NettyWriteResponseFilter;
+import org.springframework.core.Ordered;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.http.server.reactive.ServerHttpResponseDecorator;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Gzips JSON responses above a size threshold when the client accepts it.
+ * <p>
+ * Responses that carry an ETag (e.g. from the response cache) are compressed once per
+ * request path, query and ETag, and the gzip body is reused; an ETag alone is only unique
+ * within one resource. The compressed representation gets its own ETag
+ * ({@code "<etag>-gzip"}); the suffix is stripped from If-None-Match on the way in so
+ * upstream revalidation keeps working.
+ */
+@Component
+public class CompressionFilter implements GlobalFilter, Ordered {
+
+    private static final String GZIP = "gzip";
+    private static final String ETAG_SUFFIX = "-gzip\"";
+
+    private final CompressionProperties properties;
+    private final Cache<String, byte[]> compressedByResource;
+    private final Counter originalBytes;
+    private final Counter compressedBytes;
+
+    public CompressionFilter(CompressionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.compressedByResource = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxCachedBytes())
+                .weigher((String key, byte[] body) -> key.length() + body.length)
+                .build();
+        // Bytes saved on the wire = original - compressed
+        this.originalBytes = Counter.builder("gateway.compression.original.bytes")
+                .description("Size of compressed responses before compression")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.compressedBytes = Counter.builder("gateway.compression.compressed.bytes")
+                .description("Size of compressed responses after compression")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        if (!properties.isEnabled() || !acceptsGzip(request.getHeaders())) {
+            return chain.filter(exchange);
+        }
+
+        List<String> ifNoneMatch = request.getHeaders().getIfNoneMatch();
+        if (ifNoneMatch.stream().anyMatch(etag -> etag.endsWith(ETAG_SUFFIX))) {
+            request = request.mutate()
+                    .headers(headers -> headers.setIfNoneMatch(ifNoneMatch.stream()
+                            .map(CompressionFilter::stripSuffix)
+                            .toList()))
+                    .build();
+        }
+
+        String resource = ResponseCacheFilter.cacheKey(request.getURI().getRawPath(),
+                request.getURI().getRawQuery());
+        ServerWebExchange mutated = exchange.mutate()
+                .request(request)
+                .response(new CompressingResponseDecorator(exchange.getResponse(), resource))
+                .build();
+        return chain.filter(mutated);
+    }
+
+    private static boolean acceptsGzip(HttpHeaders headers) {
+        for (String value : headers.getOrEmpty(HttpHeaders.ACCEPT_ENCODING)) {
+            for (String coding : value.split(",")) {
+                String trimmed = coding.trim();
+                if (trimmed.startsWith(GZIP) && !trimmed.replace(" ", "").endsWith("q=0")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String stripSuffix(String etag) {
+        return etag.endsWith(ETAG_SUFFIX) ? etag.substring(0, etag.length() - ETAG_SUFFIX.length()) + "\"" : etag;
+    }
+
+    private boolean isCompressible(HttpHeaders headers) {
+        MediaType contentType = headers.getContentType();
+        if (contentType == null || headers.containsKey(HttpHeaders.CONTENT_ENCODING)) {
+            return false;
+        }
+        long contentLength = headers.getContentLength();
+        if (contentLength >= 0 && contentLength < properties.getMinResponseSize()) {
+            return false;
+        }
+        return properties.getMimeTypes().stream().anyMatch(type -> type.isCompatibleWith(contentType));
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private class CompressingResponseDecorator extends ServerHttpResponseDecorator {
+
+        private final String resource;
+
+        CompressingResponseDecorator(ServerHttpResponse delegate, String resource) {
+            super(delegate);
+            this.resource = resource;
+        }
+
+        @Override
+        public Mono<Void> writeWith(Publisher<? extends DataBuffer> body) {
+            HttpHeaders headers = getHeaders();
+            HttpStatusCode status = getStatusCode();
+            if ((status != null && (status.value() == 204 || status.value() == 304)) || !isCompressible(headers)) {
+                return super.writeWith(body);
+            }
+
+            return DataBufferUtils.join(Flux.from(body)).flatMap(buffer -> {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                DataBufferUtils.release(buffer);
+
+                headers.add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+                if (bytes.length < properties.getMinResponseSize()) {
+                    headers.setContentLength(bytes.length);
+                    return super.writeWith(Mono.just(bufferFactory().wrap(bytes)));
+                }
+
+                String etag = headers.getETag();
+                byte[] compressed = etag != null
+                        ? compressedByResource.get(resource + ' ' + etag, key -> gzip(bytes))
+                        : gzip(bytes);
+                originalBytes.increment(bytes.length);
+                compressedBytes.increment(compressed.length);
+
+                headers.remove(HttpHeaders.TRANSFER_ENCODING);
+                headers.set(HttpHeaders.CONTENT_ENCODING, GZIP);
+                headers.setContentLength(compressed.length);
+                if (etag != null && etag.startsWith("\"")) {
+                    headers.setETag(etag.substring(0, etag.length() - 1) + ETAG_SUFFIX);
+                }
+                return super.writeWith(Mono.just(bufferFactory().wrap(compressed)));
+            });
+        }
+    }
+
+    @Override
+    public int getOrder() {
+        // Outside the response cache, so cached bodies are stored uncompressed
+        return NettyWriteResponseFilter.WRITE_RESPONSE_FILTER_ORDER - 2;
+    }
+}
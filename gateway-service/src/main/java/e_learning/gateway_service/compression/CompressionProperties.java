@@ -0,0 +1,23 @@
+package e_learning.gateway_service.compression;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "gateway.compression")
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    // Responses smaller than this are sent as-is
+    private int minResponseSize = 2048;
+
+    private List<MediaType> mimeTypes = new ArrayList<>(List.of(MediaType.APPLICATION_JSON));
+
+    // Upper bound on the gzip bodies remembered per ETag
+    private long maxCachedBytes = 32L * 1024 * 1024;
+}
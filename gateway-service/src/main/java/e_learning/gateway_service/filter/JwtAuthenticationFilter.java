@@ -1,6 +1,8 @@
 package e_learning.gateway_service.filter;
 
+import e_learning.gateway_service.logging.AccessLogFilter;
 import e_learning.gateway_service.security.JwtUtil;
+import e_learning.gateway_service.security.VerifiedToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
@@ -14,6 +16,8 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
+import java.util.Optional;
+
 @Component
 public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
 
@@ -32,41 +36,40 @@ public class JwtAuthenticationFilter implements GlobalFilter, Ordered {
         ServerHttpRequest request = exchange.getRequest();
         String path = request.getURI().getPath();
 
-        log.info("Incoming request: {} {}", request.getMethod(), path);
-
         // Skip authentication for open endpoints
-        if (routeValidator.isOpenEndpoint(path)) {
-            log.info("Open endpoint, skipping authentication: {}", path);
+        if (routeValidator.isOpenEndpoint(request.getMethod(), path)) {
             return chain.filter(exchange);
         }
 
         // Check for Authorization header
         if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
-            log.warn("Missing Authorization header for: {}", path);
+            log.debug("Missing Authorization header for: {}", path);
             return onError(exchange, "Missing Authorization header", HttpStatus.UNAUTHORIZED);
         }
 
         String authHeader = request.getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
-            log.warn("Invalid Authorization header format for: {}", path);
+            log.debug("Invalid Authorization header format for: {}", path);
             return onError(exchange, "Invalid Authorization header format", HttpStatus.UNAUTHORIZED);
         }
 
         String token = authHeader.substring(7);
 
         try {
-            if (!jwtUtil.isTokenValid(token)) {
-                log.warn("Invalid or expired token for: {}", path);
+            Optional<VerifiedToken> verified = jwtUtil.verify(token);
+            if (verified.isEmpty()) {
+                log.debug("Invalid or expired token for: {}", path);
                 return onError(exchange, "Invalid or expired token", HttpStatus.UNAUTHORIZED);
             }
 
             // Extract user info from token and add to headers for downstream services
-            String userId = String.valueOf(jwtUtil.extractUserId(token));
-            String email = jwtUtil.extractEmail(token);
-            String role = jwtUtil.extractRole(token);
+            VerifiedToken user = verified.get();
+            String userId = String.valueOf(user.getUserId());
+            String email = user.getEmail();
+            String role = user.getRole();
 
-            log.info("Authenticated user: {} ({}), role: {}", email, userId, role);
+            exchange.getAttributes().put(AccessLogFilter.USER_ID_ATTR, userId);
 
             // Add user info to request headers for downstream services
             ServerHttpRequest modifiedRequest = request.mutate()
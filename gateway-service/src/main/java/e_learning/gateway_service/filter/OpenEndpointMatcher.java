@@ -0,0 +1,158 @@
+package e_learning.gateway_service.filter;
+
+import org.springframework.http.HttpMethod;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Path-segment trie compiled once from open-endpoint rules.
+ * <p>
+ * Rule syntax: {@code [METHOD[,METHOD...]] /path/segments}, where a segment may be
+ * {@code *} (exactly one segment) and a trailing {@code **} matches the path itself
+ * and everything below it. Rules without a method apply to every method.
+ * <p>
+ * Lookups walk the request path by index and compare segments in place, so matching
+ * allocates nothing.
+ */
+public final class OpenEndpointMatcher {
+
+    private static final String[] METHOD_NAMES = { "GET", "HEAD", "POST", "PUT", "PATCH", "DELETE", "OPTIONS",
+            "TRACE" };
+    private static final int ANY_METHOD = (1 << METHOD_NAMES.length) - 1;
+
+    private static final class Node {
+        private String[] segments = new String[0];
+        private Node[] children = new Node[0];
+        private Node singleWildcard;
+        // Methods allowed when the path ends exactly at this node
+        private int exactMethods;
+        // Methods allowed for this node and anything below it ("**")
+        private int subtreeMethods;
+
+        private Node child(String segment) {
+            for (int i = 0; i < segments.length; i++) {
+                if (segments[i].equals(segment)) {
+                    return children[i];
+                }
+            }
+            Node node = new Node();
+            segments = Arrays.copyOf(segments, segments.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            segments[segments.length - 1] = segment;
+            children[children.length - 1] = node;
+            return node;
+        }
+    }
+
+    private final Node root = new Node();
+
+    private OpenEndpointMatcher() {
+    }
+
+    public static OpenEndpointMatcher compile(List<String> rules) {
+        OpenEndpointMatcher matcher = new OpenEndpointMatcher();
+        for (String rule : rules) {
+            matcher.add(rule);
+        }
+        return matcher;
+    }
+
+    public boolean matches(HttpMethod method, String path) {
+        int methodBit = method != null ? methodBit(method.name()) : ANY_METHOD;
+        if (methodBit == 0 || path == null) {
+            return false;
+        }
+        return match(root, path, skipSlashes(path, 0), methodBit);
+    }
+
+    private boolean match(Node node, String path, int pos, int methodBit) {
+        if ((node.subtreeMethods & methodBit) != 0) {
+            return true;
+        }
+        if (pos >= path.length()) {
+            return (node.exactMethods & methodBit) != 0;
+        }
+
+        int end = path.indexOf('/', pos);
+        if (end < 0) {
+            end = path.length();
+        }
+        int length = end - pos;
+        int next = skipSlashes(path, end);
+
+        String[] segments = node.segments;
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.length() == length && path.regionMatches(pos, segment, 0, length)) {
+                if (match(node.children[i], path, next, methodBit)) {
+                    return true;
+                }
+                break;
+            }
+        }
+
+        return node.singleWildcard != null && match(node.singleWildcard, path, next, methodBit);
+    }
+
+    private void add(String rule) {
+        String trimmed = rule.trim();
+        int methods = ANY_METHOD;
+        String pattern = trimmed;
+
+        int space = trimmed.indexOf(' ');
+        if (space > 0) {
+            methods = 0;
+            for (String name : trimmed.substring(0, space).split(",")) {
+                int bit = methodBit(name.trim().toUpperCase());
+                if (bit == 0) {
+                    throw new IllegalArgumentException("Unknown HTTP method in open endpoint rule: " + rule);
+                }
+                methods |= bit;
+            }
+            pattern = trimmed.substring(space + 1).trim();
+        }
+
+        if (!pattern.startsWith("/")) {
+            throw new IllegalArgumentException("Open endpoint rule must start with '/': " + rule);
+        }
+
+        Node node = root;
+        String[] segments = Arrays.stream(pattern.split("/")).filter(s -> !s.isEmpty()).toArray(String[]::new);
+        for (int i = 0; i < segments.length; i++) {
+            String segment = segments[i];
+            if (segment.equals("**")) {
+                if (i != segments.length - 1) {
+                    throw new IllegalArgumentException("'**' is only supported as the last segment: " + rule);
+                }
+                node.subtreeMethods |= methods;
+                return;
+            }
+            if (segment.equals("*")) {
+                if (node.singleWildcard == null) {
+                    node.singleWildcard = new Node();
+                }
+                node = node.singleWildcard;
+            } else {
+                node = node.child(segment);
+            }
+        }
+        node.exactMethods |= methods;
+    }
+
+    private static int skipSlashes(String path, int pos) {
+        while (pos < path.length() && path.charAt(pos) == '/') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int methodBit(String name) {
+        for (int i = 0; i < METHOD_NAMES.length; i++) {
+            if (METHOD_NAMES[i].equals(name)) {
+                return 1 << i;
+            }
+        }
+        return 0;
+    }
+}
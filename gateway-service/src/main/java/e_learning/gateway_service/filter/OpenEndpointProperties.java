@@ -0,0 +1,15 @@
+package e_learning.gateway_service.filter;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "gateway.security")
+public class OpenEndpointProperties {
+
+    // Endpoints that don't require authentication, see OpenEndpointMatcher for the rule syntax
+    private List<String> openEndpoints = new ArrayList<>();
+}
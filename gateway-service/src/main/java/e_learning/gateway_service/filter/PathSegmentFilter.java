@@ -0,0 +1,55 @@
+package e_learning.gateway_service.filter;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+
+/**
+ * Rejects paths with empty, "." or ".." segments, or with encoded slashes, before they are forwarded.
+ * <p>
+ * Route predicates and open-endpoint rules see the raw path, but StripPrefix and the services
+ * normalize it, so /learning-service//internal/... or /learning-service/./internal/... would
+ * slip past the /*&#47;internal/** deny route and still reach /internal/... downstream.
+ * A trailing slash is allowed.
+ */
+@Component
+public class PathSegmentFilter implements GlobalFilter, Ordered {
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!isCanonical(exchange.getRequest().getURI().getRawPath())) {
+            exchange.getResponse().setStatusCode(HttpStatus.BAD_REQUEST);
+            return exchange.getResponse().setComplete();
+        }
+        return chain.filter(exchange);
+    }
+
+    static boolean isCanonical(String rawPath) {
+        if (rawPath == null || rawPath.isEmpty()) {
+            return true;
+        }
+        String path = rawPath.toLowerCase(Locale.ROOT);
+        if (path.contains("%2f") || path.contains("%5c") || path.contains("\\")) {
+            return false;
+        }
+        String[] segments = path.split("/", -1);
+        for (int i = 1; i < segments.length; i++) {
+            String segment = segments[i].replace("%2e", ".");
+            if (segment.isEmpty() ? i < segments.length - 1 : segment.equals(".") || segment.equals("..")) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1; // Right after the access log, so rejections are still logged
+    }
+}
@@ -0,0 +1,84 @@
+package e_learning.gateway_service.logging;
+
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Emits a single structured access-log record per request once the response completes.
+ */
+@Component
+public class AccessLogFilter implements GlobalFilter, Ordered {
+
+    // Set by the authentication filter so the record can carry the caller's id
+    public static final String USER_ID_ATTR = AccessLogFilter.class.getName() + ".userId";
+
+    private final AccessLogProperties properties;
+    private final AccessLogWriter writer;
+
+    public AccessLogFilter(AccessLogProperties properties, AccessLogWriter writer) {
+        this.properties = properties;
+        this.writer = writer;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        if (!properties.isEnabled()) {
+            return chain.filter(exchange);
+        }
+        long start = System.nanoTime();
+        return chain.filter(exchange).doFinally(signal -> record(exchange, start));
+    }
+
+    private void record(ServerWebExchange exchange, long start) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        String routeId = route != null ? route.getId() : null;
+        HttpStatusCode statusCode = exchange.getResponse().getStatusCode();
+        int status = statusCode != null ? statusCode.value() : 0;
+
+        boolean error = status >= 400 || status == 0;
+        switch (properties.verbosityFor(routeId)) {
+            case OFF:
+                return;
+            case ERRORS:
+                if (!error) {
+                    return;
+                }
+                break;
+            case ALL:
+                if (!error && properties.getSampleRate() < 1.0
+                        && ThreadLocalRandom.current().nextDouble() >= properties.getSampleRate()) {
+                    return;
+                }
+                break;
+        }
+
+        ServerHttpRequest request = exchange.getRequest();
+        InetSocketAddress remote = request.getRemoteAddress();
+        writer.submit(new AccessLogRecord(
+                System.currentTimeMillis(),
+                request.getMethod().name(),
+                request.getURI().getRawPath(),
+                routeId,
+                status,
+                (System.nanoTime() - start) / 1_000,
+                exchange.getAttribute(USER_ID_ATTR),
+                remote != null && remote.getAddress() != null ? remote.getAddress().getHostAddress() : null));
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE; // Wrap every other filter to measure the full request
+    }
+}
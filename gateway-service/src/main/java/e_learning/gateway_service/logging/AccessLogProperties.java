@@ -0,0 +1,38 @@
+package e_learning.gateway_service.logging;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "gateway.access-log")
+public class AccessLogProperties {
+
+    public enum Verbosity {
+        OFF, // never log
+        ERRORS, // only responses with status >= 400
+        ALL // every request, subject to sampling
+    }
+
+    private boolean enabled = true;
+
+    // Capacity of the ring buffer between the event loop and the writer thread
+    private int bufferSize = 8192;
+
+    // Fraction of successful requests to log (errors are always logged)
+    private double sampleRate = 1.0;
+
+    private Verbosity defaultVerbosity = Verbosity.ALL;
+
+    // Verbosity per route id (e.g. catalog-service-route: ERRORS)
+    private Map<String, Verbosity> routes = new HashMap<>();
+
+    public Verbosity verbosityFor(String routeId) {
+        if (routeId == null) {
+            return defaultVerbosity;
+        }
+        return routes.getOrDefault(routeId, defaultVerbosity);
+    }
+}
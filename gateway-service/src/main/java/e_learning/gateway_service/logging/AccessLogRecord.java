@@ -0,0 +1,17 @@
+package e_learning.gateway_service.logging;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class AccessLogRecord {
+    private final long timestampMillis;
+    private final String method;
+    private final String path;
+    private final String routeId;
+    private final int status;
+    private final long durationMicros;
+    private final String userId;
+    private final String clientIp;
+}
@@ -0,0 +1,114 @@
+package e_learning.gateway_service.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves access-log appender I/O off the Netty event loop. Event-loop threads only
+ * offer a record to a bounded ring buffer (never blocking, dropping when full);
+ * a single background thread drains the buffer and writes to the "gateway.access" logger.
+ */
+@Component
+public class AccessLogWriter {
+
+    private static final Logger accessLog = LoggerFactory.getLogger("gateway.access");
+    private static final Logger log = LoggerFactory.getLogger(AccessLogWriter.class);
+
+    private static final int DRAIN_BATCH = 256;
+
+    private final ArrayBlockingQueue<AccessLogRecord> buffer;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    public AccessLogWriter(AccessLogProperties properties) {
+        this.buffer = new ArrayBlockingQueue<>(Math.max(properties.getBufferSize(), DRAIN_BATCH));
+        this.writerThread = new Thread(this::drainLoop, "gateway-access-log");
+        this.writerThread.setDaemon(true);
+    }
+
+    @PostConstruct
+    void start() {
+        writerThread.start();
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        writerThread.interrupt();
+        writerThread.join(TimeUnit.SECONDS.toMillis(2));
+    }
+
+    /**
+     * Non-blocking hand-off from the request path.
+     */
+    public void submit(AccessLogRecord record) {
+        if (!buffer.offer(record)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void drainLoop() {
+        List<AccessLogRecord> batch = new ArrayList<>(DRAIN_BATCH);
+        StringBuilder line = new StringBuilder(256);
+        while (running || !buffer.isEmpty()) {
+            try {
+                AccessLogRecord first = buffer.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    reportDropped();
+                    continue;
+                }
+                batch.add(first);
+                buffer.drainTo(batch, DRAIN_BATCH - 1);
+                for (AccessLogRecord record : batch) {
+                    write(record, line);
+                }
+                batch.clear();
+                reportDropped();
+            } catch (InterruptedException e) {
+                if (!running) {
+                    buffer.drainTo(batch);
+                    batch.forEach(record -> write(record, line));
+                    return;
+                }
+            } catch (RuntimeException e) {
+                batch.clear();
+                log.error("Access log writer failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void write(AccessLogRecord record, StringBuilder line) {
+        line.setLength(0);
+        line.append("ts=").append(Instant.ofEpochMilli(record.getTimestampMillis()))
+                .append(" method=").append(record.getMethod())
+                .append(" path=").append(record.getPath())
+                .append(" route=").append(record.getRouteId())
+                .append(" status=").append(record.getStatus())
+                .append(" durationUs=").append(record.getDurationMicros())
+                .append(" userId=").append(record.getUserId())
+                .append(" clientIp=").append(record.getClientIp());
+        accessLog.info(line.toString());
+    }
+
+    private void reportDropped() {
+        long count = dropped.getAndSet(0);
+        if (count > 0) {
+            log.warn("Access log buffer full, dropped {} records", count);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package e_learning.gateway_service.ratelimit;
+
+import lombok.Getter;
+
+import java.util.Map;
+
+/**
+ * Limit parsed from a route's "rate-limit" metadata: {@code replenish-rate} requests
+ * per second on average, with bursts of up to {@code burst-capacity} requests.
+ */
+@Getter
+public class RateLimit {
+
+    private final double replenishRate;
+    private final int burstCapacity;
+
+    // Nanoseconds between two tokens, and how far ahead of "now" the bucket may be drawn
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+
+    public RateLimit(double replenishRate, int burstCapacity) {
+        if (replenishRate <= 0 || burstCapacity <= 0) {
+            throw new IllegalArgumentException("Rate limit values must be positive");
+        }
+        this.replenishRate = replenishRate;
+        this.burstCapacity = burstCapacity;
+        this.emissionIntervalNanos = (long) (1_000_000_000L / replenishRate);
+        this.burstToleranceNanos = emissionIntervalNanos * burstCapacity;
+    }
+
+    /**
+     * Reads {@code rate-limit: {replenish-rate, burst-capacity}} from route metadata,
+     * or returns null when the route is not limited.
+     */
+    static RateLimit fromMetadata(Map<String, Object> metadata) {
+        Object config = metadata.get("rate-limit");
+        if (!(config instanceof Map<?, ?> values)) {
+            return null;
+        }
+        double replenishRate = Double.parseDouble(String.valueOf(values.get("replenish-rate")));
+        Object burst = values.get("burst-capacity");
+        int burstCapacity = burst != null ? Integer.parseInt(String.valueOf(burst)) : (int) Math.ceil(replenishRate);
+        return new RateLimit(replenishRate, burstCapacity);
+    }
+}
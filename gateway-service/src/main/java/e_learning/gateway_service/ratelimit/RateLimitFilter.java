@@ -0,0 +1,110 @@
+package e_learning.gateway_service.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import e_learning.gateway_service.logging.AccessLogFilter;
+import org.springframework.cloud.gateway.event.RefreshRoutesEvent;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.cloud.gateway.filter.GlobalFilter;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.cloud.gateway.support.ipresolver.RemoteAddressResolver;
+import org.springframework.cloud.gateway.support.ipresolver.XForwardedRemoteAddressResolver;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+/**
+ * Per-route rate limiting with in-process token buckets. Authenticated requests are
+ * limited per user id, anonymous ones (open endpoints) per client IP. Behind a load
+ * balancer the client IP comes from X-Forwarded-For, trusting only the entries added by
+ * the configured number of proxies, so clients cannot pick their own bucket.
+ */
+@Component
+public class RateLimitFilter implements GlobalFilter, Ordered {
+
+    private final RateLimitProperties properties;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<String, Optional<RateLimit>> limitsByRoute = new ConcurrentHashMap<>();
+    private final RemoteAddressResolver remoteAddressResolver;
+
+    public RateLimitFilter(RateLimitProperties properties) {
+        this.properties = properties;
+        this.remoteAddressResolver = properties.getTrustedProxies() > 0
+                ? XForwardedRemoteAddressResolver.maxTrustedIndex(properties.getTrustedProxies())
+                : new RemoteAddressResolver() { };
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxKeys())
+                .expireAfterAccess(properties.getIdleTimeout())
+                .build();
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, GatewayFilterChain chain) {
+        Route route = exchange.getAttribute(GATEWAY_ROUTE_ATTR);
+        if (!properties.isEnabled() || route == null) {
+            return chain.filter(exchange);
+        }
+
+        Optional<RateLimit> limit = limitsByRoute.computeIfAbsent(route.getId(),
+                id -> Optional.ofNullable(RateLimit.fromMetadata(route.getMetadata())));
+        if (limit.isEmpty()) {
+            return chain.filter(exchange);
+        }
+
+        String key = route.getId() + ':' + clientKey(exchange);
+        long waitNanos = buckets.get(key, k -> new TokenBucket()).tryConsume(limit.get());
+        if (waitNanos == 0) {
+            return chain.filter(exchange);
+        }
+        return tooManyRequests(exchange, waitNanos);
+    }
+
+    @EventListener(RefreshRoutesEvent.class)
+    public void onRoutesRefreshed() {
+        limitsByRoute.clear();
+    }
+
+    private String clientKey(ServerWebExchange exchange) {
+        // Set by the authentication filter; a client-supplied X-User-Id header is never trusted here
+        String userId = exchange.getAttribute(AccessLogFilter.USER_ID_ATTR);
+        if (userId != null) {
+            return "user:" + userId;
+        }
+        InetSocketAddress remote = remoteAddressResolver.resolve(exchange);
+        if (remote != null && remote.getAddress() != null) {
+            return "ip:" + remote.getAddress().getHostAddress();
+        }
+        return "ip:unknown";
+    }
+
+    private Mono<Void> tooManyRequests(ServerWebExchange exchange, long waitNanos) {
+        ServerHttpResponse response = exchange.getResponse();
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        long retryAfterSeconds = Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.getHeaders().add("Content-Type", "application/json");
+
+        String body = String.format("{\"error\": \"%s\", \"status\": %d}", "Too many requests",
+                HttpStatus.TOO_MANY_REQUESTS.value());
+
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body.getBytes())));
+    }
+
+    @Override
+    public int getOrder() {
+        return 0; // After JwtAuthenticationFilter, so the caller's user id is known
+    }
+}
@@ -0,0 +1,28 @@
+package e_learning.gateway_service.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Global settings for the rate limiter. Limits themselves are declared per route
+ * in the "rate-limit" metadata of spring.cloud.gateway.routes.
+ */
+@Data
+@ConfigurationProperties(prefix = "gateway.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+
+    // Maximum number of buckets kept in memory; least recently used keys are evicted
+    private long maxKeys = 500_000;
+
+    // Buckets idle for longer than this are full again and can be dropped
+    private Duration idleTimeout = Duration.ofMinutes(10);
+
+    // Proxies (load balancers) in front of the gateway that append to X-Forwarded-For.
+    // Anonymous requests are keyed on the address that many hops from the right of the header;
+    // 0 means the gateway is the edge and the connection's address is used.
+    private int trustedProxies = 0;
+}
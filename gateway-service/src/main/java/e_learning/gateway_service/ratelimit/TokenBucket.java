@@ -0,0 +1,36 @@
+package e_learning.gateway_service.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket stored as a single long using the generic cell rate algorithm:
+ * instead of counting tokens, the bucket tracks the theoretical arrival time (TAT) at
+ * which it would be full again. A request is allowed when taking one token would not
+ * push the TAT more than the burst tolerance ahead of now.
+ */
+class TokenBucket {
+
+    private static final long EPOCH = System.nanoTime();
+
+    private final AtomicLong theoreticalArrival = new AtomicLong();
+
+    /**
+     * Takes one token.
+     *
+     * @return 0 if the request is allowed, otherwise the nanoseconds to wait before retrying
+     */
+    long tryConsume(RateLimit limit) {
+        long now = System.nanoTime() - EPOCH;
+        while (true) {
+            long tat = theoreticalArrival.get();
+            long newTat = Math.max(tat, now) + limit.getEmissionIntervalNanos();
+            long allowAt = newTat - limit.getBurstToleranceNanos();
+            if (allowAt > now) {
+                return allowAt - now;
+            }
+            if (theoreticalArrival.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+}
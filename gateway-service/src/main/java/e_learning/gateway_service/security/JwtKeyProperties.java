@@ -0,0 +1,24 @@
+package e_learning.gateway_service.security;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@ConfigurationProperties(prefix = "jwt")
+public class JwtKeyProperties {
+
+    // Legacy shared secret, registered under the "default" key id (also used for tokens without a kid)
+    private String secret;
+
+    // Additional verification keys by key id, used during and after a rotation
+    private List<Key> keys = new ArrayList<>();
+
+    @Data
+    public static class Key {
+        private String kid;
+        private String secret;
+    }
+}
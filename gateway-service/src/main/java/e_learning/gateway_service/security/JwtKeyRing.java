@@ -0,0 +1,58 @@
+package e_learning.gateway_service.security;
+
+import io.jsonwebtoken.security.Keys;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.SecretKey;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable set of pre-built verification keys indexed by key id ({@code kid}).
+ * Rotation swaps the whole set atomically, so in-flight verifications always see
+ * either the old or the new ring, never a partial one.
+ */
+@Component
+public class JwtKeyRing {
+
+    public static final String DEFAULT_KID = "default";
+
+    private volatile Map<String, SecretKey> keys;
+
+    public JwtKeyRing(JwtKeyProperties properties) {
+        this.keys = buildKeys(properties);
+    }
+
+    /**
+     * Key for the given id, or null if it is unknown. Tokens without a kid use the default key.
+     */
+    public SecretKey find(String kid) {
+        return keys.get(kid != null ? kid : DEFAULT_KID);
+    }
+
+    public Set<String> keyIds() {
+        return keys.keySet();
+    }
+
+    public void rotate(JwtKeyProperties properties) {
+        this.keys = buildKeys(properties);
+    }
+
+    private static Map<String, SecretKey> buildKeys(JwtKeyProperties properties) {
+        Map<String, SecretKey> built = new HashMap<>();
+        if (properties.getSecret() != null && !properties.getSecret().isBlank()) {
+            built.put(DEFAULT_KID, Keys.hmacShaKeyFor(properties.getSecret().getBytes()));
+        }
+        for (JwtKeyProperties.Key key : properties.getKeys()) {
+            if (key.getKid() == null || key.getSecret() == null) {
+                throw new IllegalArgumentException("Every jwt.keys entry needs a kid and a secret");
+            }
+            built.put(key.getKid(), Keys.hmacShaKeyFor(key.getSecret().getBytes()));
+        }
+        if (built.isEmpty()) {
+            throw new IllegalArgumentException("No JWT verification key configured (jwt.secret or jwt.keys)");
+        }
+        return Map.copyOf(built);
+    }
+}
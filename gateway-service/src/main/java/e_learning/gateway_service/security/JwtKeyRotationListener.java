@@ -0,0 +1,43 @@
+package e_learning.gateway_service.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Rebuilds the key ring when jwt.* properties change at runtime (config refresh),
+ * so secrets can be rotated without restarting the gateway.
+ */
+@Component
+public class JwtKeyRotationListener {
+
+    private static final Logger log = LoggerFactory.getLogger(JwtKeyRotationListener.class);
+
+    private final Environment environment;
+    private final JwtKeyRing keyRing;
+    private final JwtUtil jwtUtil;
+
+    public JwtKeyRotationListener(Environment environment, JwtKeyRing keyRing, JwtUtil jwtUtil) {
+        this.environment = environment;
+        this.keyRing = keyRing;
+        this.jwtUtil = jwtUtil;
+    }
+
+    @EventListener
+    public void onEnvironmentChange(EnvironmentChangeEvent event) {
+        if (event.getKeys().stream().noneMatch(key -> key.startsWith("jwt.secret") || key.startsWith("jwt.keys"))) {
+            return;
+        }
+        JwtKeyProperties updated = Binder.get(environment)
+                .bind("jwt", JwtKeyProperties.class)
+                .orElseGet(JwtKeyProperties::new);
+        keyRing.rotate(updated);
+        // Tokens signed with a removed key must not keep passing from the cache
+        jwtUtil.invalidateCache();
+        log.info("JWT key ring rotated, active key ids: {}", keyRing.keyIds());
+    }
+}
@@ -0,0 +1,18 @@
+package e_learning.gateway_service.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Claims extracted from a token whose signature has already been verified.
+ */
+@Getter
+@AllArgsConstructor
+public class VerifiedToken {
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final Instant expiresAt;
+}
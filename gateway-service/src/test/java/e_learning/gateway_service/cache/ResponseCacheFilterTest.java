@@ -0,0 +1,210 @@
+package e_learning.gateway_service.cache;
+
+import e_learning.gateway_service.filter.OpenEndpointProperties;
+import e_learning.gateway_service.filter.RouteValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResponseCacheFilterTest {
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("filter - should serve the second identical request from the cache")
+    void filter_ShouldCacheOkResponses() {
+        ResponseCacheFilter filter = filter(Duration.ofSeconds(30));
+
+        MockServerWebExchange first = send(filter, "/catalog-service/courses?page=0&size=10", upstream(HttpStatus.OK));
+        MockServerWebExchange second = send(filter, "/catalog-service/courses?size=10&page=0", upstream(HttpStatus.OK));
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("MISS", first.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("HIT", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("{\"call\":1}", second.getResponse().getBodyAsString().block());
+        assertEquals(first.getResponse().getHeaders().getETag(), second.getResponse().getHeaders().getETag());
+        assertEquals(1, requests("miss"));
+        assertEquals(1, requests("hit"));
+    }
+
+    @Test
+    @DisplayName("filter - should answer a matching If-None-Match with 304 and no body")
+    void filter_MatchingIfNoneMatch_ShouldReturnNotModified() {
+        ResponseCacheFilter filter = filter(Duration.ofSeconds(30));
+        String etag = send(filter, "/catalog-service/courses/1", upstream(HttpStatus.OK))
+                .getResponse().getHeaders().getETag();
+
+        MockServerWebExchange revalidation = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/catalog-service/courses/1").ifNoneMatch(etag));
+        filter.filter(revalidation, upstream(HttpStatus.OK)).block();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidation.getResponse().getStatusCode());
+        assertEquals(etag, revalidation.getResponse().getHeaders().getETag());
+        assertEquals("", revalidation.getResponse().getBodyAsString().defaultIfEmpty("").block());
+        assertEquals(1, upstreamCalls.get());
+    }
+
+    @Test
+    @DisplayName("filter - should not cache responses other than 200")
+    void filter_NonOkResponse_ShouldNotBeCached() {
+        ResponseCacheFilter filter = filter(Duration.ofSeconds(30));
+
+        send(filter, "/catalog-service/courses/99", upstream(HttpStatus.NOT_FOUND));
+        MockServerWebExchange second = send(filter, "/catalog-service/courses/99", upstream(HttpStatus.NOT_FOUND));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(HttpStatus.NOT_FOUND, second.getResponse().getStatusCode());
+        assertNull(second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+    }
+
+    @Test
+    @DisplayName("filter - should not keep the response of a zero-TTL rule")
+    void filter_ZeroTtl_ShouldOnlyCoalesce() {
+        ResponseCacheFilter filter = filter(Duration.ZERO);
+
+        send(filter, "/catalog-service/courses/1", upstream(HttpStatus.OK));
+        MockServerWebExchange second = send(filter, "/catalog-service/courses/1", upstream(HttpStatus.OK));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("MISS", second.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+    }
+
+    @Test
+    @DisplayName("filter - should share one upstream call between concurrent identical requests")
+    void filter_ConcurrentMisses_ShouldShareOneUpstreamCall() {
+        ResponseCacheFilter filter = filter(Duration.ZERO);
+        Sinks.Empty<Void> release = Sinks.empty();
+        GatewayFilterChain chain = e -> release.asMono().then(upstream(HttpStatus.OK).filter(e));
+
+        MockServerWebExchange leader = exchange("/catalog-service/courses/1");
+        MockServerWebExchange follower = exchange("/catalog-service/courses/1");
+        CompletableFuture<Void> leading = filter.filter(leader, chain).toFuture();
+        CompletableFuture<Void> following = filter.filter(follower, chain).toFuture();
+        release.tryEmitEmpty();
+        leading.join();
+        following.join();
+
+        assertEquals(1, upstreamCalls.get());
+        assertEquals("COALESCED", follower.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertEquals("{\"call\":1}", follower.getResponse().getBodyAsString().block());
+        assertEquals(1, requests("miss"));
+        assertEquals(1, requests("coalesced"));
+    }
+
+    @Test
+    @DisplayName("filter - should send waiting requests upstream when the shared response is not cacheable")
+    void filter_UncacheableLeaderResponse_ShouldFallBackToUpstream() {
+        ResponseCacheFilter filter = filter(Duration.ofSeconds(30));
+        Sinks.Empty<Void> release = Sinks.empty();
+        GatewayFilterChain chain = e -> release.asMono().then(upstream(HttpStatus.SERVICE_UNAVAILABLE).filter(e));
+
+        MockServerWebExchange leader = exchange("/catalog-service/courses/1");
+        MockServerWebExchange follower = exchange("/catalog-service/courses/1");
+        CompletableFuture<Void> leading = filter.filter(leader, chain).toFuture();
+        CompletableFuture<Void> following = filter.filter(follower, chain).toFuture();
+        release.tryEmitEmpty();
+        leading.join();
+        following.join();
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, follower.getResponse().getStatusCode());
+        assertEquals("{\"call\":2}", follower.getResponse().getBodyAsString().block());
+    }
+
+    @Test
+    @DisplayName("filter - should not let an encoded & or = share an entry with a different query")
+    void filter_EncodedSeparators_ShouldNotCollide() {
+        ResponseCacheFilter filter = filter(Duration.ofSeconds(30));
+
+        send(filter, "/catalog-service/courses/search?keyword=java%26page%3D2", upstream(HttpStatus.OK));
+        MockServerWebExchange other = send(filter, "/catalog-service/courses/search?keyword=java&page=2",
+                upstream(HttpStatus.OK));
+
+        assertEquals(2, upstreamCalls.get());
+        assertEquals("MISS", other.getResponse().getHeaders().getFirst(ResponseCacheFilter.CACHE_STATUS_HEADER));
+        assertNotEquals(ResponseCacheFilter.cacheKey("/courses/search", "keyword=java%26page%3D2"),
+                ResponseCacheFilter.cacheKey("/courses/search", "keyword=java&page=2"));
+        assertEquals(ResponseCacheFilter.cacheKey("/courses", "page=0&size=10"),
+                ResponseCacheFilter.cacheKey("/courses", "size=10&page=0"));
+    }
+
+    @Test
+    @DisplayName("filter - should pass requests behind authentication straight through")
+    void filter_ProtectedPath_ShouldNotBeCached() {
+        ResponseCacheFilter filter = filter(Duration.ofSeconds(30));
+
+        send(filter, "/catalog-service/courses/1", upstream(HttpStatus.OK), HttpMethod.POST);
+        send(filter, "/catalog-service/courses/1", upstream(HttpStatus.OK), HttpMethod.POST);
+
+        assertEquals(2, upstreamCalls.get());
+    }
+
+    private ResponseCacheFilter filter(Duration ttl) {
+        ResponseCacheProperties.Rule rule = new ResponseCacheProperties.Rule();
+        rule.setPath("/catalog-service/courses");
+        rule.setTtl(ttl);
+        ResponseCacheProperties properties = new ResponseCacheProperties();
+        properties.setRoutes(List.of(rule));
+
+        OpenEndpointProperties openEndpoints = new OpenEndpointProperties();
+        openEndpoints.setOpenEndpoints(List.of("GET /catalog-service/courses/**"));
+        return new ResponseCacheFilter(properties, new RouteValidator(openEndpoints), meterRegistry);
+    }
+
+    private double requests(String result) {
+        return meterRegistry.counter("gateway.response.cache.requests", "result", result).count();
+    }
+
+    // Built from a URI so the query is kept exactly as sent; the string builders re-encode "%"
+    private static MockServerWebExchange exchange(String uri) {
+        return exchange(uri, HttpMethod.GET);
+    }
+
+    private static MockServerWebExchange exchange(String uri, HttpMethod method) {
+        return MockServerWebExchange.from(MockServerHttpRequest.method(method, URI.create(uri)));
+    }
+
+    private static MockServerWebExchange send(ResponseCacheFilter filter, String uri, GatewayFilterChain chain) {
+        return send(filter, uri, chain, HttpMethod.GET);
+    }
+
+    private static MockServerWebExchange send(ResponseCacheFilter filter, String uri, GatewayFilterChain chain,
+            HttpMethod method) {
+        MockServerWebExchange exchange = exchange(uri, method);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    /** Stub upstream whose JSON body numbers the call, so tests can tell which call served a response. */
+    private GatewayFilterChain upstream(HttpStatus status) {
+        return (ServerWebExchange exchange) -> Mono.defer(() -> {
+            byte[] body = ("{\"call\":" + upstreamCalls.incrementAndGet() + "}").getBytes(StandardCharsets.UTF_8);
+            exchange.getResponse().setStatusCode(status);
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            headers.setContentType(MediaType.APPLICATION_JSON);
+            headers.setContentLength(body.length);
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(body)));
+        });
+    }
+}
@@ -0,0 +1,159 @@
+package e_learning.gateway_service.compression;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.filter.GatewayFilterChain;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompressionFilterTest {
+
+    private static final String LARGE_JSON = "{\"lessons\":[" + "{\"title\":\"Lesson\"},".repeat(200) + "{}]}";
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final CompressionFilter filter = new CompressionFilter(new CompressionProperties(), meterRegistry);
+
+    // If-None-Match values the stub upstream received
+    private final List<List<String>> upstreamIfNoneMatch = new ArrayList<>();
+
+    @Test
+    @DisplayName("filter - should gzip large JSON responses and count the bytes saved")
+    void filter_LargeJson_ShouldBeCompressed() {
+        MockServerWebExchange exchange = send(request().header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate, br"),
+                upstream(MediaType.APPLICATION_JSON, LARGE_JSON, null));
+
+        HttpHeaders headers = exchange.getResponse().getHeaders();
+        byte[] body = body(exchange);
+        assertEquals("gzip", headers.getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(body.length, headers.getContentLength());
+        assertTrue(headers.getVary().contains(HttpHeaders.ACCEPT_ENCODING));
+        assertEquals(LARGE_JSON, gunzip(body));
+
+        assertEquals(LARGE_JSON.length(), meterRegistry.counter("gateway.compression.original.bytes").count());
+        assertEquals(body.length, meterRegistry.counter("gateway.compression.compressed.bytes").count());
+    }
+
+    @Test
+    @DisplayName("filter - should send responses below the size threshold as-is")
+    void filter_SmallResponse_ShouldNotBeCompressed() {
+        MockServerWebExchange exchange = send(request().header(HttpHeaders.ACCEPT_ENCODING, "gzip"),
+                upstream(MediaType.APPLICATION_JSON, "{\"id\":1}", null));
+
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("{\"id\":1}", new String(body(exchange), StandardCharsets.UTF_8));
+        assertEquals(0, meterRegistry.counter("gateway.compression.original.bytes").count());
+    }
+
+    @Test
+    @DisplayName("filter - should only compress the configured content types")
+    void filter_NonJsonResponse_ShouldNotBeCompressed() {
+        MockServerWebExchange exchange = send(request().header(HttpHeaders.ACCEPT_ENCODING, "gzip"),
+                upstream(MediaType.IMAGE_PNG, LARGE_JSON, null));
+
+        assertNull(exchange.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_JSON, new String(body(exchange), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("filter - should not compress for clients that do not accept gzip")
+    void filter_WithoutGzipAcceptEncoding_ShouldNotCompress() {
+        MockServerWebExchange identity = send(request(), upstream(MediaType.APPLICATION_JSON, LARGE_JSON, null));
+        MockServerWebExchange refused = send(request().header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0"),
+                upstream(MediaType.APPLICATION_JSON, LARGE_JSON, null));
+
+        assertNull(identity.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertNull(refused.getResponse().getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(LARGE_JSON, new String(body(refused), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @DisplayName("filter - should reuse the gzip body for the same resource and ETag only")
+    void filter_SameResourceAndEtag_ShouldReuseCompressedBody() {
+        String changed = LARGE_JSON.replace("Lesson", "Update");
+
+        MockServerWebExchange first = send(request("/catalog-service/courses/1"),
+                upstream(MediaType.APPLICATION_JSON, LARGE_JSON, "\"v1\""));
+        // Same resource and ETag: the stored gzip body is sent, whatever upstream produced
+        MockServerWebExchange reused = send(request("/catalog-service/courses/1"),
+                upstream(MediaType.APPLICATION_JSON, changed, "\"v1\""));
+        // Same ETag on another resource must not pick it up
+        MockServerWebExchange other = send(request("/catalog-service/courses/2"),
+                upstream(MediaType.APPLICATION_JSON, changed, "\"v1\""));
+
+        assertEquals("\"v1-gzip\"", first.getResponse().getHeaders().getETag());
+        assertEquals(LARGE_JSON, gunzip(body(reused)));
+        assertEquals(changed, gunzip(body(other)));
+    }
+
+    @Test
+    @DisplayName("filter - should strip the -gzip suffix from If-None-Match before it goes upstream")
+    void filter_GzipEtagInIfNoneMatch_ShouldBeStripped() {
+        send(request().header(HttpHeaders.ACCEPT_ENCODING, "gzip").ifNoneMatch("\"v1-gzip\""),
+                upstream(MediaType.APPLICATION_JSON, LARGE_JSON, "\"v1\""));
+
+        assertEquals(List.of(List.of("\"v1\"")), upstreamIfNoneMatch);
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> request() {
+        return MockServerHttpRequest.get("/catalog-service/courses/1");
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> request(String path) {
+        return MockServerHttpRequest.get(path).header(HttpHeaders.ACCEPT_ENCODING, "gzip");
+    }
+
+    private MockServerWebExchange send(MockServerHttpRequest.BaseBuilder<?> request, GatewayFilterChain chain) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(request);
+        filter.filter(exchange, chain).block();
+        return exchange;
+    }
+
+    private GatewayFilterChain upstream(MediaType contentType, String body, String etag) {
+        return exchange -> {
+            upstreamIfNoneMatch.add(exchange.getRequest().getHeaders().getIfNoneMatch());
+            byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponse().setStatusCode(HttpStatus.OK);
+            HttpHeaders headers = exchange.getResponse().getHeaders();
+            headers.setContentType(contentType);
+            headers.setContentLength(bytes.length);
+            if (etag != null) {
+                headers.setETag(etag);
+            }
+            return exchange.getResponse().writeWith(Mono.just(exchange.getResponse().bufferFactory().wrap(bytes)));
+        };
+    }
+
+    private static byte[] body(MockServerWebExchange exchange) {
+        DataBuffer buffer = DataBufferUtils.join(exchange.getResponse().getBody()).block();
+        byte[] bytes = new byte[buffer.readableByteCount()];
+        buffer.read(bytes);
+        DataBufferUtils.release(buffer);
+        return bytes;
+    }
+
+    private static String gunzip(byte[] compressed) {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package e_learning.gateway_service.filter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.http.HttpMethod;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Open-endpoint lookup cost of the compiled trie against the stream over prefixes that
+ * {@link RouteValidator} used before, with the same rules in both forms. Half of the
+ * looked-up paths are open and half are protected (a protected path checks every rule).
+ * Not part of the test run; start it with {@code mvn test-compile} and then {@link #main},
+ * e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OpenEndpointMatcherBenchmark {
+
+    private static final int PATHS = 1024;
+
+    @Param({"30", "300", "3000"})
+    private int rules;
+
+    private List<String> prefixes;
+    private OpenEndpointMatcher matcher;
+    private String[] paths;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        prefixes = new ArrayList<>();
+        List<String> trieRules = new ArrayList<>();
+        for (int i = 0; i < rules; i++) {
+            String prefix = "/service-" + (i % 10) + "/public-" + i;
+            prefixes.add(prefix);
+            trieRules.add(prefix + "/**");
+        }
+        matcher = OpenEndpointMatcher.compile(trieRules);
+
+        Random random = new Random(42);
+        paths = new String[PATHS];
+        for (int i = 0; i < PATHS; i++) {
+            paths[i] = i % 2 == 0
+                    ? prefixes.get(random.nextInt(rules)) + "/items/" + random.nextInt(1000)
+                    : "/service-" + random.nextInt(10) + "/enrollments/" + random.nextInt(1000);
+        }
+    }
+
+    @Benchmark
+    public boolean streamOverPrefixes() {
+        String path = nextPath();
+        return prefixes.stream().anyMatch(endpoint -> path.startsWith(endpoint) || path.equals(endpoint));
+    }
+
+    @Benchmark
+    public boolean trie() {
+        return matcher.matches(HttpMethod.GET, nextPath());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(OpenEndpointMatcherBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private String nextPath() {
+        String path = paths[next];
+        next = (next + 1) & (PATHS - 1);
+        return path;
+    }
+}
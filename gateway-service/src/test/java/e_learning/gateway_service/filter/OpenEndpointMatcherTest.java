@@ -0,0 +1,54 @@
+package e_learning.gateway_service.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OpenEndpointMatcherTest {
+
+    private final OpenEndpointMatcher matcher = OpenEndpointMatcher.compile(List.of(
+            "/auth-service/auth/login/**",
+            "GET /catalog-service/courses/**",
+            "GET,HEAD /catalog-service/uploads/*/preview",
+            "/*/v3/api-docs/**",
+            "/learning-service/certificates/verify"));
+
+    @Test
+    @DisplayName("matches - trailing ** should match the prefix and everything below it")
+    void matches_SubtreeRule() {
+        assertTrue(matcher.matches(HttpMethod.POST, "/auth-service/auth/login"));
+        assertTrue(matcher.matches(HttpMethod.POST, "/auth-service/auth/login/"));
+        assertTrue(matcher.matches(HttpMethod.POST, "/auth-service/auth/login/extra"));
+        assertFalse(matcher.matches(HttpMethod.POST, "/auth-service/auth/loginx"));
+        assertFalse(matcher.matches(HttpMethod.POST, "/auth-service/auth"));
+    }
+
+    @Test
+    @DisplayName("matches - method-aware rules should only open the listed methods")
+    void matches_MethodAwareRule() {
+        assertTrue(matcher.matches(HttpMethod.GET, "/catalog-service/courses/5"));
+        assertFalse(matcher.matches(HttpMethod.POST, "/catalog-service/courses"));
+        assertTrue(matcher.matches(HttpMethod.HEAD, "/catalog-service/uploads/abc/preview"));
+        assertFalse(matcher.matches(HttpMethod.DELETE, "/catalog-service/uploads/abc/preview"));
+    }
+
+    @Test
+    @DisplayName("matches - * should match exactly one segment")
+    void matches_SingleSegmentWildcard() {
+        assertTrue(matcher.matches(HttpMethod.GET, "/catalog-service/v3/api-docs"));
+        assertTrue(matcher.matches(HttpMethod.GET, "/student-service/v3/api-docs/swagger-config"));
+        assertFalse(matcher.matches(HttpMethod.GET, "/catalog-service/uploads/a/b/preview"));
+    }
+
+    @Test
+    @DisplayName("matches - rules without ** should match the exact path only")
+    void matches_ExactRule() {
+        assertTrue(matcher.matches(HttpMethod.GET, "/learning-service/certificates/verify"));
+        assertFalse(matcher.matches(HttpMethod.GET, "/learning-service/certificates/verify/CERT-1"));
+        assertFalse(matcher.matches(HttpMethod.GET, "/learning-service/enrollments"));
+    }
+}
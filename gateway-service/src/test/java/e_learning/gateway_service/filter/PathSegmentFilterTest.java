@@ -0,0 +1,67 @@
+package e_learning.gateway_service.filter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.URI;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathSegmentFilterTest {
+
+    private final PathSegmentFilter filter = new PathSegmentFilter();
+
+    @Test
+    @DisplayName("filter - should reject // and /./ forms that would slip past the internal deny route")
+    void filter_ShouldRejectNonCanonicalInternalPaths() {
+        assertRejected("/learning-service//internal/courses/1/lesson-count");
+        assertRejected("/learning-service/./internal/cache/courses");
+        assertRejected("/catalog-service/%2e/internal/quizzes/1/answer-key");
+        assertRejected("/catalog-service/courses/../internal/quizzes/1/answer-key");
+        assertRejected("/learning-service%2finternal/cache/courses");
+    }
+
+    @Test
+    @DisplayName("filter - should forward ordinary paths, including a trailing slash")
+    void filter_ShouldForwardCanonicalPaths() {
+        assertForwarded("/catalog-service/courses/5");
+        assertForwarded("/catalog-service/courses/");
+        assertForwarded("/catalog-service/courses/search?keyword=a..b");
+        assertForwarded("/");
+    }
+
+    // Built from a URI so the path is kept exactly as sent; the string builders collapse "//"
+    private static MockServerWebExchange exchange(String path) {
+        return MockServerWebExchange.from(MockServerHttpRequest.method(HttpMethod.GET, URI.create(path)));
+    }
+
+    private void assertRejected(String path) {
+        MockServerWebExchange exchange = exchange(path);
+        AtomicBoolean forwarded = new AtomicBoolean();
+
+        filter.filter(exchange, e -> {
+            forwarded.set(true);
+            return e.getResponse().setComplete();
+        }).block();
+
+        assertFalse(forwarded.get(), path);
+        assertEquals(HttpStatus.BAD_REQUEST, exchange.getResponse().getStatusCode(), path);
+    }
+
+    private void assertForwarded(String path) {
+        MockServerWebExchange exchange = exchange(path);
+        AtomicBoolean forwarded = new AtomicBoolean();
+
+        filter.filter(exchange, e -> {
+            forwarded.set(true);
+            return e.getResponse().setComplete();
+        }).block();
+
+        assertTrue(forwarded.get(), path);
+    }
+}
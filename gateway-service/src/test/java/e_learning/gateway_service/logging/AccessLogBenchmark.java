@@ -0,0 +1,100 @@
+package e_learning.gateway_service.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.FileAppender;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time a request thread spends on logging, with and without the access-log pipeline:
+ * the two synchronous INFO lines the authentication filter used to write, against one
+ * hand-off to {@link AccessLogWriter}. Both write to the same file appender; four threads
+ * stand in for the Netty event loops. Sample mode reports the latency percentiles.
+ * Not part of the test run; start it with {@code mvn test-compile} and then {@link #main}, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class AccessLogBenchmark {
+
+    private final org.slf4j.Logger filterLog = LoggerFactory.getLogger("e_learning.gateway_service.filter.JwtAuthenticationFilter");
+
+    private File logFile;
+    private AccessLogWriter writer;
+
+    @Setup
+    public void setUp() throws IOException {
+        logFile = File.createTempFile("gateway-access", ".log");
+        LoggerContext context = (LoggerContext) LoggerFactory.getILoggerFactory();
+        context.reset();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5p --- [%t] %logger : %m%n");
+        encoder.start();
+        FileAppender<ILoggingEvent> appender = new FileAppender<>();
+        appender.setContext(context);
+        appender.setFile(logFile.getAbsolutePath());
+        appender.setEncoder(encoder);
+        appender.start();
+
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(Level.INFO);
+        root.addAppender(appender);
+
+        writer = new AccessLogWriter(new AccessLogProperties());
+        writer.start();
+    }
+
+    @TearDown
+    public void tearDown() throws InterruptedException {
+        writer.stop();
+        System.out.println("Access log records dropped: " + writer.getDroppedCount());
+        ((LoggerContext) LoggerFactory.getILoggerFactory()).stop();
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void synchronousLogging() {
+        filterLog.info("Incoming request: {} {}", "GET", "/catalog-service/courses/42");
+        filterLog.info("Authenticated user: {} ({}), role: {}", "student@example.com", "17", "STUDENT");
+    }
+
+    @Benchmark
+    public void accessLogPipeline() {
+        writer.submit(new AccessLogRecord(System.currentTimeMillis(), "GET", "/catalog-service/courses/42",
+                "catalog-service-route", 200, 1250, "17", "203.0.113.7"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AccessLogBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,63 @@
+package e_learning.gateway_service.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.gateway.route.Route;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.net.InetSocketAddress;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.cloud.gateway.support.ServerWebExchangeUtils.GATEWAY_ROUTE_ATTR;
+
+class RateLimitFilterTest {
+
+    // One request per second, no burst
+    private static final Route ROUTE = Route.async()
+            .id("auth-login-route")
+            .uri("http://localhost")
+            .predicate(exchange -> true)
+            .metadata(Map.of("rate-limit", Map.of("replenish-rate", 1, "burst-capacity", 1)))
+            .build();
+
+    @Test
+    @DisplayName("filter - should key anonymous clients on the connection address when the gateway is the edge")
+    void filter_WithoutTrustedProxies_ShouldIgnoreForwardedFor() {
+        RateLimitFilter filter = new RateLimitFilter(new RateLimitProperties());
+
+        assertEquals(HttpStatus.OK, send(filter, "198.51.100.1"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, send(filter, "198.51.100.2"));
+    }
+
+    @Test
+    @DisplayName("filter - should key anonymous clients on the address added by a trusted proxy")
+    void filter_WithTrustedProxy_ShouldUseForwardedFor() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustedProxies(1);
+        RateLimitFilter filter = new RateLimitFilter(properties);
+
+        assertEquals(HttpStatus.OK, send(filter, "198.51.100.1"));
+        assertEquals(HttpStatus.OK, send(filter, "198.51.100.2"));
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, send(filter, "198.51.100.1"));
+        // An address the client put in front of the proxy's own entry does not get a new bucket
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, send(filter, "203.0.113.9, 198.51.100.2"));
+    }
+
+    // Every request arrives from the load balancer at 10.0.0.1
+    private static HttpStatusCode send(RateLimitFilter filter, String forwardedFor) {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/auth-service/auth/login")
+                .remoteAddress(new InetSocketAddress("10.0.0.1", 40000))
+                .header("X-Forwarded-For", forwardedFor));
+        exchange.getAttributes().put(GATEWAY_ROUTE_ATTR, ROUTE);
+
+        filter.filter(exchange, e -> {
+            e.getResponse().setStatusCode(HttpStatus.OK);
+            return e.getResponse().setComplete();
+        }).block();
+        return exchange.getResponse().getStatusCode();
+    }
+}
@@ -0,0 +1,24 @@
+package e_learning.gateway_service.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketTest {
+
+    @Test
+    @DisplayName("tryConsume - should allow a full burst then ask the caller to wait")
+    void tryConsume_ShouldAllowBurstThenThrottle() {
+        RateLimit limit = new RateLimit(1, 5);
+        TokenBucket bucket = new TokenBucket();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, bucket.tryConsume(limit), "request " + i + " should be allowed");
+        }
+
+        long waitNanos = bucket.tryConsume(limit);
+        assertTrue(waitNanos > 0);
+        assertTrue(waitNanos <= limit.getEmissionIntervalNanos());
+    }
+}
@@ -0,0 +1,97 @@
+package e_learning.gateway_service.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cloud.context.environment.EnvironmentChangeEvent;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtKeyRotationListenerTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hmac-sha-256";
+
+    private static final String ROTATED_SECRET = "rotated-secret-key-that-is-long-enough-for-hmac-sha-256";
+
+    // Stands in for the external config file a refresh re-reads
+    private final Map<String, Object> config = new HashMap<>(Map.of("jwt.secret", SECRET));
+
+    private AnnotationConfigApplicationContext context;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("config", config));
+
+        JwtKeyProperties initial = new JwtKeyProperties();
+        initial.setSecret(SECRET);
+        JwtKeyRing keyRing = new JwtKeyRing(initial);
+        jwtUtil = new JwtUtil(keyRing, 1000, Duration.ofMinutes(15));
+
+        context = new AnnotationConfigApplicationContext();
+        context.setEnvironment(environment);
+        context.registerBean(JwtKeyRing.class, () -> keyRing);
+        context.registerBean(JwtUtil.class, () -> jwtUtil);
+        context.register(JwtKeyRotationListener.class);
+        context.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    private static String token(String kid, String secret) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("student@test.com")
+                .claim("userId", 42L)
+                .claim("role", "STUDENT")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .compact();
+    }
+
+    @Test
+    @DisplayName("onEnvironmentChange - should accept a new kid and reject a removed one after a refresh")
+    void onEnvironmentChange_ShouldRotateKeyRing() {
+        String legacy = token(null, SECRET);
+        String rotated = token("2026-10", ROTATED_SECRET);
+        assertTrue(jwtUtil.verify(legacy).isPresent());
+        assertTrue(jwtUtil.verify(rotated).isEmpty());
+
+        config.remove("jwt.secret");
+        config.put("jwt.keys[0].kid", "2026-10");
+        config.put("jwt.keys[0].secret", ROTATED_SECRET);
+        context.publishEvent(new EnvironmentChangeEvent(context,
+                Set.of("jwt.secret", "jwt.keys[0].kid", "jwt.keys[0].secret")));
+
+        assertTrue(jwtUtil.verify(rotated).isPresent());
+        // Rejected even though it was verified, and cached, before the refresh
+        assertTrue(jwtUtil.verify(legacy).isEmpty());
+    }
+
+    @Test
+    @DisplayName("onEnvironmentChange - should leave the key ring alone when no jwt key changed")
+    void onEnvironmentChange_UnrelatedKeys_ShouldBeIgnored() {
+        config.put("jwt.keys[0].kid", "2026-10");
+        config.put("jwt.keys[0].secret", ROTATED_SECRET);
+        context.publishEvent(new EnvironmentChangeEvent(context, Set.of("logging.level.root")));
+
+        assertTrue(jwtUtil.verify(token("2026-10", ROTATED_SECRET)).isEmpty());
+    }
+}
@@ -0,0 +1,117 @@
+package e_learning.gateway_service.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of authenticating a bearer token, cycling through distinct tokens.
+ * <ul>
+ *   <li>{@code before}: what the filter used to do, four parses that each derive the key
+ *   and build a parser</li>
+ *   <li>{@code singleParse}: one parse with the parser built at startup (a cache miss)</li>
+ *   <li>{@code verify}: {@link JwtUtil#verify}, which serves repeat tokens from the cache</li>
+ * </ul>
+ * Not part of the test run; start it with {@code mvn test-compile} and then {@link #main},
+ * e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+
+    private static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hmac-sha-256";
+
+    @Param({"10000"})
+    private int distinctTokens;
+
+    private String[] tokens;
+    private JwtUtil jwtUtil;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setSecret(SECRET);
+        properties.setKeys(List.of());
+        jwtUtil = new JwtUtil(new JwtKeyRing(properties), 100_000, Duration.ofMinutes(15));
+
+        tokens = new String[distinctTokens];
+        Date expiration = new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(1));
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = Jwts.builder()
+                    .subject("student" + i + "@test.com")
+                    .claim("userId", (long) i)
+                    .claim("role", "STUDENT")
+                    .expiration(expiration)
+                    .signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                    .compact();
+        }
+        // Every token has been seen once, as for users with an active session
+        for (String token : tokens) {
+            jwtUtil.verify(token);
+        }
+    }
+
+    @Benchmark
+    public void before(Blackhole blackhole) {
+        String token = nextToken();
+        blackhole.consume(parseWithFreshKey(token) != null);
+        blackhole.consume(parseWithFreshKey(token).get("userId", Long.class));
+        blackhole.consume(parseWithFreshKey(token).getSubject());
+        blackhole.consume(parseWithFreshKey(token).get("role", String.class));
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return jwtUtil.extractAllClaims(nextToken());
+    }
+
+    @Benchmark
+    public Object verify() {
+        return jwtUtil.verify(nextToken());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtUtilBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    private String nextToken() {
+        String token = tokens[next];
+        next = next + 1 == tokens.length ? 0 : next + 1;
+        return token;
+    }
+
+    // The original JwtUtil: key and parser rebuilt on every call
+    private static Claims parseWithFreshKey(String token) {
+        return Jwts.parser()
+                .verifyWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+                .build()
+                .parseSignedClaims(token)
+                .getPayload();
+    }
+}
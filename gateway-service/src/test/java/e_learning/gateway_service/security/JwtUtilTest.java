@@ -0,0 +1,112 @@
+package e_learning.gateway_service.security;
+
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtUtilTest {
+
+    private static final String SECRET = "test-secret-key-that-is-long-enough-for-hmac-sha-256";
+
+    private static final String ROTATED_SECRET = "rotated-secret-key-that-is-long-enough-for-hmac-sha-256";
+
+    private final JwtKeyRing keyRing = new JwtKeyRing(properties(SECRET));
+
+    private final JwtUtil jwtUtil = new JwtUtil(keyRing, 1000, Duration.ofMinutes(15));
+
+    private static JwtKeyProperties properties(String legacySecret, JwtKeyProperties.Key... keys) {
+        JwtKeyProperties properties = new JwtKeyProperties();
+        properties.setSecret(legacySecret);
+        properties.setKeys(List.of(keys));
+        return properties;
+    }
+
+    private static JwtKeyProperties.Key key(String kid, String secret) {
+        JwtKeyProperties.Key key = new JwtKeyProperties.Key();
+        key.setKid(kid);
+        key.setSecret(secret);
+        return key;
+    }
+
+    private String token(String secret, long expiresInMillis) {
+        return token(null, secret, expiresInMillis);
+    }
+
+    private String token(String kid, String secret, long expiresInMillis) {
+        return Jwts.builder()
+                .header().keyId(kid).and()
+                .subject("student@test.com")
+                .claim("userId", 42L)
+                .claim("role", "STUDENT")
+                .issuedAt(new Date())
+                .expiration(new Date(System.currentTimeMillis() + expiresInMillis))
+                .signWith(Keys.hmacShaKeyFor(secret.getBytes()))
+                .compact();
+    }
+
+    @Test
+    @DisplayName("verify - should extract claims from a valid token")
+    void verify_ValidToken_ShouldReturnClaims() {
+        Optional<VerifiedToken> verified = jwtUtil.verify(token(SECRET, 60_000));
+
+        assertTrue(verified.isPresent());
+        assertEquals(42L, verified.get().getUserId());
+        assertEquals("student@test.com", verified.get().getEmail());
+        assertEquals("STUDENT", verified.get().getRole());
+    }
+
+    @Test
+    @DisplayName("verify - should return the cached claims on repeated calls")
+    void verify_SameToken_ShouldReturnCachedClaims() {
+        String token = token(SECRET, 60_000);
+
+        VerifiedToken first = jwtUtil.verify(token).orElseThrow();
+        VerifiedToken second = jwtUtil.verify(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    @DisplayName("verify - should reject tokens signed with another key")
+    void verify_ForgedToken_ShouldBeRejected() {
+        String forged = token("another-secret-key-that-is-long-enough-for-hmac-sha-256", 60_000);
+
+        assertTrue(jwtUtil.verify(forged).isEmpty());
+    }
+
+    @Test
+    @DisplayName("verify - should reject expired tokens")
+    void verify_ExpiredToken_ShouldBeRejected() {
+        assertTrue(jwtUtil.verify(token(SECRET, -1_000)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("verify - should pick the verification key from the token's kid")
+    void verify_TokenWithKid_ShouldUseMatchingKey() {
+        keyRing.rotate(properties(SECRET, key("2026-10", ROTATED_SECRET)));
+
+        assertTrue(jwtUtil.verify(token("2026-10", ROTATED_SECRET, 60_000)).isPresent());
+        assertTrue(jwtUtil.verify(token(SECRET, 60_000)).isPresent());
+        assertTrue(jwtUtil.verify(token("unknown", ROTATED_SECRET, 60_000)).isEmpty());
+    }
+
+    @Test
+    @DisplayName("verify - should reject tokens whose key was rotated out")
+    void verify_RemovedKey_ShouldBeRejectedAfterRotation() {
+        String token = token(SECRET, 60_000);
+        assertTrue(jwtUtil.verify(token).isPresent());
+
+        keyRing.rotate(properties(null, key("2026-10", ROTATED_SECRET)));
+        jwtUtil.invalidateCache();
+
+        assertTrue(jwtUtil.verify(token).isEmpty());
+    }
+}
@@ -0,0 +1,115 @@
+package e_learning.learning_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import e_learning.learning_service.clients.CatalogClient;
+import e_learning.learning_service.dto.CourseSummaryResponse;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-through cache of catalog course summaries, keyed by course ID.
+ * <p>
+ * Courses the catalog reports as missing are cached as empty for a shorter TTL, so
+ * repeated lookups of a bad ID do not all reach catalog-service. Other failures
+ * (timeouts, 5xx) propagate and are never cached. Concurrent lookups of the same
+ * uncached ID share one catalog call. Catalog-service evicts entries when a course
+ * changes; the TTL bounds staleness if such a notification is lost.
+ */
+@Component
+public class CourseSummaryCache {
+
+    private final CatalogClient catalogClient;
+    private final Cache<Long, Optional<CourseSummaryResponse>> cache;
+
+    public CourseSummaryCache(CatalogClient catalogClient, MeterRegistry meterRegistry,
+            @Value("${learning.course-cache.max-size:10000}") long maxSize,
+            @Value("${learning.course-cache.ttl:PT10M}") Duration ttl,
+            @Value("${learning.course-cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        this.catalogClient = catalogClient;
+        this.cache = Caffeine.newBuilder()
+                .recordStats()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Long, Optional<CourseSummaryResponse>>() {
+                    @Override
+                    public long expireAfterCreate(Long key, Optional<CourseSummaryResponse> value, long currentTime) {
+                        return value.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long key, Optional<CourseSummaryResponse> value, long currentTime,
+                            long currentDuration) {
+                        return value.isPresent() ? ttl.toNanos() : negativeTtl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long key, Optional<CourseSummaryResponse> value, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "learning.course.summary");
+    }
+
+    /**
+     * Returns the course, or an empty result if catalog-service does not know it.
+     */
+    public Optional<CourseSummaryResponse> find(Long courseId) {
+        return cache.get(courseId, this::load);
+    }
+
+    /**
+     * Returns the known courses among the given IDs; missing ones are loaded with a single batch call.
+     */
+    public Map<Long, CourseSummaryResponse> findAll(Collection<Long> courseIds) {
+        Map<Long, CourseSummaryResponse> courses = new HashMap<>();
+        cache.getAll(courseIds, this::loadAll)
+                .forEach((id, course) -> course.ifPresent(c -> courses.put(id, c)));
+        return courses;
+    }
+
+    public void invalidate(Long courseId) {
+        cache.invalidate(courseId);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private Optional<CourseSummaryResponse> load(Long courseId) {
+        try {
+            return Optional.ofNullable(catalogClient.getCourseById(courseId));
+        } catch (FeignException.NotFound e) {
+            return Optional.empty();
+        }
+    }
+
+    private Map<Long, Optional<CourseSummaryResponse>> loadAll(Set<? extends Long> courseIds) {
+        Map<Long, Optional<CourseSummaryResponse>> loaded = new HashMap<>();
+        // The batch endpoint skips unknown IDs, so anything it does not return is missing
+        for (Long id : courseIds) {
+            loaded.put(id, Optional.empty());
+        }
+        List<Long> ids = List.copyOf(courseIds);
+        for (int from = 0; from < ids.size(); from += CatalogClient.MAX_BATCH_IDS) {
+            List<Long> chunk = ids.subList(from, Math.min(from + CatalogClient.MAX_BATCH_IDS, ids.size()));
+            for (CourseSummaryResponse course : catalogClient.getCoursesByIds(chunk)) {
+                loaded.put(course.getId(), Optional.of(course));
+            }
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,72 @@
+package e_learning.learning_service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import e_learning.learning_service.clients.CatalogClient;
+import e_learning.learning_service.exceptions.ServiceCommunicationException;
+import e_learning.learning_service.grading.QuizAnswerKey;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Read-through cache of compiled quiz answer keys, keyed by quiz ID.
+ * <p>
+ * Concurrent submissions of an uncached quiz share one catalog call, so an exam window
+ * costs catalog-service one request per quiz and instance. Catalog-service evicts a key
+ * when the quiz, its questions or its answers change, sending the new version so that
+ * instances which already reloaded it keep their copy. Unknown quizzes are not cached.
+ */
+@Component
+public class QuizAnswerKeyCache {
+
+    private final CatalogClient catalogClient;
+    private final Cache<Long, QuizAnswerKey> cache;
+
+    public QuizAnswerKeyCache(CatalogClient catalogClient, MeterRegistry meterRegistry,
+            @Value("${learning.quiz-key-cache.max-size:2000}") long maxSize,
+            @Value("${learning.quiz-key-cache.ttl:PT30M}") Duration ttl) {
+        this.catalogClient = catalogClient;
+        this.cache = Caffeine.newBuilder()
+                .recordStats()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "learning.quiz.answer-key");
+    }
+
+    /**
+     * Returns the answer key of a quiz, loading it from catalog-service if needed.
+     */
+    public QuizAnswerKey get(Long quizId) {
+        return cache.get(quizId, this::load);
+    }
+
+    /**
+     * Evicts the key unless the cached copy is already at the given version; a null
+     * version always evicts.
+     */
+    public void invalidate(Long quizId, Long version) {
+        if (version == null) {
+            cache.invalidate(quizId);
+            return;
+        }
+        cache.asMap().computeIfPresent(quizId, (id, key) -> key.version() >= version ? key : null);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private QuizAnswerKey load(Long quizId) {
+        try {
+            return QuizAnswerKey.compile(catalogClient.getQuizAnswerKey(quizId));
+        } catch (FeignException.NotFound e) {
+            throw new ServiceCommunicationException("Quiz not found with ID: " + quizId);
+        }
+    }
+}
@@ -1,19 +1,33 @@
 package e_learning.learning_service.clients;
 
 import e_learning.learning_service.dto.CourseSummaryResponse;
+import e_learning.learning_service.dto.QuizAnswerKeyResponse;
 import e_learning.learning_service.dto.QuizDetailResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "catalog-service", contextId = "CatalogClient")
 public interface CatalogClient {
+    // Most ids /courses/batch accepts in one call
+    int MAX_BATCH_IDS = 100;
+
     @GetMapping("/courses/{id}")
     CourseSummaryResponse getCourseById(@PathVariable("id") Long id);
 
+    @GetMapping("/courses/batch")
+    List<CourseSummaryResponse> getCoursesByIds(@RequestParam("ids") Collection<Long> ids);
+
     @GetMapping("/content/quizzes/{quizId}")
     QuizDetailResponse getQuizById(@PathVariable("quizId") Long quizId);
 
+    @GetMapping("/internal/quizzes/{quizId}/answer-key")
+    QuizAnswerKeyResponse getQuizAnswerKey(@PathVariable("quizId") Long quizId);
+
     @GetMapping("/courses/{id}/lesson-count")
     Integer getTotalLessonCount(@PathVariable("id") Long courseId);
 }
@@ -4,9 +4,19 @@ import e_learning.learning_service.dto.StudentSummaryResponse;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.util.Collection;
+import java.util.List;
 
 @FeignClient(name = "student-service")
 public interface StudentClient {
+    // Most ids /students/batch accepts in one call
+    int MAX_BATCH_IDS = 100;
+
     @GetMapping("/students/{id}")
     StudentSummaryResponse getStudentById(@PathVariable("id") Long id);
+
+    @GetMapping("/students/batch")
+    List<StudentSummaryResponse> getStudentsByIds(@RequestParam("ids") Collection<Long> ids);
 }
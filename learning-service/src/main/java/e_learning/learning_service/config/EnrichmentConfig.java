@@ -0,0 +1,32 @@
+package e_learning.learning_service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class EnrichmentConfig {
+
+    /**
+     * Bounded pool for the catalog/student lookups that decorate responses.
+     * When the pool and its queue are full, new lookups are rejected and the response
+     * falls back to placeholder values instead of queueing behind a slow downstream.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService enrichmentExecutor(
+            @Value("${learning.enrichment.pool-size:16}") int poolSize,
+            @Value("${learning.enrichment.queue-capacity:200}") int queueCapacity) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("enrichment-");
+        threadFactory.setDaemon(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,39 @@
+package e_learning.learning_service.config;
+
+import feign.RequestInterceptor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Endpoints under /internal/** (cache eviction, lesson counts) are called by catalog-service
+ * only. The gateway refuses those paths too, but this check does not depend on how a
+ * request reached the service. Feign calls to catalog-service's own /internal/** endpoints
+ * carry the same token.
+ */
+@Configuration
+public class InternalEndpointConfig implements WebMvcConfigurer {
+
+    private final String token;
+
+    public InternalEndpointConfig(@Value("${internal.token:}") String token) {
+        this.token = token;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // Matched like the handler mappings, so every path that reaches an internal controller is covered
+        registry.addInterceptor(new InternalTokenInterceptor(token)).addPathPatterns("/internal/**");
+    }
+
+    @Bean
+    public RequestInterceptor internalTokenRequestInterceptor() {
+        return template -> {
+            if (template.path().startsWith("/internal/")) {
+                template.header(InternalTokenInterceptor.TOKEN_HEADER, token);
+            }
+        };
+    }
+}
@@ -0,0 +1,50 @@
+package e_learning.learning_service.controllers;
+
+import e_learning.learning_service.cache.CourseSummaryCache;
+import e_learning.learning_service.cache.QuizAnswerKeyCache;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/internal/cache")
+@Tag(name = "Cache", description = "Invalidation hooks called by catalog-service when course or quiz data changes")
+public class CacheController {
+
+    private final CourseSummaryCache courseSummaryCache;
+    private final QuizAnswerKeyCache quizAnswerKeyCache;
+
+    public CacheController(CourseSummaryCache courseSummaryCache, QuizAnswerKeyCache quizAnswerKeyCache) {
+        this.courseSummaryCache = courseSummaryCache;
+        this.quizAnswerKeyCache = quizAnswerKeyCache;
+    }
+
+    @DeleteMapping("/courses/{courseId}")
+    @Operation(summary = "Evict a cached course summary")
+    public ResponseEntity<Void> evictCourse(@PathVariable Long courseId) {
+        courseSummaryCache.invalidate(courseId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/courses")
+    @Operation(summary = "Evict all cached course summaries")
+    public ResponseEntity<Void> evictAllCourses() {
+        courseSummaryCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/quizzes/{quizId}")
+    @Operation(summary = "Evict a cached quiz answer key older than the given version")
+    public ResponseEntity<Void> evictQuiz(@PathVariable Long quizId, @RequestParam(required = false) Long version) {
+        quizAnswerKeyCache.invalidate(quizId, version);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/quizzes")
+    @Operation(summary = "Evict all cached quiz answer keys")
+    public ResponseEntity<Void> evictAllQuizzes() {
+        quizAnswerKeyCache.invalidateAll();
+        return ResponseEntity.noContent().build();
+    }
+}
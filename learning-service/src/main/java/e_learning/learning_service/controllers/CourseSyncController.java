@@ -0,0 +1,27 @@
+package e_learning.learning_service.controllers;
+
+import e_learning.learning_service.services.ProgressService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/internal/courses")
+@Tag(name = "Course sync", description = "Course structure updates pushed by catalog-service")
+public class CourseSyncController {
+
+    private final ProgressService progressService;
+
+    public CourseSyncController(ProgressService progressService) {
+        this.progressService = progressService;
+    }
+
+    @PutMapping("/{courseId}/lesson-count")
+    @Operation(summary = "Apply a new lesson count to every enrollment of a course")
+    public ResponseEntity<Void> updateLessonCount(@PathVariable Long courseId, @RequestParam int total,
+            @RequestParam long version) {
+        progressService.updateTotalLessons(courseId, total, version);
+        return ResponseEntity.noContent().build();
+    }
+}
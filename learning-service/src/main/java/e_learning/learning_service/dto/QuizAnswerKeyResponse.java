@@ -0,0 +1,25 @@
+package e_learning.learning_service.dto;
+
+import lombok.*;
+
+/**
+ * Grading data of a quiz as sent by catalog-service: parallel arrays with questions
+ * sorted by id. The answers of question {@code i} are
+ * {@code answerIds[answerOffsets[i] .. answerOffsets[i + 1])}, with their flags at the
+ * same positions of {@code correct}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class QuizAnswerKeyResponse {
+    private Long quizId;
+    private long version;
+    private Integer passingScore;
+    private long[] questionIds;
+    private int[] points;
+    private boolean[] multiSelect;
+    private int[] answerOffsets;
+    private long[] answerIds;
+    private boolean[] correct;
+}
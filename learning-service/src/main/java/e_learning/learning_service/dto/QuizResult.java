@@ -11,6 +11,8 @@ public class QuizResult {
     private Long attemptId;
     private Long quizId;
     private int score;
+    private double earnedPoints;
+    private int totalPoints;
     private int totalQuestions;
     private boolean passed;
     private LocalDateTime attemptedAt;
@@ -1,8 +1,10 @@
 package e_learning.learning_service.dto;
 
-import jakarta.validation.constraints.NotEmpty;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import java.util.List;
 import java.util.Map;
 
 @Data
@@ -17,6 +19,14 @@ public class QuizSubmission {
     private Long quizId;
 
     // Map of <QuestionId, AnswerId>
-    @NotEmpty(message = "Answers are required")
     private Map<Long, Long> answers;
+
+    // Map of <QuestionId, AnswerIds>, for questions with several correct answers
+    private Map<Long, List<Long>> selections;
+
+    @JsonIgnore
+    @AssertTrue(message = "Answers are required")
+    public boolean isAnswered() {
+        return (answers != null && !answers.isEmpty()) || (selections != null && !selections.isEmpty());
+    }
 }
@@ -30,6 +30,16 @@ public class Enrollment {
     @Builder.Default
     private Double progress = 0.0;
 
+    // Maintained incrementally as lessons are completed; null on rows created before the counter existed
+    @Builder.Default
+    private Integer completedLessons = 0;
+
+    // Lesson count of the course, pushed by catalog-service when lessons are added or removed
+    private Integer totalLessons;
+
+    // Catalog-side version of totalLessons; pushes with an older or equal version are ignored
+    private Long lessonCountVersion;
+
     @Builder.Default
     private LocalDateTime enrolledAt = LocalDateTime.now();
 
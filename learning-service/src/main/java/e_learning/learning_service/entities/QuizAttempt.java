@@ -22,10 +22,16 @@ public class QuizAttempt {
     @Column(nullable = false)
     private Long quizId; // Reference to catalog-service Quiz ID
 
-    private int score;
+    private int score; // Percentage of the points
+
+    private Double earnedPoints;
+
+    private Integer totalPoints;
 
     private int totalQuesions; // Snapshot of total questions at time of attempt
 
+    private Long answerKeyVersion; // Version of the catalog answer key the attempt was graded with
+
     private boolean passed;
 
     private LocalDateTime attemptedAt;
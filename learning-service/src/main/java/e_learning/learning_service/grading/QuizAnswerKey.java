@@ -0,0 +1,201 @@
+package e_learning.learning_service.grading;
+
+import e_learning.learning_service.dto.QuizAnswerKeyResponse;
+
+/**
+ * Immutable, compiled answer key of one quiz version.
+ * <p>
+ * The answers of all questions are laid out one after another, question by question, and
+ * the correct ones are marked in a bitset over those positions. Question and answer ids map
+ * to their positions through open-addressing tables of primitive longs, so a lookup is a
+ * multiply, a mask and usually one array read, with no boxing. Catalog ids are positive,
+ * which leaves 0 free to mark empty slots.
+ */
+public final class QuizAnswerKey {
+
+    private static final int DEFAULT_PASSING_SCORE = 60;
+
+    private final long version;
+    private final int passingScore;
+    private final int totalPoints;
+    private final long[] questionIds;
+    private final int[] points;
+    private final boolean[] multiSelect;
+    private final int[] answerOffsets;
+    private final int[] correctCounts;
+    private final int[] answerQuestions;
+    private final long[] correctWords;
+    private final LongIndex questionIndex;
+    private final LongIndex answerIndex;
+
+    private QuizAnswerKey(QuizAnswerKeyResponse response, int passingScore) {
+        this.version = response.getVersion();
+        this.passingScore = passingScore;
+        this.questionIds = response.getQuestionIds();
+        this.points = response.getPoints();
+        this.multiSelect = response.getMultiSelect();
+        this.answerOffsets = response.getAnswerOffsets();
+
+        long[] answerIds = response.getAnswerIds();
+        boolean[] correct = response.getCorrect();
+        this.correctCounts = new int[questionIds.length];
+        this.answerQuestions = new int[answerIds.length];
+        this.correctWords = new long[(answerIds.length + 63) >>> 6];
+        int sum = 0;
+        for (int i = 0; i < questionIds.length; i++) {
+            sum += Math.max(0, points[i]);
+            for (int position = answerOffsets[i]; position < answerOffsets[i + 1]; position++) {
+                answerQuestions[position] = i;
+                if (correct[position]) {
+                    correctWords[position >>> 6] |= 1L << position;
+                    correctCounts[i]++;
+                }
+            }
+        }
+        this.totalPoints = sum;
+        this.questionIndex = new LongIndex(questionIds);
+        this.answerIndex = new LongIndex(answerIds);
+    }
+
+    public static QuizAnswerKey compile(QuizAnswerKeyResponse response) {
+        int questions = length(response.getQuestionIds());
+        int answers = length(response.getAnswerIds());
+        int[] offsets = response.getAnswerOffsets();
+        if (length(response.getPoints()) != questions || length(response.getMultiSelect()) != questions
+                || length(offsets) != questions + 1 || length(response.getCorrect()) != answers
+                || offsets[0] != 0 || offsets[questions] != answers) {
+            throw new IllegalArgumentException("Malformed answer key for quiz " + response.getQuizId());
+        }
+        for (int i = 0; i < questions; i++) {
+            if (offsets[i] > offsets[i + 1]) {
+                throw new IllegalArgumentException("Malformed answer key for quiz " + response.getQuizId());
+            }
+        }
+        int passingScore = response.getPassingScore() != null ? response.getPassingScore() : DEFAULT_PASSING_SCORE;
+        return new QuizAnswerKey(response, passingScore);
+    }
+
+    /**
+     * Position of a question in this key, or -1 if the quiz has no such question.
+     */
+    public int indexOf(long questionId) {
+        return questionIndex.get(questionId);
+    }
+
+    public long questionId(int index) {
+        return questionIds[index];
+    }
+
+    public int points(int index) {
+        return points[index];
+    }
+
+    public boolean isMultiSelect(int index) {
+        return multiSelect[index];
+    }
+
+    public int correctCount(int index) {
+        return correctCounts[index];
+    }
+
+    public int size() {
+        return questionIds.length;
+    }
+
+    public int totalPoints() {
+        return totalPoints;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int passingScore() {
+        return passingScore;
+    }
+
+    // Position of an answer among all answers of the quiz, or -1 if it is not an answer of that question
+    int answerPosition(int questionIndex, long answerId) {
+        int position = answerIndex.get(answerId);
+        return position >= 0 && answerQuestions[position] == questionIndex ? position : -1;
+    }
+
+    int answerStart(int index) {
+        return answerOffsets[index];
+    }
+
+    int answerEnd(int index) {
+        return answerOffsets[index + 1];
+    }
+
+    long correctWord(int word) {
+        return correctWords[word];
+    }
+
+    // Words of a bitset with one bit per answer of the quiz
+    int wordCount() {
+        return correctWords.length;
+    }
+
+    private static int length(long[] array) {
+        return array != null ? array.length : -1;
+    }
+
+    private static int length(int[] array) {
+        return array != null ? array.length : -1;
+    }
+
+    private static int length(boolean[] array) {
+        return array != null ? array.length : -1;
+    }
+
+    /**
+     * Read-only map from distinct positive ids to their position in the array it was built from.
+     */
+    private static final class LongIndex {
+        private final long[] keys;
+        private final int[] values;
+        private final int mask;
+
+        LongIndex(long[] ids) {
+            // At most half full, so probe sequences stay short
+            int capacity = Integer.highestOneBit(Math.max(2, ids.length * 2 - 1)) << 1;
+            this.keys = new long[capacity];
+            this.values = new int[capacity];
+            this.mask = capacity - 1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] <= 0) {
+                    throw new IllegalArgumentException("Invalid id in answer key: " + ids[i]);
+                }
+                int slot = slot(ids[i]);
+                while (keys[slot] != 0) {
+                    if (keys[slot] == ids[i]) {
+                        throw new IllegalArgumentException("Duplicate id in answer key: " + ids[i]);
+                    }
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = ids[i];
+                values[slot] = i;
+            }
+        }
+
+        int get(long id) {
+            if (id <= 0) {
+                return -1;
+            }
+            int slot = slot(id);
+            long key;
+            while ((key = keys[slot]) != 0) {
+                if (key == id) {
+                    return values[slot];
+                }
+                slot = (slot + 1) & mask;
+            }
+            return -1;
+        }
+
+        private int slot(long id) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package e_learning.learning_service.grading;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of grading one submission against an answer key.
+ */
+@Getter
+@AllArgsConstructor
+public class QuizGrade {
+    private final double earnedPoints;
+    private final int totalPoints;
+    private final int score; // Percentage of the points, rounded down
+    private final int correctQuestions;
+    private final boolean passed;
+}
@@ -0,0 +1,125 @@
+package e_learning.learning_service.grading;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Grades submissions against a compiled {@link QuizAnswerKey}.
+ * <p>
+ * Each question is worth its points. Single-choice and true/false questions earn them when
+ * exactly one answer is picked and it is correct. Multiple-choice questions compare the
+ * picked answers with the correct ones as bitsets: an exact match earns full points and,
+ * with partial credit on, any other selection earns
+ * {@code points * max(0, correct picks / correct answers - wrong picks / wrong answers)}.
+ * Each wrong pick cancels as much as a right one is worth on average, so picking every
+ * answer earns nothing however many are correct. Questions without a correct answer
+ * earn nothing.
+ * <p>
+ * Answer ids that do not belong to the question they are submitted for are ignored.
+ * Grading allocates a single bitset of one bit per answer in the quiz.
+ */
+@Component
+public class QuizGrader {
+
+    private final boolean partialCredit;
+
+    public QuizGrader(@Value("${learning.grading.partial-credit:true}") boolean partialCredit) {
+        this.partialCredit = partialCredit;
+    }
+
+    /**
+     * @param answers    one answer id per question id, as single-answer clients send them
+     * @param selections any number of answer ids per question id
+     */
+    public QuizGrade grade(QuizAnswerKey key, Map<Long, Long> answers,
+            Map<Long, ? extends Collection<Long>> selections) {
+        long[] selected = new long[key.wordCount()];
+        if (answers != null) {
+            for (Map.Entry<Long, Long> answer : answers.entrySet()) {
+                select(key, selected, answer.getKey(), answer.getValue());
+            }
+        }
+        if (selections != null) {
+            for (Map.Entry<Long, ? extends Collection<Long>> selection : selections.entrySet()) {
+                if (selection.getValue() == null) {
+                    continue;
+                }
+                for (Long answerId : selection.getValue()) {
+                    select(key, selected, selection.getKey(), answerId);
+                }
+            }
+        }
+
+        double earnedPoints = 0;
+        int correctQuestions = 0;
+        for (int i = 0; i < key.size(); i++) {
+            double credit = credit(key, selected, i);
+            if (credit == 1) {
+                correctQuestions++;
+            }
+            earnedPoints += credit * key.points(i);
+        }
+
+        int totalPoints = key.totalPoints();
+        // The epsilon keeps sums of partial credits such as 1/3 + 2/3 from rounding down a whole point
+        int score = totalPoints > 0 ? (int) Math.floor(earnedPoints * 100 / totalPoints + 1e-9) : 0;
+        return new QuizGrade(earnedPoints, totalPoints, score, correctQuestions, score >= key.passingScore());
+    }
+
+    private static void select(QuizAnswerKey key, long[] selected, Long questionId, Long answerId) {
+        if (questionId == null || answerId == null) {
+            return;
+        }
+        int index = key.indexOf(questionId);
+        if (index < 0) {
+            return;
+        }
+        int position = key.answerPosition(index, answerId);
+        if (position >= 0) {
+            selected[position >>> 6] |= 1L << position;
+        }
+    }
+
+    // Fraction of the question's points earned, from 0 to 1
+    private double credit(QuizAnswerKey key, long[] selected, int index) {
+        int correctCount = key.correctCount(index);
+        if (correctCount == 0) {
+            return 0;
+        }
+
+        int from = key.answerStart(index);
+        int to = key.answerEnd(index);
+        int picked = 0;
+        int hits = 0;
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            long range = -1L;
+            if (word == from >>> 6) {
+                range &= -1L << from;
+            }
+            if (word == (to - 1) >>> 6) {
+                range &= -1L >>> (63 - ((to - 1) & 63));
+            }
+            long picks = selected[word] & range;
+            picked += Long.bitCount(picks);
+            hits += Long.bitCount(picks & key.correctWord(word));
+        }
+
+        if (!key.isMultiSelect(index)) {
+            return picked == 1 && hits == 1 ? 1 : 0;
+        }
+        int wrong = picked - hits;
+        if (hits == correctCount && wrong == 0) {
+            return 1;
+        }
+        if (!partialCredit) {
+            return 0;
+        }
+        // Not an exact match, so some answer is wrong unless a correct one was left out
+        int wrongCount = to - from - correctCount;
+        double penalty = wrongCount > 0 ? (double) wrong / wrongCount : 0;
+        return Math.max(0, (double) hits / correctCount - penalty);
+    }
+}
@@ -3,6 +3,11 @@ package e_learning.learning_service.repositories;
 import e_learning.learning_service.entities.Enrollment;
 import e_learning.learning_service.entities.EnrollmentStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,4 +21,47 @@ public interface EnrollmentRepository extends JpaRepository<Enrollment, Long> {
     boolean existsByStudentIdAndCourseId(Long studentId, Long courseId);
 
     boolean existsByStudentIdAndCourseIdAndStatus(Long studentId, Long courseId, EnrollmentStatus status);
+
+    // Counts one more completed lesson and recomputes progress in the same statement.
+    // progress is assigned before completedLessons because MySQL evaluates SET clauses in order.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Enrollment e SET " +
+            "e.progress = CASE " +
+            "  WHEN e.totalLessons > 0 AND e.completedLessons + 1 >= e.totalLessons THEN 100.0 " +
+            "  WHEN e.totalLessons > 0 THEN (e.completedLessons + 1) * 100.0 / e.totalLessons " +
+            "  ELSE e.progress END, " +
+            "e.lastAccessedAt = :now, " +
+            "e.completedLessons = e.completedLessons + 1 " +
+            "WHERE e.id = :id")
+    int incrementCompletedLessons(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    // Sets the lesson total for every enrollment in a course and recomputes progress of active ones,
+    // skipping enrollments that already have the total of this version or a newer one
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Enrollment e SET " +
+            "e.progress = CASE " +
+            "  WHEN e.status <> :active OR e.completedLessons IS NULL OR :total <= 0 THEN e.progress " +
+            "  WHEN e.completedLessons >= :total THEN 100.0 " +
+            "  ELSE e.completedLessons * 100.0 / :total END, " +
+            "e.totalLessons = :total, e.lessonCountVersion = :version " +
+            "WHERE e.courseId = :courseId " +
+            "AND (e.lessonCountVersion IS NULL OR e.lessonCountVersion < :version)")
+    int updateTotalLessons(@Param("courseId") Long courseId, @Param("total") Integer total,
+            @Param("version") Long version, @Param("active") EnrollmentStatus active);
+
+    // Moves the enrollment to COMPLETED once every lesson is done
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Enrollment e SET e.status = :completed, e.completedAt = :now " +
+            "WHERE e.id = :id AND e.status = :active " +
+            "AND e.totalLessons > 0 AND e.completedLessons >= e.totalLessons")
+    int completeIfFinished(@Param("id") Long id, @Param("now") LocalDateTime now,
+            @Param("active") EnrollmentStatus active, @Param("completed") EnrollmentStatus completed);
+
+    // Same as completeIfFinished, for every enrollment of a course whose lesson total went down
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Enrollment e SET e.status = :completed, e.completedAt = :now " +
+            "WHERE e.courseId = :courseId AND e.status = :active " +
+            "AND e.totalLessons > 0 AND e.completedLessons >= e.totalLessons")
+    int completeFinishedEnrollments(@Param("courseId") Long courseId, @Param("now") LocalDateTime now,
+            @Param("active") EnrollmentStatus active, @Param("completed") EnrollmentStatus completed);
 }
@@ -2,6 +2,11 @@ package e_learning.learning_service.repositories;
 
 import e_learning.learning_service.entities.LessonProgress;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -11,4 +16,10 @@ public interface LessonProgressRepository extends JpaRepository<LessonProgress,
     Optional<LessonProgress> findByEnrollmentIdAndLessonId(Long enrollmentId, Long lessonId);
 
     int countByEnrollmentIdAndCompletedTrue(Long enrollmentId);
+
+    // Returns 1 only for the request that actually flips the lesson to completed
+    @Modifying
+    @Query("UPDATE LessonProgress p SET p.completed = true, p.completedAt = :now " +
+            "WHERE p.id = :id AND p.completed = false")
+    int markCompleted(@Param("id") Long id, @Param("now") LocalDateTime now);
 }
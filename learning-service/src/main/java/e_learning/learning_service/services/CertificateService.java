@@ -1,20 +1,18 @@
 package e_learning.learning_service.services;
 
-import e_learning.learning_service.clients.CatalogClient;
-import e_learning.learning_service.clients.StudentClient;
 import e_learning.learning_service.dto.CertificateResponse;
-import e_learning.learning_service.dto.CourseSummaryResponse;
-import e_learning.learning_service.dto.StudentSummaryResponse;
 import e_learning.learning_service.entities.Certificate;
 import e_learning.learning_service.entities.Enrollment;
 import e_learning.learning_service.entities.EnrollmentStatus;
 import e_learning.learning_service.exceptions.EnrollmentNotFoundException;
+import e_learning.learning_service.exceptions.ServiceCommunicationException;
 import e_learning.learning_service.repositories.CertificateRepository;
 import e_learning.learning_service.repositories.EnrollmentRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -23,17 +21,14 @@ public class CertificateService {
 
     private final CertificateRepository certificateRepository;
     private final EnrollmentRepository enrollmentRepository;
-    private final StudentClient studentClient;
-    private final CatalogClient catalogClient;
+    private final EnrichmentService enrichmentService;
 
     public CertificateService(CertificateRepository certificateRepository,
             EnrollmentRepository enrollmentRepository,
-            StudentClient studentClient,
-            CatalogClient catalogClient) {
+            EnrichmentService enrichmentService) {
         this.certificateRepository = certificateRepository;
         this.enrollmentRepository = enrollmentRepository;
-        this.studentClient = studentClient;
-        this.catalogClient = catalogClient;
+        this.enrichmentService = enrichmentService;
     }
 
     @Transactional
@@ -51,23 +46,15 @@ public class CertificateService {
             return getCertificateByEnrollment(enrollmentId);
         }
 
-        // Fetch student and course details
-        String studentName = "Unknown Student";
-        String courseTitle = "Unknown Course";
-
-        try {
-            StudentSummaryResponse student = studentClient.getStudentById(enrollment.getStudentId());
-            studentName = student.getFirstName() + " " + student.getLastName();
-        } catch (Exception e) {
-            // Continue with default
-        }
-
-        try {
-            CourseSummaryResponse course = catalogClient.getCourseById(enrollment.getCourseId());
-            courseTitle = course.getTitle();
-        } catch (Exception e) {
-            // Continue with default
+        // Fetch student and course details concurrently
+        EnrichmentService.Details details = enrichmentService.lookup(
+                Set.of(enrollment.getCourseId()), Set.of(enrollment.getStudentId()));
+        // A certificate is stored for good, so it must not keep the placeholders used to decorate lists
+        if (!details.isResolved(enrollment.getCourseId(), enrollment.getStudentId())) {
+            throw new ServiceCommunicationException("Could not load student or course details, please try again");
         }
+        String studentName = details.studentName(enrollment.getStudentId());
+        String courseTitle = details.courseTitle(enrollment.getCourseId());
 
         // Generate unique certificate code
         String certificateCode = generateCertificateCode();
@@ -0,0 +1,131 @@
+package e_learning.learning_service.services;
+
+import e_learning.learning_service.cache.CourseSummaryCache;
+import e_learning.learning_service.clients.StudentClient;
+import e_learning.learning_service.dto.StudentSummaryResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Resolves course titles and student names for responses.
+ * <p>
+ * Course titles come from the local {@link CourseSummaryCache}. The catalog and student
+ * lookups run concurrently on a bounded pool, each with its own timeout, so a response
+ * waits at most for the slower of the two calls. Any lookup that fails, times out or is
+ * rejected falls back to "Unknown" values.
+ */
+@Service
+public class EnrichmentService {
+
+    public static final String UNKNOWN_COURSE = "Unknown Course";
+    public static final String UNKNOWN_STUDENT = "Unknown Student";
+
+    private static final Logger log = LoggerFactory.getLogger(EnrichmentService.class);
+
+    private final CourseSummaryCache courseSummaryCache;
+    private final StudentClient studentClient;
+    private final ExecutorService executor;
+    private final Duration timeout;
+
+    public EnrichmentService(CourseSummaryCache courseSummaryCache, StudentClient studentClient,
+            @Qualifier("enrichmentExecutor") ExecutorService executor,
+            @Value("${learning.enrichment.timeout:PT1S}") Duration timeout) {
+        this.courseSummaryCache = courseSummaryCache;
+        this.studentClient = studentClient;
+        this.executor = executor;
+        this.timeout = timeout;
+    }
+
+    public Details lookup(Collection<Long> courseIds, Collection<Long> studentIds) {
+        CompletableFuture<Map<Long, String>> courseTitles = courseIds.isEmpty()
+                ? CompletableFuture.completedFuture(Map.of())
+                : fetch("catalog-service", () -> courseSummaryCache.findAll(courseIds).entrySet().stream()
+                        .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().getTitle())));
+        CompletableFuture<Map<Long, String>> studentNames = studentIds.isEmpty()
+                ? CompletableFuture.completedFuture(Map.of())
+                : fetch("student-service", () -> fetchStudents(studentIds).stream()
+                        .collect(Collectors.toMap(StudentSummaryResponse::getId, EnrichmentService::fullName,
+                                (first, second) -> first)));
+
+        // Both futures already carry their own timeout and fallback, so join() never throws
+        return new Details(courseTitles.join(), studentNames.join());
+    }
+
+    // The batch endpoint takes a bounded number of ids per call
+    private List<StudentSummaryResponse> fetchStudents(Collection<Long> studentIds) {
+        List<Long> ids = List.copyOf(studentIds);
+        if (ids.size() <= StudentClient.MAX_BATCH_IDS) {
+            return studentClient.getStudentsByIds(ids);
+        }
+        List<StudentSummaryResponse> students = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += StudentClient.MAX_BATCH_IDS) {
+            students.addAll(studentClient.getStudentsByIds(
+                    ids.subList(from, Math.min(from + StudentClient.MAX_BATCH_IDS, ids.size()))));
+        }
+        return students;
+    }
+
+    public static String fullName(StudentSummaryResponse student) {
+        return student.getFirstName() + " " + student.getLastName();
+    }
+
+    private CompletableFuture<Map<Long, String>> fetch(String service, Supplier<Map<Long, String>> call) {
+        CompletableFuture<Map<Long, String>> future;
+        try {
+            future = CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            log.debug("Enrichment pool saturated, skipping {} lookup", service);
+            return CompletableFuture.completedFuture(Map.of());
+        }
+        return future
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .exceptionally(e -> {
+                    log.debug("{} lookup failed: {}", service, e.toString());
+                    return Map.of();
+                });
+    }
+
+    /**
+     * Lookup results; IDs that could not be resolved map to the "Unknown" placeholders.
+     */
+    public static class Details {
+
+        private final Map<Long, String> courseTitles;
+        private final Map<Long, String> studentNames;
+
+        private Details(Map<Long, String> courseTitles, Map<Long, String> studentNames) {
+            this.courseTitles = courseTitles;
+            this.studentNames = studentNames;
+        }
+
+        public String courseTitle(Long courseId) {
+            return courseTitles.getOrDefault(courseId, UNKNOWN_COURSE);
+        }
+
+        public String studentName(Long studentId) {
+            return studentNames.getOrDefault(studentId, UNKNOWN_STUDENT);
+        }
+
+        /**
+         * Whether both values were actually looked up, i.e. neither would be a placeholder.
+         */
+        public boolean isResolved(Long courseId, Long studentId) {
+            return courseTitles.containsKey(courseId) && studentNames.containsKey(studentId);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package e_learning.learning_service.services;
 
-import e_learning.learning_service.clients.CatalogClient;
+import e_learning.learning_service.cache.CourseSummaryCache;
 import e_learning.learning_service.clients.StudentClient;
 import e_learning.learning_service.dto.*;
 import e_learning.learning_service.entities.Enrollment;
@@ -18,30 +18,32 @@ import java.util.stream.Collectors;
 public class EnrollmentService {
 
     private final EnrollmentRepository enrollmentRepository;
-    private final CatalogClient catalogClient;
+    private final CourseSummaryCache courseSummaryCache;
     private final StudentClient studentClient;
+    private final EnrichmentService enrichmentService;
 
-    public EnrollmentService(EnrollmentRepository enrollmentRepository, CatalogClient catalogClient,
-            StudentClient studentClient) {
+    public EnrollmentService(EnrollmentRepository enrollmentRepository, CourseSummaryCache courseSummaryCache,
+            StudentClient studentClient, EnrichmentService enrichmentService) {
         this.enrollmentRepository = enrollmentRepository;
-        this.catalogClient = catalogClient;
+        this.courseSummaryCache = courseSummaryCache;
         this.studentClient = studentClient;
+        this.enrichmentService = enrichmentService;
     }
 
     @Transactional
     public EnrollmentResponse enrollStudent(EnrollmentRequest request) {
-        // Validation via Feign
+        // Validation via Feign (course through the local cache); the fetched records also
+        // provide the response details
+        StudentSummaryResponse student;
         try {
-            studentClient.getStudentById(request.getStudentId());
+            student = studentClient.getStudentById(request.getStudentId());
         } catch (FeignException.NotFound e) {
             throw new ServiceCommunicationException("Student not found with ID: " + request.getStudentId());
         }
 
-        try {
-            catalogClient.getCourseById(request.getCourseId());
-        } catch (FeignException.NotFound e) {
-            throw new ServiceCommunicationException("Course not found with ID: " + request.getCourseId());
-        }
+        CourseSummaryResponse course = courseSummaryCache.find(request.getCourseId())
+                .orElseThrow(() -> new ServiceCommunicationException(
+                        "Course not found with ID: " + request.getCourseId()));
 
         if (enrollmentRepository.existsByStudentIdAndCourseId(request.getStudentId(), request.getCourseId())) {
             throw new DuplicateEnrollmentException("Student is already enrolled in this course");
@@ -54,19 +56,16 @@ public class EnrollmentService {
                 .build();
 
         enrollment = enrollmentRepository.save(enrollment);
-        return mapToResponse(enrollment, true); // Fetch details
+        return mapToResponse(enrollment, course.getTitle(), EnrichmentService.fullName(student));
     }
 
     public List<EnrollmentResponse> getStudentEnrollments(Long studentId) {
-        return enrollmentRepository.findByStudentId(studentId).stream()
-                .map(e -> mapToResponse(e, true)) // Fetch details for each
-                .collect(Collectors.toList());
+        return mapToResponses(enrollmentRepository.findByStudentId(studentId), true);
     }
 
     public List<EnrollmentResponse> getCourseEnrollments(Long courseId) {
-        return enrollmentRepository.findByCourseId(courseId).stream()
-                .map(e -> mapToResponse(e, false)) // Don't fetch course details as known
-                .collect(Collectors.toList());
+        // Don't fetch course details as known
+        return mapToResponses(enrollmentRepository.findByCourseId(courseId), false);
     }
 
     public EnrollmentResponse getEnrollmentById(Long id) {
@@ -75,24 +74,30 @@ public class EnrollmentService {
         return mapToResponse(enrollment, true);
     }
 
-    // Helper to map and optionally enrich with external data
     private EnrollmentResponse mapToResponse(Enrollment enrollment, boolean fetchDetails) {
-        String courseTitle = "Unknown Course";
-        String studentName = "Unknown Student";
-
-        if (fetchDetails) {
-            try {
-                // Best effort enrichment
-                CourseSummaryResponse course = catalogClient.getCourseById(enrollment.getCourseId());
-                courseTitle = course.getTitle();
-
-                StudentSummaryResponse student = studentClient.getStudentById(enrollment.getStudentId());
-                studentName = student.getFirstName() + " " + student.getLastName();
-            } catch (Exception e) {
-                // Log and continue without details
-            }
+        return mapToResponses(List.of(enrollment), fetchDetails).get(0);
+    }
+
+    // Helper to map and optionally enrich with external data; courses and students are
+    // looked up concurrently, with one call per service for the whole list
+    private List<EnrollmentResponse> mapToResponses(List<Enrollment> enrollments, boolean fetchDetails) {
+        if (!fetchDetails || enrollments.isEmpty()) {
+            return enrollments.stream()
+                    .map(e -> mapToResponse(e, EnrichmentService.UNKNOWN_COURSE, EnrichmentService.UNKNOWN_STUDENT))
+                    .collect(Collectors.toList());
         }
 
+        EnrichmentService.Details details = enrichmentService.lookup(
+                enrollments.stream().map(Enrollment::getCourseId).collect(Collectors.toSet()),
+                enrollments.stream().map(Enrollment::getStudentId).collect(Collectors.toSet()));
+
+        return enrollments.stream()
+                .map(e -> mapToResponse(e, details.courseTitle(e.getCourseId()),
+                        details.studentName(e.getStudentId())))
+                .collect(Collectors.toList());
+    }
+
+    private EnrollmentResponse mapToResponse(Enrollment enrollment, String courseTitle, String studentName) {
         return EnrollmentResponse.builder()
                 .id(enrollment.getId())
                 .studentId(enrollment.getStudentId())
@@ -1,16 +1,19 @@
 package e_learning.learning_service.services;
 
+import e_learning.learning_service.cache.QuizAnswerKeyCache;
 import e_learning.learning_service.clients.CatalogClient;
 import e_learning.learning_service.dto.*;
 import e_learning.learning_service.entities.*;
 import e_learning.learning_service.exceptions.*;
+import e_learning.learning_service.grading.QuizAnswerKey;
+import e_learning.learning_service.grading.QuizGrade;
+import e_learning.learning_service.grading.QuizGrader;
 import e_learning.learning_service.repositories.*;
 import feign.FeignException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.Map;
 
 @Service
 public class ProgressService {
@@ -19,71 +22,96 @@ public class ProgressService {
         private final EnrollmentRepository enrollmentRepository;
         private final QuizAttemptRepository quizAttemptRepository;
         private final CatalogClient catalogClient;
+        private final QuizAnswerKeyCache quizAnswerKeyCache;
+        private final QuizGrader quizGrader;
 
         public ProgressService(LessonProgressRepository lessonProgressRepository,
                         EnrollmentRepository enrollmentRepository,
                         QuizAttemptRepository quizAttemptRepository,
-                        CatalogClient catalogClient) {
+                        CatalogClient catalogClient,
+                        QuizAnswerKeyCache quizAnswerKeyCache,
+                        QuizGrader quizGrader) {
                 this.lessonProgressRepository = lessonProgressRepository;
                 this.enrollmentRepository = enrollmentRepository;
                 this.quizAttemptRepository = quizAttemptRepository;
                 this.catalogClient = catalogClient;
+                this.quizAnswerKeyCache = quizAnswerKeyCache;
+                this.quizGrader = quizGrader;
         }
 
         @Transactional
         public ProgressResponse markLessonAsComplete(LessonProgressRequest request) {
                 Enrollment enrollment = enrollmentRepository.findById(request.getEnrollmentId())
                                 .orElseThrow(() -> new EnrollmentNotFoundException(request.getEnrollmentId()));
+                initializeCounters(enrollment);
 
+                LocalDateTime now = LocalDateTime.now();
                 LessonProgress progress = lessonProgressRepository.findByEnrollmentIdAndLessonId(
                                 request.getEnrollmentId(), request.getLessonId())
-                                .orElse(LessonProgress.builder()
-                                                .enrollment(enrollment)
-                                                .lessonId(request.getLessonId())
-                                                .build());
-
-                if (!progress.isCompleted()) {
-                        progress.setCompleted(true);
-                        progress.setCompletedAt(LocalDateTime.now());
-                        lessonProgressRepository.save(progress);
-
-                        // Recalculate enrollment progress
-                        updateEnrollmentProgress(enrollment);
+                                .orElse(null);
+
+                boolean newlyCompleted;
+                if (progress == null) {
+                        // The unique (enrollment, lesson) constraint rejects a concurrent duplicate insert
+                        progress = lessonProgressRepository.save(LessonProgress.builder()
+                                        .enrollment(enrollment)
+                                        .lessonId(request.getLessonId())
+                                        .completed(true)
+                                        .completedAt(now)
+                                        .build());
+                        newlyCompleted = true;
+                } else {
+                        newlyCompleted = !progress.isCompleted()
+                                        && lessonProgressRepository.markCompleted(progress.getId(), now) == 1;
+                }
+
+                if (newlyCompleted) {
+                        // O(1) update of the enrollment counters, no COUNT query and no catalog call
+                        enrollmentRepository.incrementCompletedLessons(enrollment.getId(), now);
+                        enrollmentRepository.completeIfFinished(enrollment.getId(), now,
+                                        EnrollmentStatus.ACTIVE, EnrollmentStatus.COMPLETED);
                 }
 
                 return ProgressResponse.builder()
                                 .id(progress.getId())
                                 .enrollmentId(enrollment.getId())
                                 .lessonId(progress.getLessonId())
-                                .completed(progress.isCompleted())
-                                .completedAt(progress.getCompletedAt())
+                                .completed(true)
+                                .completedAt(newlyCompleted ? now : progress.getCompletedAt())
                                 .build();
         }
 
-        private void updateEnrollmentProgress(Enrollment enrollment) {
-                // Count completed lessons for this enrollment
-                int completedLessons = lessonProgressRepository.countByEnrollmentIdAndCompletedTrue(enrollment.getId());
-
-                // Get total lesson count from catalog service
-                int totalLessons;
-                try {
-                        totalLessons = catalogClient.getTotalLessonCount(enrollment.getCourseId());
-                } catch (FeignException e) {
-                        // If we can't get the count, don't update progress
+        /**
+         * Applies a lesson count pushed by catalog-service to every enrollment of the course,
+         * unless a count with the same or a newer version was applied already.
+         */
+        @Transactional
+        public void updateTotalLessons(Long courseId, int totalLessons, long version) {
+                if (enrollmentRepository.updateTotalLessons(courseId, totalLessons, version,
+                                EnrollmentStatus.ACTIVE) == 0) {
                         return;
                 }
+                enrollmentRepository.completeFinishedEnrollments(courseId, LocalDateTime.now(),
+                                EnrollmentStatus.ACTIVE, EnrollmentStatus.COMPLETED);
+        }
 
-                if (totalLessons > 0) {
-                        double progressPercentage = (completedLessons * 100.0) / totalLessons;
-                        enrollment.setProgress(progressPercentage);
-                        enrollment.setLastAccessedAt(LocalDateTime.now());
-
-                        // Auto-complete if 100%
-                        if (progressPercentage >= 100.0 && enrollment.getStatus() == EnrollmentStatus.ACTIVE) {
-                                enrollment.setStatus(EnrollmentStatus.COMPLETED);
-                                enrollment.setCompletedAt(LocalDateTime.now());
+        // Fills the counters once for enrollments created before they existed
+        private void initializeCounters(Enrollment enrollment) {
+                boolean changed = false;
+                if (enrollment.getCompletedLessons() == null) {
+                        enrollment.setCompletedLessons(
+                                        lessonProgressRepository.countByEnrollmentIdAndCompletedTrue(enrollment.getId()));
+                        changed = true;
+                }
+                if (enrollment.getTotalLessons() == null) {
+                        try {
+                                enrollment.setTotalLessons(catalogClient.getTotalLessonCount(enrollment.getCourseId()));
+                                changed = true;
+                        } catch (FeignException e) {
+                                // Progress stays as is until catalog-service pushes the count
                         }
-
+                }
+                if (changed) {
                         enrollmentRepository.save(enrollment);
                 }
         }
@@ -93,48 +121,19 @@ public class ProgressService {
                 Enrollment enrollment = enrollmentRepository.findById(submission.getEnrollmentId())
                                 .orElseThrow(() -> new EnrollmentNotFoundException(submission.getEnrollmentId()));
 
-                // Fetch quiz with correct answers from Catalog Service
-                QuizDetailResponse quiz;
-                try {
-                        quiz = catalogClient.getQuizById(submission.getQuizId());
-                } catch (FeignException.NotFound e) {
-                        throw new ServiceCommunicationException("Quiz not found with ID: " + submission.getQuizId());
-                }
-
-                // Calculate actual score
-                int correctCount = 0;
-                int totalQuestions = quiz.getQuestions().size();
-                Map<Long, Long> submittedAnswers = submission.getAnswers();
-
-                for (QuestionDetailResponse question : quiz.getQuestions()) {
-                        Long submittedAnswerId = submittedAnswers.get(question.getId());
-                        if (submittedAnswerId != null) {
-                                // Find the correct answer for this question
-                                boolean isCorrect = question.getAnswers().stream()
-                                                .filter(a -> a.getId().equals(submittedAnswerId))
-                                                .findFirst()
-                                                .map(AnswerDetailResponse::isCorrect)
-                                                .orElse(false);
-
-                                if (isCorrect) {
-                                        correctCount++;
-                                }
-                        }
-                }
-
-                // Calculate percentage score
-                int score = totalQuestions > 0 ? (correctCount * 100) / totalQuestions : 0;
-
-                // Determine if passed based on quiz passing score (default 60% if not set)
-                int passingScore = quiz.getPassingScore() != null ? quiz.getPassingScore() : 60;
-                boolean passed = score >= passingScore;
+                // Compiled key, cached per quiz version; catalog-service is only called on a miss
+                QuizAnswerKey key = quizAnswerKeyCache.get(submission.getQuizId());
+                QuizGrade grade = quizGrader.grade(key, submission.getAnswers(), submission.getSelections());
 
                 QuizAttempt attempt = QuizAttempt.builder()
                                 .enrollment(enrollment)
                                 .quizId(submission.getQuizId())
-                                .score(score)
-                                .totalQuesions(totalQuestions)
-                                .passed(passed)
+                                .score(grade.getScore())
+                                .earnedPoints(grade.getEarnedPoints())
+                                .totalPoints(grade.getTotalPoints())
+                                .totalQuesions(key.size())
+                                .answerKeyVersion(key.version())
+                                .passed(grade.isPassed())
                                 .attemptedAt(LocalDateTime.now())
                                 .build();
 
@@ -144,6 +143,8 @@ public class ProgressService {
                                 .attemptId(attempt.getId())
                                 .quizId(attempt.getQuizId())
                                 .score(attempt.getScore())
+                                .earnedPoints(attempt.getEarnedPoints())
+                                .totalPoints(attempt.getTotalPoints())
                                 .totalQuestions(attempt.getTotalQuesions())
                                 .passed(attempt.isPassed())
                                 .attemptedAt(attempt.getAttemptedAt())
@@ -0,0 +1,109 @@
+package e_learning.learning_service.cache;
+
+import e_learning.learning_service.clients.CatalogClient;
+import e_learning.learning_service.dto.CourseSummaryResponse;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+class CourseSummaryCacheTest {
+
+    private CatalogClient catalogClient;
+    private CourseSummaryCache cache;
+
+    @BeforeEach
+    void setUp() {
+        catalogClient = mock(CatalogClient.class);
+        cache = new CourseSummaryCache(catalogClient, new SimpleMeterRegistry(), 100,
+                Duration.ofMinutes(10), Duration.ofSeconds(30));
+    }
+
+    @Test
+    @DisplayName("find - should call catalog once and serve later lookups from the cache")
+    void find_ShouldCacheCourse() {
+        when(catalogClient.getCourseById(1L)).thenReturn(course(1L, "Java Programming"));
+
+        assertEquals("Java Programming", cache.find(1L).orElseThrow().getTitle());
+        assertEquals("Java Programming", cache.find(1L).orElseThrow().getTitle());
+
+        verify(catalogClient, times(1)).getCourseById(1L);
+    }
+
+    @Test
+    @DisplayName("find - should cache a 404 as an empty result")
+    void find_ShouldCacheNotFound() {
+        Request request = Request.create(Request.HttpMethod.GET, "/courses/9", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(catalogClient.getCourseById(9L))
+                .thenThrow(new FeignException.NotFound("not found", request, null, null));
+
+        assertTrue(cache.find(9L).isEmpty());
+        assertTrue(cache.find(9L).isEmpty());
+
+        verify(catalogClient, times(1)).getCourseById(9L);
+    }
+
+    @Test
+    @DisplayName("findAll - should batch-load only the uncached IDs")
+    void findAll_ShouldLoadMissingIdsInOneCall() {
+        when(catalogClient.getCourseById(1L)).thenReturn(course(1L, "Java Programming"));
+        when(catalogClient.getCoursesByIds(any())).thenReturn(List.of(course(2L, "Spring Boot")));
+        cache.find(1L);
+
+        Map<Long, CourseSummaryResponse> courses = cache.findAll(Set.of(1L, 2L, 3L));
+
+        assertEquals(2, courses.size());
+        assertEquals("Spring Boot", courses.get(2L).getTitle());
+        verify(catalogClient, times(1)).getCoursesByIds(argThat(ids -> Set.copyOf(ids).equals(Set.of(2L, 3L))));
+    }
+
+    @Test
+    @DisplayName("findAll - should split large ID sets into batches the catalog accepts")
+    void findAll_ShouldLoadInBatches() {
+        when(catalogClient.getCoursesByIds(any())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            assertTrue(ids.size() <= CatalogClient.MAX_BATCH_IDS);
+            return ids.stream().map(id -> course(id, "Course " + id)).toList();
+        });
+        Set<Long> ids = LongStream.rangeClosed(1, 250).boxed().collect(Collectors.toSet());
+
+        Map<Long, CourseSummaryResponse> courses = cache.findAll(ids);
+
+        assertEquals(250, courses.size());
+        verify(catalogClient, times(3)).getCoursesByIds(any());
+    }
+
+    @Test
+    @DisplayName("invalidate - should reload the course on the next lookup")
+    void invalidate_ShouldEvictEntry() {
+        when(catalogClient.getCourseById(1L))
+                .thenReturn(course(1L, "Java Programming"))
+                .thenReturn(course(1L, "Advanced Java"));
+        cache.find(1L);
+
+        cache.invalidate(1L);
+
+        assertEquals("Advanced Java", cache.find(1L).orElseThrow().getTitle());
+    }
+
+    private static CourseSummaryResponse course(Long id, String title) {
+        return CourseSummaryResponse.builder().id(id).title(title).status("PUBLISHED").build();
+    }
+}
@@ -0,0 +1,94 @@
+package e_learning.learning_service.cache;
+
+import e_learning.learning_service.clients.CatalogClient;
+import e_learning.learning_service.dto.QuizAnswerKeyResponse;
+import e_learning.learning_service.exceptions.ServiceCommunicationException;
+import e_learning.learning_service.grading.QuizAnswerKey;
+import feign.FeignException;
+import feign.Request;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class QuizAnswerKeyCacheTest {
+
+    private CatalogClient catalogClient;
+    private QuizAnswerKeyCache cache;
+
+    @BeforeEach
+    void setUp() {
+        catalogClient = mock(CatalogClient.class);
+        cache = new QuizAnswerKeyCache(catalogClient, new SimpleMeterRegistry(), 100, Duration.ofMinutes(30));
+    }
+
+    @Test
+    @DisplayName("get - should compile the key once and look questions up by id")
+    void get_ShouldCacheCompiledKey() {
+        when(catalogClient.getQuizAnswerKey(1L)).thenReturn(answerKey(1L, 3, 70));
+
+        QuizAnswerKey key = cache.get(1L);
+        cache.get(1L);
+
+        verify(catalogClient, times(1)).getQuizAnswerKey(1L);
+        assertEquals(3, key.version());
+        assertEquals(70, key.passingScore());
+        assertEquals(3, key.size());
+        assertEquals(4, key.totalPoints());
+        assertEquals(20L, key.questionId(key.indexOf(20L)));
+        assertEquals(0, key.correctCount(key.indexOf(30L)));
+        assertEquals(-1, key.indexOf(40L));
+        assertEquals(-1, key.indexOf(0L));
+    }
+
+    @Test
+    @DisplayName("invalidate - should keep a key already at the version and evict an older one")
+    void invalidate_ShouldCompareVersions() {
+        when(catalogClient.getQuizAnswerKey(1L))
+                .thenReturn(answerKey(1L, 3, 70))
+                .thenReturn(answerKey(1L, 4, 80));
+        cache.get(1L);
+
+        cache.invalidate(1L, 3L);
+        assertEquals(3, cache.get(1L).version());
+
+        cache.invalidate(1L, 4L);
+        assertEquals(4, cache.get(1L).version());
+        verify(catalogClient, times(2)).getQuizAnswerKey(1L);
+    }
+
+    @Test
+    @DisplayName("get - should report an unknown quiz without caching it")
+    void get_WhenQuizMissing_ShouldThrow() {
+        Request request = Request.create(Request.HttpMethod.GET, "/internal/quizzes/9/answer-key", Map.of(), null,
+                StandardCharsets.UTF_8, null);
+        when(catalogClient.getQuizAnswerKey(9L))
+                .thenThrow(new FeignException.NotFound("not found", request, null, null));
+
+        assertThrows(ServiceCommunicationException.class, () -> cache.get(9L));
+        assertThrows(ServiceCommunicationException.class, () -> cache.get(9L));
+
+        verify(catalogClient, times(2)).getQuizAnswerKey(9L);
+    }
+
+    private static QuizAnswerKeyResponse answerKey(Long quizId, long version, Integer passingScore) {
+        return QuizAnswerKeyResponse.builder()
+                .quizId(quizId)
+                .version(version)
+                .passingScore(passingScore)
+                .questionIds(new long[] {10L, 20L, 30L})
+                .points(new int[] {1, 2, 1})
+                .multiSelect(new boolean[3])
+                .answerOffsets(new int[] {0, 2, 4, 4})
+                .answerIds(new long[] {100L, 101L, 200L, 201L})
+                .correct(new boolean[] {true, false, true, false})
+                .build();
+    }
+}
@@ -0,0 +1,52 @@
+package e_learning.learning_service.controllers;
+
+import e_learning.learning_service.services.ProgressService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(value = CourseSyncController.class, properties = "internal.token=test-token")
+class CourseSyncControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ProgressService progressService;
+
+    @Test
+    @DisplayName("PUT /internal/courses/{id}/lesson-count - should apply the count sent with the internal token")
+    void updateLessonCount_WithToken_ShouldApplyCount() throws Exception {
+        mockMvc.perform(put("/internal/courses/1/lesson-count")
+                        .param("total", "12")
+                        .param("version", "3")
+                        .header("X-Internal-Token", "test-token"))
+                .andExpect(status().isNoContent());
+
+        verify(progressService, times(1)).updateTotalLessons(1L, 12, 3L);
+    }
+
+    @Test
+    @DisplayName("PUT /internal/courses/{id}/lesson-count - should reject a request without the internal token")
+    void updateLessonCount_WithoutToken_ShouldBeForbidden() throws Exception {
+        mockMvc.perform(put("/internal/courses/1/lesson-count")
+                        .param("total", "1")
+                        .param("version", "99"))
+                .andExpect(status().isForbidden());
+        mockMvc.perform(put("/internal/courses/1/lesson-count")
+                        .param("total", "1")
+                        .param("version", "99")
+                        .header("X-Internal-Token", "wrong"))
+                .andExpect(status().isForbidden());
+
+        verify(progressService, never()).updateTotalLessons(anyLong(), anyInt(), anyLong());
+    }
+}
@@ -55,7 +55,7 @@ class EnrollmentControllerTest {
         request.setStudentId(1L);
         request.setCourseId(1L);
 
-        when(enrollmentService.createEnrollment(any(EnrollmentRequest.class))).thenReturn(enrollmentResponse);
+        when(enrollmentService.enrollStudent(any(EnrollmentRequest.class))).thenReturn(enrollmentResponse);
 
         mockMvc.perform(post("/enrollments")
                 .contentType(MediaType.APPLICATION_JSON)
@@ -65,7 +65,7 @@ class EnrollmentControllerTest {
                 .andExpect(jsonPath("$.courseId").value(1))
                 .andExpect(jsonPath("$.status").value("ACTIVE"));
 
-        verify(enrollmentService, times(1)).createEnrollment(any(EnrollmentRequest.class));
+        verify(enrollmentService, times(1)).enrollStudent(any(EnrollmentRequest.class));
     }
 
     @Test
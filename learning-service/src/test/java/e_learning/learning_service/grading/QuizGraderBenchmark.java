@@ -0,0 +1,120 @@
+package e_learning.learning_service.grading;
+
+import e_learning.learning_service.dto.QuizAnswerKeyResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grading throughput for large quizzes. Not part of the test run; start it with
+ * {@code mvn test-compile} and then {@link #main}, e.g. from the IDE.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuizGraderBenchmark {
+
+    @Param({"50", "500", "2000"})
+    private int questions;
+
+    private final QuizGrader grader = new QuizGrader(true);
+    private QuizAnswerKey key;
+    private Map<Long, Long> answers;
+    private Map<Long, List<Long>> selections;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        key = answerKey(questions, 4);
+        selections = perfectSelections(key);
+        answers = new HashMap<>();
+        selections.forEach((questionId, answerIds) -> answers.put(questionId, answerIds.get(0)));
+    }
+
+    @Benchmark
+    public QuizGrade gradeSingleAnswers() {
+        return grader.grade(key, answers, null);
+    }
+
+    @Benchmark
+    public QuizGrade gradeSelections() {
+        return grader.grade(key, null, selections);
+    }
+
+    @Benchmark
+    public QuizAnswerKey compile() {
+        return answerKey(questions, 4);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(QuizGraderBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * A quiz where every third question is multiple choice with two correct answers and
+     * the others have one, worth 1 to 3 points.
+     */
+    static QuizAnswerKey answerKey(int questions, int answersPerQuestion) {
+        long[] questionIds = new long[questions];
+        int[] points = new int[questions];
+        boolean[] multiSelect = new boolean[questions];
+        int[] answerOffsets = new int[questions + 1];
+        long[] answerIds = new long[questions * answersPerQuestion];
+        boolean[] correct = new boolean[answerIds.length];
+        for (int q = 0; q < questions; q++) {
+            questionIds[q] = 1000L + q * 7L;
+            points[q] = 1 + q % 3;
+            multiSelect[q] = q % 3 == 0;
+            answerOffsets[q] = q * answersPerQuestion;
+            for (int a = 0; a < answersPerQuestion; a++) {
+                int position = q * answersPerQuestion + a;
+                answerIds[position] = 100_000L + position * 13L;
+                correct[position] = a == 0 || (multiSelect[q] && a == 1);
+            }
+        }
+        answerOffsets[questions] = answerIds.length;
+        return QuizAnswerKey.compile(QuizAnswerKeyResponse.builder()
+                .quizId(1L)
+                .questionIds(questionIds)
+                .points(points)
+                .multiSelect(multiSelect)
+                .answerOffsets(answerOffsets)
+                .answerIds(answerIds)
+                .correct(correct)
+                .build());
+    }
+
+    // The correct answers of every question in a key built by answerKey
+    static Map<Long, List<Long>> perfectSelections(QuizAnswerKey key) {
+        Map<Long, List<Long>> selections = new HashMap<>();
+        int answersPerQuestion = key.answerEnd(0) - key.answerStart(0);
+        for (int q = 0; q < key.size(); q++) {
+            List<Long> picks = new ArrayList<>();
+            for (int a = 0; a < key.correctCount(q); a++) {
+                picks.add(100_000L + (q * answersPerQuestion + a) * 13L);
+            }
+            selections.put(key.questionId(q), picks);
+        }
+        return selections;
+    }
+}
@@ -0,0 +1,108 @@
+package e_learning.learning_service.grading;
+
+import e_learning.learning_service.dto.QuizAnswerKeyResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuizGraderTest {
+
+    // Question 1: single choice, 2 points, answer 11 correct
+    // Question 2: multiple choice, 4 points, answers 21 and 22 correct, 23 and 24 wrong
+    // Question 3: true/false, 1 point, answer 32 correct
+    private static final QuizAnswerKey KEY = QuizAnswerKey.compile(QuizAnswerKeyResponse.builder()
+            .quizId(1L)
+            .version(1)
+            .passingScore(50)
+            .questionIds(new long[] {1L, 2L, 3L})
+            .points(new int[] {2, 4, 1})
+            .multiSelect(new boolean[] {false, true, false})
+            .answerOffsets(new int[] {0, 3, 7, 9})
+            .answerIds(new long[] {11L, 12L, 13L, 21L, 22L, 23L, 24L, 31L, 32L})
+            .correct(new boolean[] {true, false, false, true, true, false, false, false, true})
+            .build());
+
+    private final QuizGrader grader = new QuizGrader(true);
+
+    @Test
+    @DisplayName("grade - should weight questions by points and accept the single-answer format")
+    void grade_ShouldWeightByPoints() {
+        QuizGrade grade = grader.grade(KEY, Map.of(1L, 11L, 3L, 31L), null);
+
+        assertEquals(2, grade.getEarnedPoints(), 1e-9);
+        assertEquals(7, grade.getTotalPoints());
+        assertEquals(28, grade.getScore());
+        assertEquals(1, grade.getCorrectQuestions());
+        assertFalse(grade.isPassed());
+    }
+
+    @Test
+    @DisplayName("grade - should give full points for an exact multi-select match and none for extra single picks")
+    void grade_ShouldCompareSelectionsExactly() {
+        QuizGrade grade = grader.grade(KEY, Map.of(3L, 32L),
+                Map.of(1L, List.of(11L, 12L), 2L, List.of(22L, 21L)));
+
+        assertEquals(5, grade.getEarnedPoints(), 1e-9);
+        assertEquals(71, grade.getScore());
+        assertEquals(2, grade.getCorrectQuestions());
+        assertTrue(grade.isPassed());
+    }
+
+    @Test
+    @DisplayName("grade - should give partial credit of the correct share minus the wrong share, never below zero")
+    void grade_ShouldGivePartialCredit() {
+        assertEquals(2, grader.grade(KEY, null, Map.of(2L, List.of(21L))).getEarnedPoints(), 1e-9);
+        assertEquals(0, grader.grade(KEY, null, Map.of(2L, List.of(21L, 23L))).getEarnedPoints(), 1e-9);
+        assertEquals(0, grader.grade(KEY, null, Map.of(2L, List.of(21L, 22L, 23L, 24L))).getEarnedPoints(), 1e-9);
+        assertEquals(0, new QuizGrader(false).grade(KEY, null, Map.of(2L, List.of(21L))).getEarnedPoints(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("grade - should give nothing for picking every answer when most of them are correct")
+    void grade_ShouldNotRewardSelectingEverything() {
+        // 3 points, answers 41, 42 and 43 correct, 44 wrong
+        QuizAnswerKey key = QuizAnswerKey.compile(QuizAnswerKeyResponse.builder()
+                .quizId(2L)
+                .version(1)
+                .passingScore(50)
+                .questionIds(new long[] {4L})
+                .points(new int[] {3})
+                .multiSelect(new boolean[] {true})
+                .answerOffsets(new int[] {0, 4})
+                .answerIds(new long[] {41L, 42L, 43L, 44L})
+                .correct(new boolean[] {true, true, true, false})
+                .build());
+
+        assertEquals(0, grader.grade(key, null, Map.of(4L, List.of(41L, 42L, 43L, 44L))).getEarnedPoints(), 1e-9);
+        assertEquals(2, grader.grade(key, null, Map.of(4L, List.of(41L, 42L))).getEarnedPoints(), 1e-9);
+        assertEquals(0, grader.grade(key, null, Map.of(4L, List.of(41L, 42L, 44L))).getEarnedPoints(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("grade - should ignore unknown questions and answers submitted for another question")
+    void grade_ShouldIgnoreForeignAnswers() {
+        QuizGrade grade = grader.grade(KEY, Map.of(1L, 32L, 99L, 11L), Map.of(3L, List.of(32L, 11L)));
+
+        assertEquals(1, grade.getEarnedPoints(), 1e-9);
+        assertEquals(1, grade.getCorrectQuestions());
+    }
+
+    @Test
+    @DisplayName("grade - should handle answers spanning several bitset words")
+    void grade_ShouldGradeLargeQuizzes() {
+        QuizAnswerKey key = QuizGraderBenchmark.answerKey(500, 5);
+
+        QuizGrade perfect = grader.grade(key, null, QuizGraderBenchmark.perfectSelections(key));
+
+        assertEquals(500, perfect.getCorrectQuestions());
+        assertEquals(key.totalPoints(), perfect.getEarnedPoints(), 1e-9);
+        assertEquals(100, perfect.getScore());
+        assertThrows(IllegalArgumentException.class, () -> QuizAnswerKey.compile(QuizAnswerKeyResponse.builder()
+                .quizId(2L).questionIds(new long[] {1L, 1L}).points(new int[2]).multiSelect(new boolean[2])
+                .answerOffsets(new int[3]).answerIds(new long[0]).correct(new boolean[0]).build()));
+    }
+}
@@ -0,0 +1,96 @@
+package e_learning.learning_service.repositories;
+
+import e_learning.learning_service.entities.Enrollment;
+import e_learning.learning_service.entities.EnrollmentStatus;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+class EnrollmentRepositoryTest {
+
+    @Autowired
+    private EnrollmentRepository enrollmentRepository;
+
+    @Test
+    @DisplayName("incrementCompletedLessons - should bump the counter and recompute progress")
+    void incrementCompletedLessons_ShouldUpdateCounterAndProgress() {
+        Enrollment enrollment = save(10L, 1, 4);
+
+        enrollmentRepository.incrementCompletedLessons(enrollment.getId(), LocalDateTime.now());
+
+        Enrollment updated = enrollmentRepository.findById(enrollment.getId()).orElseThrow();
+        assertEquals(2, updated.getCompletedLessons());
+        assertEquals(50.0, updated.getProgress(), 0.001);
+        assertNotNull(updated.getLastAccessedAt());
+    }
+
+    @Test
+    @DisplayName("completeIfFinished - should complete the enrollment after its last lesson")
+    void completeIfFinished_ShouldCompleteAfterLastLesson() {
+        Enrollment enrollment = save(10L, 3, 4);
+        LocalDateTime now = LocalDateTime.now();
+
+        enrollmentRepository.incrementCompletedLessons(enrollment.getId(), now);
+        int completed = enrollmentRepository.completeIfFinished(enrollment.getId(), now,
+                EnrollmentStatus.ACTIVE, EnrollmentStatus.COMPLETED);
+
+        Enrollment updated = enrollmentRepository.findById(enrollment.getId()).orElseThrow();
+        assertEquals(1, completed);
+        assertEquals(EnrollmentStatus.COMPLETED, updated.getStatus());
+        assertEquals(100.0, updated.getProgress(), 0.001);
+        assertNotNull(updated.getCompletedAt());
+    }
+
+    @Test
+    @DisplayName("updateTotalLessons - should apply a pushed lesson count to every enrollment of the course")
+    void updateTotalLessons_ShouldRecomputeProgressForCourse() {
+        Enrollment first = save(10L, 2, 4);
+        Enrollment second = save(10L, 5, 10);
+        Enrollment otherCourse = save(20L, 1, 2);
+
+        enrollmentRepository.updateTotalLessons(10L, 5, 1L, EnrollmentStatus.ACTIVE);
+        enrollmentRepository.completeFinishedEnrollments(10L, LocalDateTime.now(),
+                EnrollmentStatus.ACTIVE, EnrollmentStatus.COMPLETED);
+
+        Enrollment firstUpdated = enrollmentRepository.findById(first.getId()).orElseThrow();
+        Enrollment secondUpdated = enrollmentRepository.findById(second.getId()).orElseThrow();
+        assertEquals(5, firstUpdated.getTotalLessons());
+        assertEquals(40.0, firstUpdated.getProgress(), 0.001);
+        assertEquals(EnrollmentStatus.ACTIVE, firstUpdated.getStatus());
+        assertEquals(100.0, secondUpdated.getProgress(), 0.001);
+        assertEquals(EnrollmentStatus.COMPLETED, secondUpdated.getStatus());
+        assertEquals(2, enrollmentRepository.findById(otherCourse.getId()).orElseThrow().getTotalLessons());
+    }
+
+    @Test
+    @DisplayName("updateTotalLessons - should ignore a lesson count older than the one applied")
+    void updateTotalLessons_ShouldIgnoreOlderVersions() {
+        Enrollment enrollment = save(10L, 2, 4);
+
+        assertEquals(1, enrollmentRepository.updateTotalLessons(10L, 8, 3L, EnrollmentStatus.ACTIVE));
+        assertEquals(0, enrollmentRepository.updateTotalLessons(10L, 2, 2L, EnrollmentStatus.ACTIVE));
+        assertEquals(0, enrollmentRepository.updateTotalLessons(10L, 2, 3L, EnrollmentStatus.ACTIVE));
+
+        Enrollment updated = enrollmentRepository.findById(enrollment.getId()).orElseThrow();
+        assertEquals(8, updated.getTotalLessons());
+        assertEquals(25.0, updated.getProgress(), 0.001);
+        assertEquals(EnrollmentStatus.ACTIVE, updated.getStatus());
+    }
+
+    private Enrollment save(Long courseId, int completedLessons, int totalLessons) {
+        return enrollmentRepository.save(Enrollment.builder()
+                .studentId(System.nanoTime())
+                .courseId(courseId)
+                .status(EnrollmentStatus.ACTIVE)
+                .completedLessons(completedLessons)
+                .totalLessons(totalLessons)
+                .progress(completedLessons * 100.0 / totalLessons)
+                .build());
+    }
+}
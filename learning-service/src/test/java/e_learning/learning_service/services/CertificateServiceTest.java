@@ -0,0 +1,86 @@
+package e_learning.learning_service.services;
+
+import e_learning.learning_service.cache.CourseSummaryCache;
+import e_learning.learning_service.clients.StudentClient;
+import e_learning.learning_service.dto.CertificateResponse;
+import e_learning.learning_service.dto.CourseSummaryResponse;
+import e_learning.learning_service.dto.StudentSummaryResponse;
+import e_learning.learning_service.entities.Certificate;
+import e_learning.learning_service.entities.Enrollment;
+import e_learning.learning_service.entities.EnrollmentStatus;
+import e_learning.learning_service.exceptions.ServiceCommunicationException;
+import e_learning.learning_service.repositories.CertificateRepository;
+import e_learning.learning_service.repositories.EnrollmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class CertificateServiceTest {
+
+    private CertificateRepository certificateRepository;
+    private CourseSummaryCache courseSummaryCache;
+    private StudentClient studentClient;
+    private ExecutorService executor;
+    private CertificateService certificateService;
+
+    @BeforeEach
+    void setUp() {
+        certificateRepository = mock(CertificateRepository.class);
+        EnrollmentRepository enrollmentRepository = mock(EnrollmentRepository.class);
+        courseSummaryCache = mock(CourseSummaryCache.class);
+        studentClient = mock(StudentClient.class);
+        executor = Executors.newFixedThreadPool(2);
+        certificateService = new CertificateService(certificateRepository, enrollmentRepository,
+                new EnrichmentService(courseSummaryCache, studentClient, executor, Duration.ofMillis(300)));
+
+        when(enrollmentRepository.findById(1L)).thenReturn(Optional.of(Enrollment.builder()
+                .id(1L)
+                .studentId(2L)
+                .courseId(3L)
+                .status(EnrollmentStatus.COMPLETED)
+                .build()));
+        when(certificateRepository.save(any(Certificate.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("generateCertificate - should store the looked-up student name and course title")
+    void generateCertificate_ShouldStoreResolvedDetails() {
+        when(courseSummaryCache.findAll(any()))
+                .thenReturn(Map.of(3L, CourseSummaryResponse.builder().id(3L).title("Java Programming").build()));
+        when(studentClient.getStudentsByIds(any()))
+                .thenReturn(List.of(StudentSummaryResponse.builder().id(2L).firstName("John").lastName("Doe").build()));
+
+        CertificateResponse certificate = certificateService.generateCertificate(1L);
+
+        assertEquals("John Doe", certificate.getStudentName());
+        assertEquals("Java Programming", certificate.getCourseTitle());
+    }
+
+    @Test
+    @DisplayName("generateCertificate - should fail rather than store Unknown placeholders")
+    void generateCertificate_ShouldNotStorePlaceholders() {
+        when(courseSummaryCache.findAll(any()))
+                .thenReturn(Map.of(3L, CourseSummaryResponse.builder().id(3L).title("Java Programming").build()));
+        when(studentClient.getStudentsByIds(any())).thenThrow(new RuntimeException("student-service down"));
+
+        assertThrows(ServiceCommunicationException.class, () -> certificateService.generateCertificate(1L));
+        verify(certificateRepository, never()).save(any());
+    }
+}
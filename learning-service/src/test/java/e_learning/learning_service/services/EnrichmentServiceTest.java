@@ -0,0 +1,83 @@
+package e_learning.learning_service.services;
+
+import e_learning.learning_service.cache.CourseSummaryCache;
+import e_learning.learning_service.clients.StudentClient;
+import e_learning.learning_service.dto.CourseSummaryResponse;
+import e_learning.learning_service.dto.StudentSummaryResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class EnrichmentServiceTest {
+
+    private CourseSummaryCache courseSummaryCache;
+    private StudentClient studentClient;
+    private ExecutorService executor;
+    private EnrichmentService enrichmentService;
+
+    @BeforeEach
+    void setUp() {
+        courseSummaryCache = mock(CourseSummaryCache.class);
+        studentClient = mock(StudentClient.class);
+        executor = Executors.newFixedThreadPool(4);
+        enrichmentService = new EnrichmentService(courseSummaryCache, studentClient, executor, Duration.ofMillis(300));
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("lookup - should call both services concurrently")
+    void lookup_ShouldWaitForSlowestCallOnly() {
+        when(courseSummaryCache.findAll(any())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return Map.of(1L, CourseSummaryResponse.builder().id(1L).title("Java Programming").build());
+        });
+        when(studentClient.getStudentsByIds(any())).thenAnswer(invocation -> {
+            Thread.sleep(200);
+            return List.of(StudentSummaryResponse.builder().id(2L).firstName("John").lastName("Doe").build());
+        });
+
+        long start = System.nanoTime();
+        EnrichmentService.Details details = enrichmentService.lookup(Set.of(1L), Set.of(2L));
+        long elapsedMillis = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        assertEquals("Java Programming", details.courseTitle(1L));
+        assertEquals("John Doe", details.studentName(2L));
+        assertTrue(details.isResolved(1L, 2L));
+        assertTrue(elapsedMillis < 380, "lookups should overlap, took " + elapsedMillis + "ms");
+    }
+
+    @Test
+    @DisplayName("lookup - should fall back to Unknown values on timeout or failure")
+    void lookup_ShouldFallBackOnTimeoutAndFailure() {
+        when(courseSummaryCache.findAll(any())).thenAnswer(invocation -> {
+            Thread.sleep(2000);
+            return Map.of(1L, CourseSummaryResponse.builder().id(1L).title("Java Programming").build());
+        });
+        when(studentClient.getStudentsByIds(any())).thenThrow(new RuntimeException("student-service down"));
+
+        EnrichmentService.Details details = enrichmentService.lookup(Set.of(1L), Set.of(2L));
+
+        assertEquals(EnrichmentService.UNKNOWN_COURSE, details.courseTitle(1L));
+        assertEquals(EnrichmentService.UNKNOWN_STUDENT, details.studentName(2L));
+        assertFalse(details.isResolved(1L, 2L));
+        verify(studentClient, times(1)).getStudentsByIds(any());
+    }
+}
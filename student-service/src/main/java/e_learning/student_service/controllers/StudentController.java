@@ -5,20 +5,26 @@ import e_learning.student_service.services.StudentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 
 @RestController
+@Validated
 @RequestMapping("/students")
 @Tag(name = "Students", description = "Student profile management APIs")
 public class StudentController {
 
+    // Keeps a batch lookup to one bounded IN (...) list; callers send larger sets in chunks
+    public static final int MAX_BATCH_IDS = 100;
+
     private final StudentService studentService;
 
     public StudentController(StudentService studentService) {
@@ -52,6 +58,13 @@ public class StudentController {
         return ResponseEntity.ok(studentService.getStudentById(id));
     }
 
+    @GetMapping("/batch")
+    @Operation(summary = "Get several students by ID in one call (unknown IDs are skipped)")
+    public ResponseEntity<List<StudentResponse>> getStudentsByIds(
+            @RequestParam @Size(max = MAX_BATCH_IDS) List<Long> ids) {
+        return ResponseEntity.ok(studentService.getStudentsByIds(ids));
+    }
+
     @GetMapping("/auth/{authId}")
     @Operation(summary = "Get a student by Auth ID")
     public ResponseEntity<StudentResponse> getStudentByAuthId(@PathVariable Long authId) {
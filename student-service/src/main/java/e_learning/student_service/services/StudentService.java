@@ -10,6 +10,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -123,6 +124,15 @@ public class StudentService {
         return mapToResponse(student);
     }
 
+    public List<StudentResponse> getStudentsByIds(Collection<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return List.of();
+        }
+        return studentRepository.findAllById(ids).stream()
+                .map(this::mapToResponse)
+                .collect(Collectors.toList());
+    }
+
     public Page<StudentResponse> getAllStudents(Pageable pageable) {
         return studentRepository.findAll(pageable).map(this::mapToResponse);
     }
@@ -18,6 +18,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
@@ -86,6 +88,35 @@ class StudentControllerTest {
         verify(studentService, times(1)).getStudentById(1L);
     }
 
+    @Test
+    @DisplayName("GET /students/batch - should get several students by ID")
+    void getStudentsByIds_ShouldReturnStudents() throws Exception {
+        when(studentService.getStudentsByIds(List.of(1L, 2L))).thenReturn(List.of(studentResponse));
+
+        mockMvc.perform(get("/students/batch")
+                .param("ids", "1", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$").isArray())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].firstName").value("John"));
+
+        verify(studentService, times(1)).getStudentsByIds(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("GET /students/batch - should reject more IDs than one batch allows")
+    void getStudentsByIds_TooManyIds_ShouldReturnBadRequest() throws Exception {
+        String ids = LongStream.rangeClosed(1, StudentController.MAX_BATCH_IDS + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(get("/students/batch")
+                .param("ids", ids))
+                .andExpect(status().isBadRequest());
+
+        verify(studentService, never()).getStudentsByIds(any());
+    }
+
     @Test
     @DisplayName("GET /students - should get all students")
     void getAllStudents_ShouldReturnPageOfStudents() throws Exception {